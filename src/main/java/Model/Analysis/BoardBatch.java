@@ -0,0 +1,186 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import Model.GameComponents.RegionAnalysis;
+
+/**
+ * A block of independent positions stored as a structure of arrays, evaluated together.
+ * <p>
+ * The positions are kept as bitboards of their empty cells (see {@link Board#getEmptyMask()}), and
+ * {@link #evaluate()} computes the centers of the legal placements and the number of legal placements of every
+ * position in plain scalar loops over the arrays, keeping each array hot in the cache while it is processed. The
+ * centers are exactly the empty cells for which {@link Board#areHorizontalNeighborsEmpty(int, int)} or
+ * {@link Board#areVerticalNeighborsEmpty(int, int)} holds.
+ */
+public class BoardBatch {
+
+    /**
+     * The bitboards of the empty cells of the positions.
+     */
+    private final long[] empty;
+
+    /**
+     * The centers of the legal horizontal placements of the positions.
+     */
+    private final long[] horizontalCenters;
+
+    /**
+     * The centers of the legal vertical placements of the positions.
+     */
+    private final long[] verticalCenters;
+
+    /**
+     * The number of legal placements of the positions.
+     */
+    private final int[] moveCounts;
+
+    /**
+     * The number of positions in the batch.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty BoardBatch.
+     *
+     * @param capacity The most positions the batch can hold.
+     */
+    public BoardBatch(int capacity) {
+        this.empty = new long[capacity];
+        this.horizontalCenters = new long[capacity];
+        this.verticalCenters = new long[capacity];
+        this.moveCounts = new int[capacity];
+    }
+
+    /**
+     * Adds the position of a {@link Board} to the batch.
+     *
+     * @param board The position to add.
+     * @return the index of the position in the batch.
+     */
+    public int add(Board board) {
+        return add(board.getEmptyMask());
+    }
+
+    /**
+     * Adds a position to the batch.
+     *
+     * @param emptyCells The bitboard of the empty cells.
+     * @return the index of the position in the batch.
+     * @throws IllegalStateException if the batch is full.
+     */
+    public int add(long emptyCells) {
+        if (size == empty.length)
+            throw new IllegalStateException("Batch is full");
+        empty[size] = emptyCells;
+        return size++;
+    }
+
+    /**
+     * Removes every position, so the batch can be refilled.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Computes the legal placements and their number for every position of the batch.
+     */
+    public void evaluate() {
+        long[] empty = this.empty;
+        long[] horizontal = this.horizontalCenters;
+        long[] vertical = this.verticalCenters;
+        int[] counts = this.moveCounts;
+        int n = size;
+        for (int i = 0; i < n; i++)
+            horizontal[i] = Board.horizontalCenters(empty[i]);
+        for (int i = 0; i < n; i++)
+            vertical[i] = Board.verticalCenters(empty[i]);
+        for (int i = 0; i < n; i++)
+            counts[i] = Long.bitCount(horizontal[i]) + Long.bitCount(vertical[i]);
+    }
+
+    /**
+     * Checks every position of the batch with {@link RegionAnalysis#isDead(long)}. The positions without legal
+     * placements are decided by their number of empty cells, only the others are analysed. It does not depend on
+     * {@link #evaluate()}, the legal placements are computed again.
+     *
+     * @param dead Set to whether the positions can no longer be won, indexed like the batch.
+     */
+    public void evaluateDead(boolean[] dead) {
+        long[] empty = this.empty;
+        int n = size;
+        for (int i = 0; i < n; i++) {
+            long cells = empty[i];
+            if ((Board.horizontalCenters(cells) | Board.verticalCenters(cells)) == 0)
+                dead[i] = Long.bitCount(cells) != 1;
+            else
+                dead[i] = RegionAnalysis.isDead(cells);
+        }
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Returns the bitboard of the empty cells of a position.
+     *
+     * @param index The index of the position.
+     * @return the empty cells.
+     */
+    public final long getEmptyMask(int index) {
+        return empty[index];
+    }
+
+    /**
+     * Returns the centers of the legal horizontal placements of a position, computed by {@link #evaluate()}.
+     *
+     * @param index The index of the position.
+     * @return the bitboard of the centers, see {@link Board#horizontalCenters(long)}.
+     */
+    public final long getHorizontalCenters(int index) {
+        return horizontalCenters[index];
+    }
+
+    /**
+     * Returns the centers of the legal vertical placements of a position, computed by {@link #evaluate()}.
+     *
+     * @param index The index of the position.
+     * @return the bitboard of the centers, see {@link Board#verticalCenters(long)}.
+     */
+    public final long getVerticalCenters(int index) {
+        return verticalCenters[index];
+    }
+
+    /**
+     * Returns the set of the legal horizontal placements of a position, computed by {@link #evaluate()}.
+     *
+     * @param index The index of the position.
+     * @return the set of legal move ids, see {@link Placements#legalHorizontal(long)}.
+     */
+    public final long getLegalHorizontal(int index) {
+        return horizontalCenters[index] >>> 8;
+    }
+
+    /**
+     * Returns the set of the legal vertical placements of a position, computed by {@link #evaluate()}.
+     *
+     * @param index The index of the position.
+     * @return the set of legal move ids shifted down by {@link Placements#HORIZONTAL_COUNT}, see
+     * {@link Placements#legalVertical(long)}.
+     */
+    public final long getLegalVertical(int index) {
+        return Placements.verticalIds(verticalCenters[index]);
+    }
+
+    /**
+     * Returns the number of legal placements of a position, computed by {@link #evaluate()}.
+     *
+     * @param index The index of the position.
+     * @return the number of legal placements.
+     */
+    public final int getNumOfLegalMoves(int index) {
+        return moveCounts[index];
+    }
+}
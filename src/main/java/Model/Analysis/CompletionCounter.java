@@ -0,0 +1,135 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+
+/**
+ * Counts the distinct ways a position can be completed to a victory, meaning the different sets of 3x1 dominos,
+ * which cover every empty cell but one. The order of the placements is not counted.
+ * <p>
+ * The count is computed by a broken-profile dynamic programming over the cells in the order of their numbers. The
+ * profile stores which of the next 16 cells are already covered by a domino placed earlier, along with whether the
+ * hole was already chosen, so every profile is a 17 bit number, indexing primitive tables.
+ * The tables are reused between calls, so an instance must not be shared between threads.
+ */
+public class CompletionCounter {
+
+    /**
+     * The number of cells on the board.
+     */
+    private static final int CELLS = 64;
+
+    /**
+     * The width and height of the board.
+     */
+    private static final int SIZE = 8;
+
+    /**
+     * The number of cells ahead of the current one, tracked by the profile.
+     */
+    private static final int WINDOW = 16;
+
+    /**
+     * The profile bit marking that the hole was already chosen.
+     */
+    private static final int HOLE = 1 << WINDOW;
+
+    /**
+     * The number of different profiles.
+     */
+    private static final int PROFILES = HOLE << 1;
+
+    /**
+     * The number of completions for each profile of the current cell.
+     */
+    private long[] current = new long[PROFILES];
+
+    /**
+     * The number of completions for each profile of the next cell.
+     */
+    private long[] next = new long[PROFILES];
+
+    /**
+     * The profiles with a non-zero count in {@link #current}.
+     */
+    private int[] currentProfiles = new int[PROFILES];
+
+    /**
+     * The profiles with a non-zero count in {@link #next}.
+     */
+    private int[] nextProfiles = new int[PROFILES];
+
+    /**
+     * The number of profiles in {@link #nextProfiles}.
+     */
+    private int nextSize;
+
+    /**
+     * Counts the completions of the given {@link Board}.
+     *
+     * @param board The position to count, it is not modified.
+     * @return the number of distinct winning domino arrangements.
+     * @throws ArithmeticException if the count does not fit in a long.
+     */
+    public long count(Board board) {
+        return count(board.getEmptyMask());
+    }
+
+    /**
+     * Counts the completions of the position with the given empty cells.
+     *
+     * @param empty The bitboard of the empty cells, see {@link Board#getEmptyMask()}.
+     * @return the number of distinct winning domino arrangements.
+     * @throws ArithmeticException if the count does not fit in a long.
+     */
+    public long count(long empty) {
+        if (Long.bitCount(empty) % 3 != 1)
+            return 0;
+        current[0] = 1;
+        currentProfiles[0] = 0;
+        int currentSize = 1;
+        for (int cell = 0; cell < CELLS; cell++) {
+            nextSize = 0;
+            boolean free = (empty >>> cell & 1) != 0;
+            boolean vertical = cell % SIZE < SIZE - 2 && (empty >>> cell & 7) == 7;
+            boolean horizontal = cell / SIZE < SIZE - 2 && (empty >>> cell & 0x10101) == 0x10101;
+            for (int i = 0; i < currentSize; i++) {
+                int profile = currentProfiles[i];
+                long ways = current[profile];
+                current[profile] = 0;
+                if (!free || (profile & 1) != 0) {
+                    add((profile & HOLE) | (profile & ~HOLE) >>> 1, ways);
+                    continue;
+                }
+                if ((profile & HOLE) == 0)
+                    add(HOLE | profile >>> 1, ways);
+                if (vertical && (profile & 6) == 0)
+                    add((profile & HOLE) | ((profile & ~HOLE) | 6) >>> 1, ways);
+                if (horizontal && (profile & 1 << SIZE) == 0)
+                    add((profile & HOLE) | ((profile & ~HOLE) | 1 << SIZE | 1 << 2 * SIZE) >>> 1, ways);
+            }
+            long[] table = current;
+            current = next;
+            next = table;
+            int[] profiles = currentProfiles;
+            currentProfiles = nextProfiles;
+            nextProfiles = profiles;
+            currentSize = nextSize;
+        }
+        long result = current[HOLE];
+        for (int i = 0; i < currentSize; i++)
+            current[currentProfiles[i]] = 0;
+        return result;
+    }
+
+    /**
+     * Adds completions to a profile of the next cell.
+     *
+     * @param profile The profile of the next cell.
+     * @param ways    The number of completions to add.
+     */
+    private void add(int profile, long ways) {
+        if (next[profile] == 0)
+            nextProfiles[nextSize++] = profile;
+        next[profile] = Math.addExact(next[profile], ways);
+    }
+}
@@ -0,0 +1,306 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.RegionAnalysis;
+import Model.GameComponents.ScoringMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes the best possible dot score of a {@link Board}, see {@link ScoringMode}.
+ * <p>
+ * For {@link ScoringMode#COVERED_DOTS} a branch-and-bound search decides the lowest undecided cell, which is either
+ * covered by a domino starting on it, or left empty. A branch is cut, when even covering the most valuable coverable
+ * cells could not beat the best score found so far. The shallow levels are explored in parallel, sharing the best
+ * score. For {@link ScoringMode#HOLE_DOTS} the empty cells are tried as the hole, starting with the most dots.
+ */
+public class DotScoreOptimizer {
+
+    /**
+     * The default number of search levels, which are split into parallel tasks.
+     */
+    public static final int DEFAULT_SPLIT_DEPTH = 6;
+
+    /**
+     * The width and height of the board.
+     */
+    private static final int SIZE = 8;
+
+    /**
+     * The maximum amount of dots, a cell can have.
+     */
+    private static final int MAX_DOTS = 6;
+
+    /**
+     * The pool running the search tasks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The number of search levels, which are split into parallel tasks.
+     */
+    private final int splitDepth;
+
+    /**
+     * Decides which holes leave a tileable rest, its table is reused by every search.
+     */
+    private final Solver solver;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a DotScoreOptimizer running on the common {@link ForkJoinPool}.
+     */
+    public DotScoreOptimizer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH);
+    }
+
+    /**
+     * Constructs a DotScoreOptimizer.
+     *
+     * @param pool       The pool running the search tasks.
+     * @param splitDepth The number of search levels split into parallel tasks.
+     */
+    public DotScoreOptimizer(ForkJoinPool pool, int splitDepth) {
+        if (pool == null)
+            throw new IllegalArgumentException("DotScoreOptimizer cannot be instantiated, without a pool");
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+        this.solver = new Solver(pool, Solver.DEFAULT_SPLIT_DEPTH);
+    }
+
+    /**
+     * Computes the best score, which can be reached from the current position of the board.
+     *
+     * @param board The position to optimize, it is not modified.
+     * @param mode  {@link ScoringMode#COVERED_DOTS} or {@link ScoringMode#HOLE_DOTS}.
+     * @return the best possible final score.
+     * @throws IllegalArgumentException for {@link ScoringMode#TIME}, which does not depend on the placements.
+     */
+    public int bestScore(Board board, ScoringMode mode) {
+        return bestScore(board.getEmptyMask(), board.getCoverableDots(), mode);
+    }
+
+    /**
+     * Computes the best score, which can be reached from the given position.
+     *
+     * @param empty The bitboard of the empty cells, see {@link Board#getEmptyMask()}.
+     * @param dots  The number of dots of each cell, see {@link Board#getCoverableDots()}.
+     * @param mode  {@link ScoringMode#COVERED_DOTS} or {@link ScoringMode#HOLE_DOTS}.
+     * @return the best possible final score.
+     * @throws IllegalArgumentException for {@link ScoringMode#TIME}, which does not depend on the placements.
+     */
+    public int bestScore(long empty, int[] dots, ScoringMode mode) {
+        logger.info("optimizing {} score", mode);
+        switch (mode) {
+            case COVERED_DOTS:
+                int covered = 0;
+                for (long rest = ~empty; rest != 0; rest &= rest - 1)
+                    covered += dots[Long.numberOfTrailingZeros(rest)];
+                return covered + bestCovered(empty, dots);
+            case HOLE_DOTS:
+                return bestHole(empty, dots);
+            default:
+                throw new IllegalArgumentException("No best score for " + mode);
+        }
+    }
+
+    /**
+     * Computes the most dots, which can be covered by placing dominos on the empty cells.
+     *
+     * @param empty The bitboard of the empty cells.
+     * @param dots  The number of dots of each cell.
+     * @return the most dots coverable.
+     */
+    private int bestCovered(long empty, int[] dots) {
+        Search search = new Search(dots);
+        pool.invoke(search.new SearchTask(empty, 0, 0));
+        return search.best.get();
+    }
+
+    /**
+     * Computes the most dots a hole can have, when all other empty cells are covered.
+     *
+     * @param empty The bitboard of the empty cells.
+     * @param dots  The number of dots of each cell.
+     * @return the most dots of the hole, 0 if the position can not be won.
+     */
+    private int bestHole(long empty, int[] dots) {
+        if (Long.bitCount(empty) % 3 != 1)
+            return 0;
+        for (int value = MAX_DOTS; value > 0; value--)
+            for (long rest = empty; rest != 0; rest &= rest - 1) {
+                int cell = Long.numberOfTrailingZeros(rest);
+                if (dots[cell] == value && solver.isTileable(empty & ~(1L << cell)))
+                    return value;
+            }
+        return 0;
+    }
+
+    /**
+     * The state shared by the tasks of a single branch-and-bound search.
+     */
+    private final class Search {
+
+        /**
+         * The number of dots of each cell.
+         */
+        private final int[] dots;
+
+        /**
+         * The cells having the given number of dots, indexed by the number of dots.
+         */
+        private final long[] byDots = new long[MAX_DOTS + 1];
+
+        /**
+         * The most dots covered by any of the placements found so far.
+         */
+        private final AtomicInteger best = new AtomicInteger();
+
+        /**
+         * Constructs a Search.
+         *
+         * @param dots The number of dots of each cell.
+         */
+        Search(int[] dots) {
+            this.dots = dots;
+            for (int i = 0; i < dots.length; i++)
+                byDots[Math.min(dots[i], MAX_DOTS)] |= 1L << i;
+        }
+
+        /**
+         * Depth-first search deciding the lowest undecided cell.
+         *
+         * @param undecided The cells not decided yet.
+         * @param gained    The dots covered by the placements made so far.
+         */
+        void search(long undecided, int gained) {
+            improve(gained);
+            undecided &= RegionAnalysis.coverage(undecided);
+            if (undecided == 0 || gained + bound(undecided) <= best.get())
+                return;
+            int cell = Long.numberOfTrailingZeros(undecided);
+            long bit = 1L << cell;
+            long horizontal = bit | bit << SIZE | bit << 2 * SIZE;
+            if (cell / SIZE < SIZE - 2 && (undecided & horizontal) == horizontal)
+                search(undecided & ~horizontal, gained + sum(horizontal));
+            long vertical = bit * 7;
+            if (cell % SIZE < SIZE - 2 && (undecided & vertical) == vertical)
+                search(undecided & ~vertical, gained + sum(vertical));
+            search(undecided & ~bit, gained);
+        }
+
+        /**
+         * Returns an upper bound of the dots, which can still be covered on the given cells: the sum of the most
+         * valuable cells, as many as the dominos could cover.
+         *
+         * @param cells The coverable undecided cells.
+         * @return the upper bound.
+         */
+        int bound(long cells) {
+            int left = Long.bitCount(cells) / 3 * 3;
+            int result = 0;
+            for (int value = MAX_DOTS; value > 0 && left > 0; value--) {
+                int taken = Math.min(left, Long.bitCount(cells & byDots[value]));
+                result += taken * value;
+                left -= taken;
+            }
+            return result;
+        }
+
+        /**
+         * Returns the sum of the dots of the given cells.
+         *
+         * @param cells The bitboard of the cells.
+         * @return the sum of the dots.
+         */
+        int sum(long cells) {
+            int result = 0;
+            for (long rest = cells; rest != 0; rest &= rest - 1)
+                result += dots[Long.numberOfTrailingZeros(rest)];
+            return result;
+        }
+
+        /**
+         * Records a new best score, if it is better than the current one.
+         *
+         * @param gained The dots covered.
+         */
+        void improve(int gained) {
+            int current = best.get();
+            while (gained > current && !best.compareAndSet(current, gained))
+                current = best.get();
+        }
+
+        /**
+         * Task deciding one of the shallow cells, and forking a subtask for each of the choices.
+         */
+        private final class SearchTask extends RecursiveAction {
+
+            /**
+             * The version of the serialized form, tasks are never serialized.
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             * The cells not decided yet.
+             */
+            private final long undecided;
+
+            /**
+             * The dots covered by the placements made so far.
+             */
+            private final int gained;
+
+            /**
+             * The search level of this task.
+             */
+            private final int depth;
+
+            /**
+             * Constructs a SearchTask.
+             *
+             * @param undecided The cells not decided yet.
+             * @param gained    The dots covered by the placements made so far.
+             * @param depth     The search level of the task.
+             */
+            SearchTask(long undecided, int gained, int depth) {
+                this.undecided = undecided;
+                this.gained = gained;
+                this.depth = depth;
+            }
+
+            @Override
+            protected void compute() {
+                if (depth >= splitDepth) {
+                    search(undecided, gained);
+                    return;
+                }
+                improve(gained);
+                long cells = undecided & RegionAnalysis.coverage(undecided);
+                if (cells == 0 || gained + bound(cells) <= best.get())
+                    return;
+                int cell = Long.numberOfTrailingZeros(cells);
+                long bit = 1L << cell;
+                List<SearchTask> children = new ArrayList<>(3);
+                long horizontal = bit | bit << SIZE | bit << 2 * SIZE;
+                if (cell / SIZE < SIZE - 2 && (cells & horizontal) == horizontal)
+                    children.add(new SearchTask(cells & ~horizontal, gained + sum(horizontal), depth + 1));
+                long vertical = bit * 7;
+                if (cell % SIZE < SIZE - 2 && (cells & vertical) == vertical)
+                    children.add(new SearchTask(cells & ~vertical, gained + sum(vertical), depth + 1));
+                children.add(new SearchTask(cells & ~bit, gained, depth + 1));
+                invokeAll(children);
+            }
+        }
+    }
+}
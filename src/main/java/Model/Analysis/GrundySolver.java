@@ -0,0 +1,324 @@
+package Model.Analysis;
+
+import Model.GameComponents.Placements;
+import Model.GameComponents.PositionHash;
+import Model.GameComponents.RegionAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Perfect-play engine for the two-player mode, where the players take turns placing 3x1 dominos, and the player who
+ * can not move loses.
+ * <p>
+ * Dominos never cross between separate empty regions, so a position is the sum of the games played on its regions,
+ * and by the Sprague-Grundy theorem it is lost for the player to move exactly when the Grundy values of the regions
+ * xor to 0. The Grundy value of a region only depends on its shape, so regions are stored translated to the corner
+ * and in canonical orientation, in a primitive cache kept for the lifetime of the solver. Once the cache holds its
+ * maximal number of regions, new regions are evaluated without being stored.
+ * <p>
+ * Large regions (like the empty board) have too many sub-regions to evaluate quickly, each call may search until a
+ * time budget runs out, and then the move is chosen by a mobility heuristic instead. The evaluated regions stay
+ * cached, so the engine plays perfectly as soon as the regions become small enough.
+ */
+public class GrundySolver {
+
+    /**
+     * The default time searched for a single move.
+     */
+    public static final Duration DEFAULT_BUDGET = Duration.ofMillis(30);
+
+    /**
+     * The default maximal number of cached regions.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1 << 20;
+
+    /**
+     * The number of new regions evaluated between two checks of the deadline.
+     */
+    private static final int CHECK_INTERVAL = 256;
+
+    /**
+     * The initial capacity of the cache.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    /**
+     * Thrown when the time of the current move runs out, it is preallocated as it only unwinds the recursion.
+     */
+    private static final RuntimeException OUT_OF_BUDGET = new RuntimeException("Grundy budget exhausted", null,
+            false, false) {
+    };
+
+    /**
+     * The time searched for a single move, in nanoseconds.
+     */
+    private final long budget;
+
+    /**
+     * The maximal number of cached regions.
+     */
+    private final int maxCacheSize;
+
+    /**
+     * The normalized regions stored in the cache, 0 marks an empty slot.
+     */
+    private long[] keys = new long[INITIAL_CAPACITY];
+
+    /**
+     * The Grundy values of the regions in {@link #keys}.
+     */
+    private byte[] values = new byte[INITIAL_CAPACITY];
+
+    /**
+     * The number of cached regions.
+     */
+    private int size;
+
+    /**
+     * The {@link System#nanoTime()} when the search of the current move has to stop.
+     */
+    private long deadline;
+
+    /**
+     * The number of new regions evaluated since the last check of the deadline.
+     */
+    private int unchecked;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a GrundySolver with the {@link #DEFAULT_BUDGET} and the {@link #DEFAULT_CACHE_SIZE}.
+     */
+    public GrundySolver() {
+        this(DEFAULT_BUDGET, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructs a GrundySolver.
+     *
+     * @param budget       The time searched at most for a single move.
+     * @param maxCacheSize The maximal number of cached regions.
+     */
+    public GrundySolver(Duration budget, int maxCacheSize) {
+        if (budget == null || budget.isNegative() || maxCacheSize < 0)
+            throw new IllegalArgumentException("GrundySolver cannot be instantiated, without a budget and a cache"
+                    + " size");
+        this.budget = budget.toNanos();
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    /**
+     * Chooses the move for the player to move.
+     *
+     * @param empty The bitboard of the empty cells.
+     * @return the move id of the chosen placement, or -1 if there is no legal placement.
+     */
+    public int bestMove(long empty) {
+        start();
+        try {
+            int total = 0;
+            for (long rest = empty; rest != 0; ) {
+                long region = RegionAnalysis.region(rest & -rest, empty);
+                rest &= ~region;
+                total ^= grundy(region);
+            }
+            int fallback = -1;
+            for (int move = 0; move < Placements.COUNT; move++) {
+                long mask = Placements.mask(move);
+                if ((empty & mask) != mask)
+                    continue;
+                if (fallback < 0)
+                    fallback = move;
+                if (total == 0)
+                    break;
+                long region = RegionAnalysis.region(mask, empty);
+                if (split(region & ~mask) == (total ^ grundy(region)))
+                    return move;
+            }
+            return fallback;
+        } catch (RuntimeException e) {
+            if (e != OUT_OF_BUDGET)
+                throw e;
+            logger.debug("Grundy search out of time, choosing a heuristic move");
+            return heuristicMove(empty);
+        }
+    }
+
+    /**
+     * Checks whether the player to move loses with perfect play.
+     *
+     * @param empty The bitboard of the empty cells.
+     * @return true, if every move leads to a position won by the opponent.
+     * @throws IllegalStateException if the position is too large to evaluate within the budget.
+     */
+    public boolean isLost(long empty) {
+        start();
+        try {
+            return split(empty) == 0;
+        } catch (RuntimeException e) {
+            if (e == OUT_OF_BUDGET)
+                throw new IllegalStateException("Position is too large to evaluate");
+            throw e;
+        }
+    }
+
+    /**
+     * Starts the clock of a new search.
+     */
+    private void start() {
+        deadline = System.nanoTime() + budget;
+        unchecked = 0;
+    }
+
+    /**
+     * Returns the number of regions in the cache.
+     *
+     * @return the size of the cache.
+     */
+    public int cacheSize() {
+        return size;
+    }
+
+    /**
+     * Computes the Grundy value of the sum of the regions of the given cells.
+     *
+     * @param cells The bitboard of the empty cells.
+     * @return the xor of the Grundy values of the regions.
+     */
+    private int split(long cells) {
+        int result = 0;
+        for (long rest = cells; rest != 0; ) {
+            long region = RegionAnalysis.region(rest & -rest, cells);
+            rest &= ~region;
+            result ^= grundy(region);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the Grundy value of a connected region, the smallest value not reachable with a single move.
+     *
+     * @param region The bitboard of the connected region.
+     * @return the Grundy value of the region.
+     */
+    private int grundy(long region) {
+        if (Long.bitCount(region) < 3 || RegionAnalysis.coverage(region) == 0)
+            return 0;
+        long key = normalize(region);
+        int slot = find(key);
+        if (keys[slot] == key)
+            return values[slot];
+        if (++unchecked == CHECK_INTERVAL) {
+            unchecked = 0;
+            if (System.nanoTime() - deadline > 0)
+                throw OUT_OF_BUDGET;
+        }
+        long reachable = 0;
+        for (int move = 0; move < Placements.COUNT; move++) {
+            long mask = Placements.mask(move);
+            if ((region & mask) == mask)
+                reachable |= 1L << Math.min(split(region & ~mask), 63);
+        }
+        int result = Long.numberOfTrailingZeros(~reachable);
+        put(key, result);
+        return result;
+    }
+
+    /**
+     * Chooses a move leaving the opponent as few legal placements as possible.
+     *
+     * @param empty The bitboard of the empty cells.
+     * @return the move id of the chosen placement, or -1 if there is no legal placement.
+     */
+    private static int heuristicMove(long empty) {
+        int best = -1;
+        int bestMobility = Integer.MAX_VALUE;
+        for (int move = 0; move < Placements.COUNT; move++) {
+            long mask = Placements.mask(move);
+            if ((empty & mask) != mask)
+                continue;
+            long rest = empty & ~mask;
+            int mobility = Long.bitCount(Placements.legalHorizontal(rest))
+                    + Long.bitCount(Placements.legalVertical(rest));
+            if (mobility < bestMobility) {
+                best = move;
+                bestMobility = mobility;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the normalized form of a region: the smallest of its symmetric copies, each moved to the corner.
+     *
+     * @param region The bitboard of the region.
+     * @return the normalized bitboard.
+     */
+    static long normalize(long region) {
+        long result = toCorner(region);
+        for (int symmetry = 1; symmetry < PositionHash.SYMMETRIES; symmetry++)
+            result = Math.min(result, toCorner(PositionHash.transform(region, symmetry)));
+        return result;
+    }
+
+    /**
+     * Moves the cells to the corner, so both the lowest horizontal and vertical position becomes 0.
+     *
+     * @param cells The bitboard of the cells.
+     * @return the moved bitboard.
+     */
+    private static long toCorner(long cells) {
+        cells >>>= Long.numberOfTrailingZeros(cells) & ~7;
+        long rows = cells | cells >>> 32;
+        rows |= rows >>> 16;
+        rows |= rows >>> 8;
+        return cells >>> Long.numberOfTrailingZeros(rows & 0xFF);
+    }
+
+    /**
+     * Finds the slot of the key in the cache, or the empty slot where it would be stored.
+     *
+     * @param key The normalized region.
+     * @return the index of the slot.
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        long hash = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash >>> 32) & mask;
+        while (keys[slot] != 0 && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    /**
+     * Stores a Grundy value in the cache, growing it when it becomes half full. Nothing is stored once the cache holds
+     * {@link #maxCacheSize} regions.
+     *
+     * @param key   The normalized region.
+     * @param value The Grundy value.
+     */
+    private void put(long key, int value) {
+        if (size >= maxCacheSize)
+            return;
+        if (2 * (size + 1) > keys.length) {
+            long[] oldKeys = keys;
+            byte[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new byte[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++)
+                if (oldKeys[i] != 0)
+                    put(oldKeys[i], oldValues[i]);
+        }
+        int slot = find(key);
+        if (keys[slot] == 0)
+            size++;
+        keys[slot] = key;
+        values[slot] = (byte) value;
+    }
+}
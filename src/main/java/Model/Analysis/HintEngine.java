@@ -0,0 +1,323 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import Model.GameComponents.RegionAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Anytime hint engine, suggesting the next placement within a latency budget.
+ * <p>
+ * The search runs on a single background thread as an iterative deepening search, publishing the best move of every
+ * finished iteration. {@link #ponder(long)} starts it speculatively, while the player is still thinking, and
+ * {@link #suggest(long, Duration)} returns the best move known when the budget runs out, falling back to a quick
+ * heuristic move if the search has not finished a single iteration. Results are kept in a
+ * {@link TranspositionTable} between the turns, and late positions covered by a {@link Tablebase} are looked up
+ * instead of searched.
+ */
+public class HintEngine implements Closeable {
+
+    /**
+     * The score of a position, which can still be won.
+     */
+    private static final int WIN = 60000;
+
+    /**
+     * The score of a position, which can no longer be won.
+     */
+    private static final int LOSS = 0;
+
+    /**
+     * The number of entries of the {@link TranspositionTable}.
+     */
+    private static final int TABLE_SIZE = 1 << 18;
+
+    /**
+     * The results of the searches, kept between the turns.
+     */
+    private final TranspositionTable table = new TranspositionTable(TABLE_SIZE);
+
+    /**
+     * The table of the solved late positions, null to search them.
+     */
+    private final Tablebase tablebase;
+
+    /**
+     * The thread running the searches.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hint-engine");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Incremented for every new search, a running search stops when it is no longer the latest.
+     */
+    private final AtomicLong searchId = new AtomicLong();
+
+    /**
+     * The lock guarding {@link #best}, and signalling its changes.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The position of the latest search.
+     */
+    private volatile long searched;
+
+    /**
+     * Whether a search was started at all.
+     */
+    private volatile boolean started;
+
+    /**
+     * The best move found by the latest search.
+     */
+    private Hint best;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a HintEngine, consulting the {@link Tablebase#shared()} table if there is one.
+     */
+    public HintEngine() {
+        this(Tablebase.shared());
+    }
+
+    /**
+     * Constructs a HintEngine.
+     *
+     * @param tablebase The table of the solved late positions, null to search them.
+     */
+    public HintEngine(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Starts searching the given position in the background, unless it is already being searched.
+     *
+     * @param empty The bitboard of the empty cells, see {@link Board#getEmptyMask()}.
+     */
+    public void ponder(long empty) {
+        if (started && searched == empty)
+            return;
+        long id;
+        synchronized (lock) {
+            id = searchId.incrementAndGet();
+            searched = empty;
+            started = true;
+            best = null;
+        }
+        table.newGeneration();
+        executor.execute(() -> search(empty, id));
+    }
+
+    /**
+     * Suggests the next placement, returning within the given budget.
+     *
+     * @param empty  The bitboard of the empty cells, see {@link Board#getEmptyMask()}.
+     * @param budget The time the caller is willing to wait.
+     * @return the move id of the suggested placement, empty if there is no legal placement.
+     */
+    public OptionalInt suggest(long empty, Duration budget) {
+        ponder(empty);
+        long deadline = System.nanoTime() + budget.toNanos();
+        Hint hint;
+        synchronized (lock) {
+            long remaining = deadline - System.nanoTime();
+            while ((best == null || !best.complete) && searched == empty && remaining > 0) {
+                try {
+                    lock.wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            hint = best;
+        }
+        if (hint != null && hint.position == empty)
+            return OptionalInt.of(hint.move);
+        int move = quickMove(empty);
+        return move >= 0 ? OptionalInt.of(move) : OptionalInt.empty();
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    @Override
+    public void close() {
+        searchId.incrementAndGet();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the iterative deepening search, until the position is solved or a newer search is started.
+     *
+     * @param empty The bitboard of the empty cells.
+     * @param id    The id of this search.
+     */
+    private void search(long empty, long id) {
+        int remainingMoves = Long.bitCount(empty) / 3;
+        int bestMove = -1;
+        for (int depth = 1; depth <= remainingMoves; depth++) {
+            int iterationMove = -1;
+            int iterationScore = -1;
+            if (bestMove >= 0) {
+                iterationScore = evaluate(empty & ~Placements.mask(bestMove), depth - 1, id);
+                iterationMove = bestMove;
+            }
+            for (int move = 0; move < Placements.COUNT && iterationScore < WIN; move++) {
+                long mask = Placements.mask(move);
+                if (move == bestMove || (empty & mask) != mask)
+                    continue;
+                int score = evaluate(empty & ~mask, depth - 1, id);
+                if (score > iterationScore) {
+                    iterationScore = score;
+                    iterationMove = move;
+                }
+            }
+            if (searchId.get() != id || iterationMove < 0)
+                return;
+            bestMove = iterationMove;
+            boolean complete = depth == remainingMoves || iterationScore == WIN;
+            publish(new Hint(empty, bestMove, complete), id);
+            logger.debug("hint search depth {}: move {} score {}", depth, bestMove, iterationScore);
+            if (complete)
+                return;
+        }
+    }
+
+    /**
+     * Depth-limited search, scoring the position for the player.
+     *
+     * @param empty The bitboard of the empty cells.
+     * @param depth The number of placements to look ahead.
+     * @param id    The id of the running search.
+     * @return {@link #WIN}, {@link #LOSS} or a heuristic score between them.
+     */
+    private int evaluate(long empty, int depth, long id) {
+        if ((Board.horizontalCenters(empty) | Board.verticalCenters(empty)) == 0)
+            return Long.bitCount(empty) == 1 ? WIN : LOSS;
+        if (tablebase != null && Long.bitCount(empty) <= tablebase.getMaxEmpty()) {
+            int result = tablebase.probe(empty);
+            if (result != Tablebase.UNKNOWN)
+                return Tablebase.isWin(result) ? WIN : LOSS;
+        }
+        if (RegionAnalysis.isDead(empty))
+            return LOSS;
+        if (depth == 0)
+            return heuristic(empty);
+        long entry = table.probe(empty);
+        if (entry != TranspositionTable.MISS) {
+            int value = TranspositionTable.value(entry);
+            if (value == WIN || TranspositionTable.depth(entry) >= depth)
+                return value;
+        }
+        int result = LOSS;
+        for (int move = 0; move < Placements.COUNT && result < WIN; move++) {
+            if (searchId.get() != id)
+                return result;
+            long mask = Placements.mask(move);
+            if ((empty & mask) == mask)
+                result = Math.max(result, evaluate(empty & ~mask, depth - 1, id));
+        }
+        if (searchId.get() == id)
+            table.store(empty, result, depth);
+        return result;
+    }
+
+    /**
+     * Scores a position without searching, preferring many legal placements and few uncoverable cells.
+     *
+     * @param empty The bitboard of the empty cells.
+     * @return a score between {@link #LOSS} and {@link #WIN}.
+     */
+    private static int heuristic(long empty) {
+        int mobility = Long.bitCount(Placements.legalHorizontal(empty))
+                + Long.bitCount(Placements.legalVertical(empty));
+        int orphans = Long.bitCount(empty & ~RegionAnalysis.coverage(empty));
+        return 1000 + 10 * mobility - 100 * orphans;
+    }
+
+    /**
+     * Picks a move without searching, the first one which does not lose immediately.
+     *
+     * @param empty The bitboard of the empty cells.
+     * @return the move id, or -1 if there is no legal placement.
+     */
+    private static int quickMove(long empty) {
+        int fallback = -1;
+        for (int move = 0; move < Placements.COUNT; move++) {
+            long mask = Placements.mask(move);
+            if ((empty & mask) != mask)
+                continue;
+            if (!RegionAnalysis.isDead(empty & ~mask))
+                return move;
+            if (fallback < 0)
+                fallback = move;
+        }
+        return fallback;
+    }
+
+    /**
+     * Publishes the result of a finished iteration, waking up the waiting callers.
+     *
+     * @param hint The best move found.
+     * @param id   The id of the search, results of outdated searches are dropped.
+     */
+    private void publish(Hint hint, long id) {
+        synchronized (lock) {
+            if (searchId.get() != id)
+                return;
+            best = hint;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * The best move found for a position.
+     */
+    private static final class Hint {
+
+        /**
+         * The searched position.
+         */
+        private final long position;
+
+        /**
+         * The move id of the best placement.
+         */
+        private final int move;
+
+        /**
+         * Whether the search of the position is finished.
+         */
+        private final boolean complete;
+
+        /**
+         * Constructs a Hint.
+         *
+         * @param position The searched position.
+         * @param move     The move id of the best placement.
+         * @param complete Whether the search is finished.
+         */
+        Hint(long position, int move, boolean complete) {
+            this.position = position;
+            this.move = move;
+            this.complete = complete;
+        }
+    }
+}
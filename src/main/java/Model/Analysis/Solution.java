@@ -0,0 +1,48 @@
+package Model.Analysis;
+
+import java.util.Arrays;
+
+/**
+ * Class representing the answer of the {@link Solver}, whether a position can still be won, and how.
+ */
+public final class Solution {
+
+    /**
+     * Whether the position can still reach {@link Model.GameComponents.Board#isVictory()}.
+     */
+    private final boolean solvable;
+
+    /**
+     * The move ids of a winning sequence of placements, empty if the position is unsolvable.
+     */
+    private final int[] moves;
+
+    /**
+     * Constructs a Solution.
+     *
+     * @param solvable Whether the position can still be won.
+     * @param moves    The move ids of the witness placement sequence.
+     */
+    Solution(boolean solvable, int[] moves) {
+        this.solvable = solvable;
+        this.moves = moves;
+    }
+
+    public final boolean isSolvable() {
+        return solvable;
+    }
+
+    /**
+     * Returns the witness sequence, placing these in order wins the game.
+     *
+     * @return a copy of the move ids, see {@link Model.GameComponents.Placements}.
+     */
+    public final int[] getMoves() {
+        return moves.clone();
+    }
+
+    @Override
+    public String toString() {
+        return (solvable ? "solvable " : "unsolvable ") + Arrays.toString(moves);
+    }
+}
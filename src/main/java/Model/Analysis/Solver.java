@@ -0,0 +1,341 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import Model.GameComponents.RegionAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exhaustive solver deciding whether a {@link Board} position can still be won.
+ * <p>
+ * Since the order of the placements does not matter, the search always decides the empty cell with the smallest
+ * number: it is either covered by a domino starting on it, or it is left as the single hole. The shallow levels of
+ * the search are split into {@link RecursiveTask}s, so idle workers of the {@link ForkJoinPool} can steal them.
+ * Subtrees are pruned with {@link RegionAnalysis}, and cell sets proven unsolvable are remembered in a
+ * {@link TranspositionTable}, which is kept between calls. Late positions covered by a {@link Tablebase} are looked
+ * up instead of searched.
+ */
+public class Solver {
+
+    /**
+     * The default number of search levels, which are split into parallel tasks.
+     */
+    public static final int DEFAULT_SPLIT_DEPTH = 4;
+
+    /**
+     * The width and height of the board.
+     */
+    private static final int SIZE = 8;
+
+    /**
+     * The number of dominos needed for a victory.
+     */
+    private static final int MAX_DOMINOS = 21;
+
+    /**
+     * The default number of entries of the {@link TranspositionTable}.
+     */
+    private static final int DEFAULT_TABLE_SIZE = 1 << 18;
+
+    /**
+     * The pool running the search tasks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The number of search levels, which are split into parallel tasks, 0 runs the search sequentially.
+     */
+    private final int splitDepth;
+
+    /**
+     * The table remembering the unsolvable cell sets.
+     */
+    private final TranspositionTable table;
+
+    /**
+     * The table of the solved late positions, null to search them.
+     */
+    private final Tablebase tablebase;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a Solver running on the common {@link ForkJoinPool}.
+     */
+    public Solver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH);
+    }
+
+    /**
+     * Constructs a Solver running on the given pool, with its own {@link TranspositionTable}.
+     *
+     * @param pool       The pool running the search tasks.
+     * @param splitDepth The number of search levels split into parallel tasks, 0 runs the search sequentially on the
+     *                   calling thread.
+     */
+    public Solver(ForkJoinPool pool, int splitDepth) {
+        this(pool, splitDepth, new TranspositionTable(DEFAULT_TABLE_SIZE));
+    }
+
+    /**
+     * Constructs a Solver running on the given pool, consulting the {@link Tablebase#shared()} table if there is one.
+     *
+     * @param pool       The pool running the search tasks.
+     * @param splitDepth The number of search levels split into parallel tasks, 0 runs the search sequentially on the
+     *                   calling thread.
+     * @param table      The table remembering the unsolvable cell sets, it can be shared with other searches.
+     */
+    public Solver(ForkJoinPool pool, int splitDepth, TranspositionTable table) {
+        this(pool, splitDepth, table, Tablebase.shared());
+    }
+
+    /**
+     * Constructs a Solver running on the given pool.
+     *
+     * @param pool       The pool running the search tasks.
+     * @param splitDepth The number of search levels split into parallel tasks, 0 runs the search sequentially on the
+     *                   calling thread.
+     * @param table      The table remembering the unsolvable cell sets, it can be shared with other searches.
+     * @param tablebase  The table of the solved late positions, null to search them.
+     */
+    public Solver(ForkJoinPool pool, int splitDepth, TranspositionTable table, Tablebase tablebase) {
+        if (pool == null || table == null)
+            throw new IllegalArgumentException("Solver cannot be instantiated, without a pool and a table");
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+        this.table = table;
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Decides whether the given {@link Board} can still reach {@link Board#isVictory()}.
+     *
+     * @param board The position to solve, it is not modified.
+     * @return the {@link Solution}, containing a winning placement sequence if there is one.
+     */
+    public Solution solve(Board board) {
+        return solve(board.getEmptyMask());
+    }
+
+    /**
+     * Decides whether the position with the given empty cells can still be won.
+     *
+     * @param empty The bitboard of the empty cells, see {@link Board#getEmptyMask()}.
+     * @return the {@link Solution}, containing a winning placement sequence if there is one.
+     */
+    public Solution solve(long empty) {
+        logger.debug("solving position {}", Long.toHexString(empty));
+        if (Long.bitCount(empty) % 3 != 1)
+            return new Solution(false, new int[0]);
+        Search search = new Search();
+        int[] moves = splitDepth > 0 ? pool.invoke(search.new SearchTask(empty, 0)) : search.sequential(empty);
+        return moves != null ? new Solution(true, moves) : new Solution(false, new int[0]);
+    }
+
+    /**
+     * Checks whether the given cells can be covered by dominos, leaving {@code size % 3} of them empty.
+     *
+     * @param cells The bitboard of the cells to cover.
+     * @return true, if at most one cell has to stay empty, and the rest can be covered.
+     */
+    public boolean isTileable(long cells) {
+        if (Long.bitCount(cells) % 3 == 2)
+            return false;
+        Search search = new Search();
+        return (splitDepth > 0 ? pool.invoke(search.new SearchTask(cells, 0)) : search.sequential(cells)) != null;
+    }
+
+    /**
+     * The state shared by the tasks of a single {@link #solve(long)} call.
+     */
+    private final class Search {
+
+        /**
+         * Set once a task found a winning sequence, so the others can stop.
+         */
+        private final AtomicBoolean found = new AtomicBoolean();
+
+        /**
+         * Runs the search on the calling thread.
+         *
+         * @param undecided The cells not decided yet.
+         * @return the winning move ids, or null if there are none.
+         */
+        int[] sequential(long undecided) {
+            int[] path = new int[MAX_DOMINOS];
+            int length = search(undecided, path, 0);
+            if (length < 0)
+                return null;
+            found.set(true);
+            int[] result = new int[length];
+            System.arraycopy(path, 0, result, 0, length);
+            return result;
+        }
+
+        /**
+         * Depth-first search deciding the smallest undecided cell.
+         *
+         * @param undecided The cells not decided yet, these are all empty on the board.
+         * @param path      The placements made so far.
+         * @param length    The number of placements made so far.
+         * @return the length of the winning sequence stored in the path, or -1 if there is none.
+         */
+        private int search(long undecided, int[] path, int length) {
+            if (undecided == 0)
+                return length;
+            if (found.get() || table.probe(undecided) != TranspositionTable.MISS)
+                return -1;
+            if (tablebase != null && Long.bitCount(undecided) <= tablebase.getMaxEmpty()) {
+                int result = tablebase.probe(undecided);
+                if (result != Tablebase.UNKNOWN) {
+                    if (!Tablebase.isWin(result))
+                        return -1;
+                    int[] line = tablebase.winningLine(undecided);
+                    System.arraycopy(line, 0, path, length, line.length);
+                    return length + line.length;
+                }
+            }
+            if (RegionAnalysis.isUntileable(undecided)) {
+                table.store(undecided, 0, Long.bitCount(undecided));
+                return -1;
+            }
+            int cell = Long.numberOfTrailingZeros(undecided);
+            long bit = 1L << cell;
+            if (cell / SIZE < SIZE - 2) {
+                long mask = bit | bit << SIZE | bit << 2 * SIZE;
+                if ((undecided & mask) == mask) {
+                    path[length] = horizontalFrom(cell);
+                    int result = search(undecided & ~mask, path, length + 1);
+                    if (result >= 0)
+                        return result;
+                }
+            }
+            if (cell % SIZE < SIZE - 2) {
+                long mask = bit * 7;
+                if ((undecided & mask) == mask) {
+                    path[length] = verticalFrom(cell);
+                    int result = search(undecided & ~mask, path, length + 1);
+                    if (result >= 0)
+                        return result;
+                }
+            }
+            if (Long.bitCount(undecided) % 3 == 1) {
+                int result = search(undecided & ~bit, path, length);
+                if (result >= 0)
+                    return result;
+            }
+            if (!found.get())
+                table.store(undecided, 0, Long.bitCount(undecided));
+            return -1;
+        }
+
+        /**
+         * Task deciding one of the shallow cells, and forking a subtask for each of the choices.
+         */
+        private final class SearchTask extends RecursiveTask<int[]> {
+
+            /**
+             * The version of the serialized form, tasks are never serialized.
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             * The cells not decided yet.
+             */
+            private final long undecided;
+
+            /**
+             * The search level of this task.
+             */
+            private final int depth;
+
+            /**
+             * Constructs a SearchTask.
+             *
+             * @param undecided The cells not decided yet.
+             * @param depth     The search level of the task.
+             */
+            SearchTask(long undecided, int depth) {
+                this.undecided = undecided;
+                this.depth = depth;
+            }
+
+            @Override
+            protected int[] compute() {
+                if (undecided == 0) {
+                    found.set(true);
+                    return new int[0];
+                }
+                if (found.get())
+                    return null;
+                if (depth >= splitDepth)
+                    return sequential(undecided);
+                int cell = Long.numberOfTrailingZeros(undecided);
+                long bit = 1L << cell;
+                List<SearchTask> children = new ArrayList<>(3);
+                List<Integer> moves = new ArrayList<>(3);
+                if (cell / SIZE < SIZE - 2) {
+                    long mask = bit | bit << SIZE | bit << 2 * SIZE;
+                    if ((undecided & mask) == mask) {
+                        children.add(new SearchTask(undecided & ~mask, depth + 1));
+                        moves.add(horizontalFrom(cell));
+                    }
+                }
+                if (cell % SIZE < SIZE - 2) {
+                    long mask = bit * 7;
+                    if ((undecided & mask) == mask) {
+                        children.add(new SearchTask(undecided & ~mask, depth + 1));
+                        moves.add(verticalFrom(cell));
+                    }
+                }
+                if (Long.bitCount(undecided) % 3 == 1) {
+                    children.add(new SearchTask(undecided & ~bit, depth + 1));
+                    moves.add(-1);
+                }
+                invokeAll(children);
+                for (int i = 0; i < children.size(); i++) {
+                    int[] rest = children.get(i).join();
+                    if (rest == null)
+                        continue;
+                    if (moves.get(i) < 0)
+                        return rest;
+                    int[] result = new int[rest.length + 1];
+                    result[0] = moves.get(i);
+                    System.arraycopy(rest, 0, result, 1, rest.length);
+                    return result;
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Returns the move id of the horizontal placement, having its left cell on the given cell.
+     *
+     * @param cell The number of the left cell.
+     * @return the move id of the placement.
+     */
+    private static int horizontalFrom(int cell) {
+        return cell;
+    }
+
+    /**
+     * Returns the move id of the vertical placement, having its top cell on the given cell.
+     *
+     * @param cell The number of the top cell.
+     * @return the move id of the placement.
+     */
+    private static int verticalFrom(int cell) {
+        return Placements.HORIZONTAL_COUNT + cell / SIZE * (SIZE - 2) + cell % SIZE;
+    }
+}
@@ -0,0 +1,248 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import Model.GameComponents.PositionHash;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Endgame tablebase, storing whether late-game positions can still be won and how far they are from the end.
+ * <p>
+ * The file, written by {@link TablebaseBuilder}, contains a 16 byte header (magic number, maximal number of empty
+ * cells, number of positions), the sorted canonical bitboards of the positions, and one result byte for each of
+ * them. The file is memory-mapped, so opening it does not read it onto the heap, and a lookup is a binary search
+ * over the mapped keys, without allocating anything.
+ * <p>
+ * A result byte stores {@link #WIN} when the position can still be won, along with the distance to the end: the
+ * number of placements until the victory, or for a lost position the most placements which can still be made.
+ * <p>
+ * The {@link Solver} and the {@link HintEngine} consult the process-wide table returned by {@link #shared()}, if the
+ * file {@link #DEFAULT_FILE} exists in the working directory.
+ */
+public class Tablebase implements Closeable {
+
+    /**
+     * The magic number at the start of the file.
+     */
+    static final int MAGIC = 0x54424C31;
+
+    /**
+     * The name of the file of the process-wide table.
+     */
+    public static final String DEFAULT_FILE = "endgame.tb";
+
+    /**
+     * The result bit, marking positions which can still be won.
+     */
+    public static final int WIN = 0x80;
+
+    /**
+     * The result of {@link #probe(long)} for positions which are not covered by the table.
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * The size of the header of the file, in bytes.
+     */
+    private static final int HEADER = 16;
+
+    /**
+     * The channel of the opened file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The mapped content of the file.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * The maximal number of empty cells of the stored positions.
+     */
+    private final int maxEmpty;
+
+    /**
+     * The number of stored positions.
+     */
+    private final int count;
+
+    /**
+     * Opens and maps a table, written by {@link TablebaseBuilder}.
+     *
+     * @param file The table file.
+     * @throws IOException if the file can not be read, or it is not a table.
+     */
+    public Tablebase(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC)
+                throw new IOException(file + " is not a tablebase file");
+            this.maxEmpty = buffer.getInt(4);
+            this.count = buffer.getInt(8);
+            if (buffer.capacity() != HEADER + 9L * count)
+                throw new IOException(file + " is truncated");
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the process-wide table, which is mapped from {@link #DEFAULT_FILE} in the working directory on the first
+     * call, and kept open until the JVM shuts down.
+     *
+     * @return the shared table, or null if there is no valid table file.
+     */
+    public static Tablebase shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Looks up the result of the given {@link Board}.
+     *
+     * @param board The position to look up.
+     * @return the result byte, or {@link #UNKNOWN} if the position has too many empty cells.
+     */
+    public int probe(Board board) {
+        return probe(board.getEmptyMask());
+    }
+
+    /**
+     * Looks up the result of the position with the given empty cells.
+     *
+     * @param empty The bitboard of the empty cells, see {@link Board#getEmptyMask()}.
+     * @return the result byte, or {@link #UNKNOWN} if the position is not covered by the table.
+     */
+    public int probe(long empty) {
+        if ((Board.horizontalCenters(empty) | Board.verticalCenters(empty)) == 0)
+            return terminal(empty);
+        int cells = Long.bitCount(empty);
+        if (cells > maxEmpty || cells % 3 != 1)
+            return UNKNOWN;
+        long key = PositionHash.canonical(empty);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long stored = buffer.getLong(HEADER + 8 * middle);
+            if (stored < key)
+                low = middle + 1;
+            else if (stored > key)
+                high = middle - 1;
+            else
+                return buffer.get(HEADER + 8 * count + middle) & 0xFF;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Returns a shortest winning placement sequence of a position, following the results of the table.
+     *
+     * @param empty The bitboard of the empty cells, see {@link Board#getEmptyMask()}.
+     * @return the move ids, or null if the position can not be won or it is not covered by the table.
+     */
+    public int[] winningLine(long empty) {
+        int result = probe(empty);
+        if (!isWin(result))
+            return null;
+        int[] line = new int[distance(result)];
+        for (int i = 0; i < line.length; i++)
+            for (int move = 0; move < Placements.COUNT; move++) {
+                long mask = Placements.mask(move);
+                if ((empty & mask) != mask)
+                    continue;
+                int child = probe(empty & ~mask);
+                if (isWin(child) && distance(child) == line.length - i - 1) {
+                    line[i] = move;
+                    empty &= ~mask;
+                    break;
+                }
+            }
+        return line;
+    }
+
+    /**
+     * Returns the number of stored positions.
+     *
+     * @return the number of positions in the file.
+     */
+    public int size() {
+        return count;
+    }
+
+    public final int getMaxEmpty() {
+        return maxEmpty;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Checks whether a result stands for a position, which can still be won.
+     *
+     * @param result The result byte returned by {@link #probe(long)}.
+     * @return true, if the position can be won.
+     */
+    public static boolean isWin(int result) {
+        return result >= 0 && (result & WIN) != 0;
+    }
+
+    /**
+     * Returns the distance to the end of a result.
+     *
+     * @param result The result byte returned by {@link #probe(long)}.
+     * @return the number of placements until the victory, or the most placements a lost position still allows.
+     */
+    public static int distance(int result) {
+        return result & ~WIN;
+    }
+
+    /**
+     * Returns the result of a position without legal placements.
+     *
+     * @param empty The bitboard of the empty cells.
+     * @return the result byte, a victory if exactly one cell is empty.
+     */
+    static int terminal(long empty) {
+        return Long.bitCount(empty) == 1 ? WIN : 0;
+    }
+
+    /**
+     * Holder of the process-wide table, opened when it is first used.
+     */
+    private static final class Shared {
+        /**
+         * The process-wide table, null if there is none.
+         */
+        private static final Tablebase INSTANCE = open();
+
+        /**
+         * Maps the table file of the working directory.
+         *
+         * @return the table, or null if the file does not exist or it is not a table.
+         */
+        private static Tablebase open() {
+            Path file = FileSystems.getDefault().getPath("").toAbsolutePath().resolve(DEFAULT_FILE);
+            if (Files.notExists(file))
+                return null;
+            try {
+                return new Tablebase(file);
+            } catch (IOException e) {
+                LoggerFactory.getLogger(Tablebase.class).error("Tablebase can not be opened: {}", e.toString());
+                return null;
+            }
+        }
+    }
+}
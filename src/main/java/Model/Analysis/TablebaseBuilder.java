@@ -0,0 +1,214 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import Model.GameComponents.PositionHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the endgame {@link Tablebase} file, containing every canonical late-game position with at most a given
+ * number of empty cells.
+ * <p>
+ * Positions are enumerated as sets of empty cells, only the canonical ones (see
+ * {@link PositionHash#canonical(long)}) with at least one legal placement are stored, positions without a legal
+ * placement are decided by {@link Tablebase#probe(long)} on the fly. Positions are solved level by level, in
+ * increasing number of empty cells, so every placement leads to a position of the previous level.
+ * The number of positions grows steeply with the number of empty cells, 7 empty cells give a table of a few tens of
+ * megabytes, 10 would need hundreds of gigabytes, more than a level held in memory can address. Tables are therefore
+ * limited to 7 empty cells.
+ */
+public class TablebaseBuilder {
+
+    /**
+     * The default maximal number of empty cells of the stored positions.
+     */
+    public static final int DEFAULT_MAX_EMPTY = 7;
+
+    /**
+     * The maximal number of empty cells, to which a table can be built.
+     */
+    private static final int LIMIT = 7;
+
+    /**
+     * The maximal number of empty cells of the stored positions.
+     */
+    private final int maxEmpty;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a TablebaseBuilder for positions with at most {@link #DEFAULT_MAX_EMPTY} empty cells.
+     */
+    public TablebaseBuilder() {
+        this(DEFAULT_MAX_EMPTY);
+    }
+
+    /**
+     * Constructs a TablebaseBuilder.
+     *
+     * @param maxEmpty The maximal number of empty cells of the stored positions.
+     */
+    public TablebaseBuilder(int maxEmpty) {
+        if (maxEmpty < 1 || maxEmpty > LIMIT)
+            throw new IllegalArgumentException("Tablebase can be built for 1 to " + LIMIT + " empty cells");
+        this.maxEmpty = maxEmpty;
+    }
+
+    /**
+     * Builds the table and writes it to the given file.
+     *
+     * @param file The file to create or overwrite.
+     * @throws IOException if the file can not be written.
+     */
+    public void build(Path file) throws IOException {
+        int levels = (maxEmpty - 1) / 3 + 1;
+        long[][] keys = new long[levels][];
+        byte[][] values = new byte[levels][];
+        for (int level = 0; level < levels; level++) {
+            int empty = 3 * level + 1;
+            keys[level] = enumerate(empty);
+            values[level] = new byte[keys[level].length];
+            long[] previousKeys = level > 0 ? keys[level - 1] : new long[0];
+            byte[] previousValues = level > 0 ? values[level - 1] : new byte[0];
+            long[] levelKeys = keys[level];
+            byte[] levelValues = values[level];
+            IntStream.range(0, levelKeys.length).parallel().forEach(i ->
+                    levelValues[i] = solve(levelKeys[i], previousKeys, previousValues));
+            logger.info("tablebase level of {} empty cells: {} positions", empty, levelKeys.length);
+        }
+        write(file, keys, values);
+    }
+
+    /**
+     * Enumerates the canonical positions with the given number of empty cells and at least one legal placement.
+     *
+     * @param empty The number of empty cells.
+     * @return the sorted bitboards of the positions.
+     */
+    private long[] enumerate(int empty) {
+        long[][] parts = IntStream.range(0, 64).parallel()
+                .mapToObj(lowest -> enumerate(lowest, empty))
+                .toArray(long[][]::new);
+        int total = 0;
+        for (long[] part : parts)
+            total += part.length;
+        long[] result = new long[total];
+        int offset = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        Arrays.parallelSort(result);
+        return result;
+    }
+
+    /**
+     * Enumerates the canonical positions with the given number of empty cells and lowest empty cell.
+     *
+     * @param lowest The number of the lowest empty cell.
+     * @param empty  The number of empty cells.
+     * @return the bitboards of the positions.
+     */
+    private long[] enumerate(int lowest, int empty) {
+        int rest = empty - 1;
+        int above = 63 - lowest;
+        long[] result = new long[16];
+        int size = 0;
+        if (rest > above)
+            return new long[0];
+        long bit = 1L << lowest;
+        long combination = rest == 0 ? 0 : (1L << rest) - 1;
+        long last = rest == 0 ? 0 : ((1L << rest) - 1) << (above - rest);
+        while (true) {
+            long position = bit | (above == 0 ? 0 : combination << (lowest + 1));
+            if ((Board.horizontalCenters(position) | Board.verticalCenters(position)) != 0
+                    && PositionHash.canonical(position) == position) {
+                if (size == result.length)
+                    result = Arrays.copyOf(result, size * 2);
+                result[size++] = position;
+            }
+            if (combination == last)
+                break;
+            long lowestBit = combination & -combination;
+            long ripple = combination + lowestBit;
+            combination = (((ripple ^ combination) >>> 2) / lowestBit) | ripple;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Solves a position from the already solved positions with 3 less empty cells.
+     *
+     * @param position       The bitboard of the position.
+     * @param previousKeys   The sorted positions of the previous level.
+     * @param previousValues The results of the positions of the previous level.
+     * @return the encoded result, see {@link Tablebase}.
+     */
+    private static byte solve(long position, long[] previousKeys, byte[] previousValues) {
+        int win = -1;
+        int longest = 0;
+        for (int move = 0; move < Placements.COUNT; move++) {
+            long mask = Placements.mask(move);
+            if ((position & mask) != mask)
+                continue;
+            long child = position & ~mask;
+            int code;
+            if ((Board.horizontalCenters(child) | Board.verticalCenters(child)) == 0)
+                code = Tablebase.terminal(child);
+            else
+                code = previousValues[Arrays.binarySearch(previousKeys, PositionHash.canonical(child))] & 0xFF;
+            int distance = Tablebase.distance(code) + 1;
+            if (Tablebase.isWin(code))
+                win = distance;
+            longest = Math.max(longest, distance);
+        }
+        return (byte) (win >= 0 ? Tablebase.WIN | win : longest);
+    }
+
+    /**
+     * Writes the levels into a single sorted table.
+     *
+     * @param file   The file to create or overwrite.
+     * @param keys   The sorted positions of each level.
+     * @param values The results of the positions of each level.
+     * @throws IOException if the file can not be written.
+     */
+    private void write(Path file, long[][] keys, byte[][] values) throws IOException {
+        int count = 0;
+        for (long[] level : keys)
+            count += level.length;
+        int[] next = new int[keys.length];
+        byte[] merged = new byte[count];
+        try (OutputStream output = Files.newOutputStream(file);
+             DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output, 1 << 16))) {
+            data.writeInt(Tablebase.MAGIC);
+            data.writeInt(maxEmpty);
+            data.writeInt(count);
+            data.writeInt(0);
+            for (int i = 0; i < count; i++) {
+                int smallest = -1;
+                for (int level = 0; level < keys.length; level++)
+                    if (next[level] < keys[level].length && (smallest < 0
+                            || keys[level][next[level]] < keys[smallest][next[smallest]]))
+                        smallest = level;
+                data.writeLong(keys[smallest][next[smallest]]);
+                merged[i] = values[smallest][next[smallest]++];
+            }
+            data.write(merged);
+        }
+        logger.info("tablebase of {} positions written to {}", count, file);
+    }
+}
@@ -0,0 +1,155 @@
+package Model.Analysis;
+
+import Model.GameComponents.PositionHash;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free transposition table, storing a small result for the positions of a search.
+ * <p>
+ * Positions are stored by their canonical form (see {@link PositionHash#canonical(long)}), so the 8 symmetric copies
+ * of a position share one entry. Every slot holds the key xor-ed with the data and the data itself, a reader only
+ * accepts an entry if the two words match, so a slot torn by concurrent writers reads as a miss instead of a wrong
+ * result. A slot is replaced when it is empty, holds the same position, was stored in an older generation, or when
+ * the new entry has at least the same depth.
+ */
+public class TranspositionTable {
+
+    /**
+     * The value returned by {@link #probe(long)} if the position is not stored.
+     */
+    public static final long MISS = 0;
+
+    /**
+     * The bit marking a used entry.
+     */
+    private static final long VALID = 1L << 63;
+
+    /**
+     * The slots, two words each: the key xor-ed with the data, and the data.
+     */
+    private final AtomicLongArray slots;
+
+    /**
+     * The mask selecting a slot index from a hash.
+     */
+    private final int indexMask;
+
+    /**
+     * The current generation, entries of older generations are replaced first.
+     */
+    private volatile int generation;
+
+    /**
+     * Constructs a TranspositionTable.
+     *
+     * @param capacity The number of entries, rounded up to a power of two.
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 29)
+            throw new IllegalArgumentException("Invalid transposition table capacity: " + capacity);
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+            size <<= 1;
+        this.slots = new AtomicLongArray(2 * size);
+        this.indexMask = size - 1;
+    }
+
+    /**
+     * Looks up the position.
+     *
+     * @param position The bitboard of the position, it is canonicalized by the table.
+     * @return the stored entry, decoded with {@link #value(long)} and {@link #depth(long)}, or {@link #MISS}.
+     */
+    public long probe(long position) {
+        long key = PositionHash.canonical(position);
+        int index = index(key);
+        long data = slots.get(index + 1);
+        long check = slots.get(index);
+        return (data & VALID) != 0 && (check ^ data) == key ? data : MISS;
+    }
+
+    /**
+     * Stores the result of the position, if the replacement policy allows it.
+     *
+     * @param position The bitboard of the position, it is canonicalized by the table.
+     * @param value    The result in [0, 65536).
+     * @param depth    The depth or size of the search behind the result in [0, 256), deeper results are kept longer.
+     */
+    public void store(long position, int value, int depth) {
+        long key = PositionHash.canonical(position);
+        int index = index(key);
+        long stored = slots.get(index + 1);
+        if ((stored & VALID) != 0 && (slots.get(index) ^ stored) != key
+                && generation(stored) == (generation & 0xFF) && depth(stored) > depth)
+            return;
+        long data = VALID | (long) (generation & 0xFF) << 24 | (long) (depth & 0xFF) << 16 | (value & 0xFFFF);
+        slots.set(index + 1, data);
+        slots.set(index, key ^ data);
+    }
+
+    /**
+     * Starts a new generation, the entries stored so far become the first to be replaced.
+     */
+    public void newGeneration() {
+        generation++;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++)
+            slots.set(i, 0);
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     *
+     * @return the capacity of the table.
+     */
+    public int capacity() {
+        return indexMask + 1;
+    }
+
+    /**
+     * Decodes the stored result of an entry.
+     *
+     * @param entry The entry returned by {@link #probe(long)}.
+     * @return the stored value.
+     */
+    public static int value(long entry) {
+        return (int) (entry & 0xFFFF);
+    }
+
+    /**
+     * Decodes the stored depth of an entry.
+     *
+     * @param entry The entry returned by {@link #probe(long)}.
+     * @return the stored depth.
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> 16 & 0xFF);
+    }
+
+    /**
+     * Decodes the generation of an entry.
+     *
+     * @param entry The stored entry.
+     * @return the generation the entry was stored in.
+     */
+    private static int generation(long entry) {
+        return (int) (entry >>> 24 & 0xFF);
+    }
+
+    /**
+     * Returns the index of the first word of the slot of the canonical position.
+     *
+     * @param key The canonical bitboard of the position.
+     * @return the slot index.
+     */
+    private int index(long key) {
+        long hash = PositionHash.zobrist(key);
+        return (int) ((hash ^ hash >>> 32) & indexMask) << 1;
+    }
+}
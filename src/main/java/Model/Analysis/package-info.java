@@ -0,0 +1,4 @@
+/**
+ * Package which contains the search and analysis tools working on the {@link Model.GameComponents.Board}.
+ */
+package Model.Analysis;
@@ -1,14 +1,26 @@
 package Model;
 
+import Model.Analysis.DotScoreOptimizer;
+import Model.Analysis.HintEngine;
 import Model.GameComponents.Board;
+import Model.GameComponents.BoardSnapshot;
 import Model.GameComponents.Direction;
+import Model.GameComponents.Placements;
 import Model.GameComponents.ScoreBoard;
+import Model.GameComponents.ScoringMode;
+import Model.Record.GameRecord;
+import Model.Scores.LeaderboardPeriod;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The main model of the Model, which wraps the representation of the game inside a {@link Board}.
@@ -30,6 +42,41 @@ public class Game {
      */
     private String name;
 
+    /**
+     * The way the game is scored.
+     */
+    private ScoringMode scoringMode = ScoringMode.TIME;
+
+    /**
+     * The time the player waits at most for a hint.
+     */
+    private static final Duration HINT_BUDGET = Duration.ofMillis(500);
+
+    /**
+     * The engine suggesting moves to the player, created on first use.
+     */
+    private HintEngine hintEngine;
+
+    /**
+     * The positions before the placements of the player, the latest on top.
+     */
+    private final Deque<BoardSnapshot> undoStack = new ArrayDeque<>();
+
+    /**
+     * The positions taken back by {@link #undo()}, the latest on top.
+     */
+    private final Deque<BoardSnapshot> redoStack = new ArrayDeque<>();
+
+    /**
+     * The placements of the player, recorded for {@link #getRecord()}.
+     */
+    private final GameRecord.Builder recorder;
+
+    /**
+     * The position after the last placement, undo or redo, published by the game thread for other threads.
+     */
+    private volatile BoardSnapshot current;
+
     /**
      * The {@link org.slf4j.Logger logger} used in this class.
      */
@@ -47,6 +94,8 @@ public class Game {
             throw new InstantiationError("Model cannot be instantiated, without a board");
         this.board = board;
         this.score = 0;
+        this.recorder = new GameRecord.Builder(board.getSeed(), board.getBlockedMask());
+        this.current = board.snapshot();
     }
 
     /**
@@ -54,18 +103,39 @@ public class Game {
      */
     public void play() {
         logger.info("starting game loop");
+        long initialEmpty = board.getEmptyMask();
+        int[] dots = board.getCoverableDots();
+        ScoringMode mode = scoringMode;
+        CompletableFuture<Integer> bestScore = mode == ScoringMode.TIME ? null
+                : CompletableFuture.supplyAsync(() -> new DotScoreOptimizer().bestScore(initialEmpty, dots, mode));
+        boolean stopWhenDead = mode != ScoringMode.COVERED_DOTS;
         Scanner scan = new Scanner(System.in);
-        while (!board.isGoal()) {
+        while (!board.isGoal() && !(stopWhenDead && board.isDeadPosition())) {
+            getHintEngine().ponder(board.getEmptyMask());
             display();
             setNextDominoDirection(scan);
             displayPossibilities();
             setAndPlaceNextDomino(scan);
         }
-        ScoreBoard sb = new ScoreBoard();
+        getHintEngine().close();
+        hintEngine = null;
+        if (bestScore != null)
+            System.out.println("You scored " + getScore() + " of a possible " + bestScore.join());
+        ScoreBoard sb = ScoreBoard.shared();
         if (board.isVictory()) {
             System.out.println("Congratulations! You won with a score of: " + getScore());
+            if (scoringMode == ScoringMode.TIME)
+                System.out.printf("Your time ranks #%d of %d results, top %.1f%%%n", sb.rankOf(getScore()),
+                        sb.getNumOfResults() + 1, sb.topPercent(getScore()));
             System.out.println("Here are the top scores:\n");
             sb.display();
+            System.out.println("\nThis week's top scores:\n");
+            sb.display(LeaderboardPeriod.WEEK);
+        } else if (!board.isGoal()) {
+            display();
+            System.out.println("Game over!\nThe remaining empty cells can no longer hold all 21 dominos, here are the"
+                    + " top scores:\n");
+            sb.display();
         } else {
             System.out.println("Game over!\nFailed to place all 21 dominos, here are the top scores:\nv");
             sb.display();
@@ -90,11 +160,20 @@ public class Game {
     public void setNextDominoDirection(Scanner scan) {
         String input = "";
         while (!input.equals("v") && !input.equals("h")) {
-            System.out.println("Choose the next domino's direction: vertical or horizontal? [V/H]");
+            System.out.println("Choose the next domino's direction: vertical or horizontal? [V/H] (? for a hint, U to"
+                    + " undo, R to redo)");
             if (scan.hasNext()) {
                 input = scan.next();
                 input = input.toLowerCase();
             }
+            if (input.equals("?"))
+                displayHint();
+            else if (input.equals("u") || input.equals("r")) {
+                if (input.equals("u") ? undo() : redo())
+                    display();
+                else
+                    System.out.println("There is nothing to " + (input.equals("u") ? "undo" : "redo"));
+            }
         }
         board.setDirection(input.equals("v") ? Direction.VERTICAL : Direction.HORIZONTAL);
     }
@@ -107,10 +186,66 @@ public class Game {
      */
     public void setAndPlaceNextDomino(Scanner scan) {
         logger.info("waiting for the user to give 2 viable cells");
+        BoardSnapshot before = board.snapshot();
         Map.Entry<Integer, Integer> boundaries;
         do {
             boundaries = getCellNumbers(scan);
         } while (!board.isPlaceable(boundaries.getKey(), boundaries.getValue()));
+        recorder.add(Placements.ofMask(before.getEmptyMask() & ~board.getEmptyMask()));
+        undoStack.push(before);
+        redoStack.clear();
+        current = board.snapshot();
+    }
+
+    /**
+     * Takes back the last placement of the player.
+     *
+     * @return false, if there is no placement to take back.
+     */
+    public boolean undo() {
+        if (undoStack.isEmpty())
+            return false;
+        redoStack.push(board.snapshot());
+        board.restore(undoStack.pop());
+        recorder.removeLast();
+        current = board.snapshot();
+        return true;
+    }
+
+    /**
+     * Places the last placement taken back by {@link #undo()} again.
+     *
+     * @return false, if there is no placement to redo.
+     */
+    public boolean redo() {
+        if (redoStack.isEmpty())
+            return false;
+        BoardSnapshot before = board.snapshot();
+        undoStack.push(before);
+        board.restore(redoStack.pop());
+        recorder.add(Placements.ofMask(before.getEmptyMask() & ~board.getEmptyMask()));
+        current = board.snapshot();
+        return true;
+    }
+
+    /**
+     * Returns the record of the placements made so far, claiming the current result of the {@link Board}.
+     *
+     * @return the record of the game, which can be checked with {@link Model.Record.ReplayVerifier}.
+     */
+    public GameRecord getRecord() {
+        return recorder.build(board.isVictory(), Math.max(0, board.getScore()));
+    }
+
+    /**
+     * Returns the position after the last placement, undo or redo. The {@link Board} itself must only be used by the
+     * game thread, so the game thread publishes a snapshot after every move, and any thread can analyse it while the
+     * game goes on.
+     *
+     * @return the immutable snapshot of the {@link Board}.
+     */
+    public BoardSnapshot snapshot() {
+        return current;
     }
 
     /**
@@ -128,18 +263,52 @@ public class Game {
                 start = scan.nextInt();
             else
                 scan.next();
-        } while (!board.getCurrentEmptyCells().containsKey(start));
+        } while (!board.isEmptyCell(start));
         do {
             System.out.println("Choose the ending point of the next domino (cell number)");
             if (scan.hasNextInt())
                 end = scan.nextInt();
            else
                scan.next();
-        } while (!board.getCurrentEmptyCells().containsKey(end));
+        } while (!board.isEmptyCell(end));
         return new AbstractMap.SimpleEntry<>(start, end);
     }
 
 
+    /**
+     * Suggests the next placement, computed in the background while the player is thinking.
+     *
+     * @param budget The time to wait at most for the suggestion.
+     * @return the move id of the suggested placement (see {@link Placements}), empty if no placement is left.
+     */
+    public OptionalInt suggestMove(Duration budget) {
+        return getHintEngine().suggest(board.getEmptyMask(), budget);
+    }
+
+    /**
+     * Shows the suggested next placement to the user.
+     */
+    public void displayHint() {
+        OptionalInt move = suggestMove(HINT_BUDGET);
+        if (move.isPresent())
+            System.out.println("Hint: place a " + Placements.direction(move.getAsInt()).toString().toLowerCase()
+                    + " domino from cell " + Placements.first(move.getAsInt()) + " to cell "
+                    + Placements.last(move.getAsInt()));
+        else
+            System.out.println("Hint: there is no space left for another domino");
+    }
+
+    /**
+     * Returns the {@link HintEngine}, creating it on first use.
+     *
+     * @return the hint engine of this game.
+     */
+    private HintEngine getHintEngine() {
+        if (hintEngine == null)
+            hintEngine = new HintEngine();
+        return hintEngine;
+    }
+
     /**
      * Displays the possible placement choices, based on the {@link Model.GameComponents.Board}'s current empty
      * {@link Model.GameComponents.Cell}s and the user given {@link Model.GameComponents.Direction}.
@@ -153,7 +322,15 @@ public class Game {
     }
 
     public final long getScore() {
-        return board.getScore();
+        return board.getScore(scoringMode);
+    }
+
+    public final ScoringMode getScoringMode() {
+        return scoringMode;
+    }
+
+    public void setScoringMode(ScoringMode scoringMode) {
+        this.scoringMode = scoringMode;
     }
 
     public final String getName() {
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -45,15 +46,62 @@ public class Board {
     private double height;
 
     /**
-     * Collection of {@link Cell} which build up the board.
+     * The seed the dots of the board were drawn from.
+     */
+    private long seed;
+
+    /**
+     * Bitboard storing the {@link State EMPTY} cells of the board, the cell at board position (x, y) is stored on
+     * bit {@code x * boardSize + y}, which is also the cell number shown to the user.
+     */
+    private long emptyCells;
+
+    /**
+     * Bitboard storing the {@link State BLOCKED} cells of a puzzle, indexed the same way as {@link #emptyCells}.
+     */
+    private long blockedCells;
+
+    /**
+     * The number of dots on each {@link Cell}, indexed the same way as {@link #emptyCells}.
+     */
+    private int[] dots;
+
+    /**
+     * Whether {@link #dots} is shared with a {@link BoardSnapshot}, so it has to be copied before it is changed.
+     */
+    private boolean dotsShared;
+
+    /**
+     * Collection of {@link Cell} which build up the board, materialized lazily by {@link #getCells()}.
      */
     private Cell[][] cells;
 
 
     /**
-     * Collection storing the {@link State EMPTY} cells of the current board, and their coordinates.
+     * The set of the currently legal horizontal {@link Placements}, bit i stands for move id i.
+     */
+    private long legalHorizontal;
+
+    /**
+     * The set of the currently legal vertical {@link Placements}, bit i stands for move id
+     * {@code Placements.HORIZONTAL_COUNT + i}.
+     */
+    private long legalVertical;
+
+    /**
+     * The Zobrist hash of the current position, see {@link PositionHash}.
+     */
+    private long zobristKey;
+
+    /**
+     * The empty cells, for which {@link #deadPosition} was last computed.
      */
-    private Map<Integer, Map.Entry<Integer, Integer>> currentEmptyCells;
+    private long deadCheckedFor;
+
+    /**
+     * Whether the position of {@link #deadCheckedFor} can no longer be won, see {@link RegionAnalysis}.
+     */
+    private boolean deadPosition;
 
     /**
      * The current direction of the 3x1 {@link Cell} (domino).
@@ -62,23 +110,84 @@ public class Board {
     /**
      * The {@link org.slf4j.Logger logger} used in this class.
      */
-    private Logger logger = LoggerFactory.getLogger(this.getClass());
+    private static final Logger logger = LoggerFactory.getLogger(Board.class);
+
+    /**
+     * Mask of the cells which are not on the top or bottom row of the board, these can be centers of vertical dominos.
+     */
+    private static final long VERTICAL_CENTERS = 0x7E7E7E7E7E7E7E7EL;
+
+    /**
+     * The increment of the SplitMix64 generator drawing the dots.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
 
     /**
      * Creates a 8x8 Board, filled with {@link State EMPTY} cells, containing [1,6] (inclusive) dots.
      */
     public Board() {
-        logger.info("Creating Board");
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a 8x8 Board, filled with {@link State EMPTY} cells, containing [1,6] (inclusive) dots, drawn from the
+     * given seed, so the same seed always gives the same board.
+     *
+     * @param seed The seed of the dots.
+     */
+    public Board(long seed) {
+        logger.debug("Creating Board");
+        this.dots = new int[boardSize * boardSize];
+        reset(seed);
+    }
+
+    /**
+     * Creates a Board in the position of the given snapshot, see {@link BoardSnapshot#fork()}.
+     *
+     * @param snapshot The position of the new board.
+     */
+    Board(BoardSnapshot snapshot) {
         this.direction = Direction.HORIZONTAL;
-        this.numOfEmptyCells = boardSize * boardSize;
         this.startTime = System.nanoTime();
-        cells = new Cell[boardSize][boardSize];
-        State initialState = State.EMPTY;
-        for (int i = 0; i < boardSize; i++)
-            for (int j = 0; j < boardSize; j++) {
-                int numOfDots = new Random().nextInt(6) + 1;
-                cells[i][j] = new Cell(j, i, initialState, numOfDots);
-            }
+        restore(snapshot);
+    }
+
+    /**
+     * Starts a new game on this board, as if it was created with {@link #Board(long)}. The storage of the board is
+     * reused, so nothing is allocated. The dots are drawn with the SplitMix64 generator (the one behind
+     * {@link SplittableRandom}) inlined, each random long giving the dots of two cells.
+     *
+     * @param seed The seed of the dots.
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        if (dotsShared) {
+            dots = new int[boardSize * boardSize];
+            dotsShared = false;
+        }
+        int range = MAX_DOTS - MIN_DOTS + 1;
+        long state = seed;
+        for (int i = 0; i < dots.length; i += 2) {
+            state += GOLDEN_GAMMA;
+            long bits = mix(state);
+            dots[i] = MIN_DOTS + (int) (((bits >>> 32) * range) >>> 32);
+            dots[i + 1] = MIN_DOTS + (int) (((bits & 0xFFFFFFFFL) * range) >>> 32);
+        }
+        this.blockedCells = 0;
+        this.cells = null;
+        clear();
+    }
+
+    /**
+     * Scrambles the state of the SplitMix64 generator into a random long.
+     *
+     * @param state The state of the generator.
+     * @return the random long.
+     */
+    private static long mix(long state) {
+        long z = (state ^ (state >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
 
     /**
@@ -96,16 +205,29 @@ public class Board {
      * @return false, if there is still enough space for at least one domino placement.
      */
     public final boolean isGoal() {
-        for (int i = 0; i < boardSize; i++)
-            for (int j = 0; j < boardSize; j++)
-                if (cells[j][i].getState() == State.EMPTY
-                        && (areHorizontalNeighborsEmpty(j, i) || areVerticalNeighborsEmpty(j, i)))
-                    return false;
+        if (hasLegalMove())
+            return false;
         endTime = System.nanoTime();
         logger.info("Current game state: Model is over");
         return true;
     }
 
+    /**
+     * Checks whether the game reached a state, which can no longer result in a victory, even though there might be
+     * space for more dominos. Each new position is analysed from scratch, as the bit-parallel flood fill of
+     * {@link RegionAnalysis} costs less than tracking which regions a move touched. The result is cached for the
+     * position, so repeated calls are free.
+     *
+     * @return true, if the remaining empty regions can not be covered leaving exactly one empty cell.
+     */
+    public final boolean isDeadPosition() {
+        if (deadCheckedFor != emptyCells) {
+            deadPosition = RegionAnalysis.isDead(emptyCells);
+            deadCheckedFor = emptyCells;
+        }
+        return deadPosition;
+    }
+
     /**
      * Checks whether the left and right neighbors, of the given {@link Cell} are empty.
      * Similar to {@link #areHorizontalNeighborsEmpty(int, int) areVerticalNeighborsEmpty}.
@@ -118,9 +240,8 @@ public class Board {
         logger.info("checking if cell has horizontal neighbors");
         if (boardPositionX == 0 || boardPositionX == boardSize - 1)
             return false;
-        Cell rightNeighbour = cells[boardPositionX + 1][boardPositionY];
-        Cell leftNeighbour = cells[boardPositionX - 1][boardPositionY];
-        return rightNeighbour.getState() == State.EMPTY && leftNeighbour.getState() == State.EMPTY;
+        long neighbours = bit(boardPositionX + 1, boardPositionY) | bit(boardPositionX - 1, boardPositionY);
+        return (emptyCells & neighbours) == neighbours;
     }
 
     /**
@@ -135,9 +256,30 @@ public class Board {
         logger.info("checking if cell has vertical neighbors");
         if (boardPositionY == 0 || boardPositionY == boardSize - 1)
             return false;
-        Cell bottomNeighbour = cells[boardPositionX][boardPositionY + 1];
-        Cell topNeighbour = cells[boardPositionX][boardPositionY - 1];
-        return bottomNeighbour.getState() == State.EMPTY && topNeighbour.getState() == State.EMPTY;
+        long neighbours = bit(boardPositionX, boardPositionY + 1) | bit(boardPositionX, boardPositionY - 1);
+        return (emptyCells & neighbours) == neighbours;
+    }
+
+    /**
+     * Returns the cells which can be the center of a horizontal domino, meaning that both the cell and its left and
+     * right neighbors are empty.
+     *
+     * @param empty The bitboard of the {@link State EMPTY} cells.
+     * @return the bitboard of the possible horizontal domino centers.
+     */
+    public static long horizontalCenters(long empty) {
+        return empty & (empty << 8) & (empty >>> 8);
+    }
+
+    /**
+     * Returns the cells which can be the center of a vertical domino, meaning that both the cell and its under and
+     * above neighbors are empty.
+     *
+     * @param empty The bitboard of the {@link State EMPTY} cells.
+     * @return the bitboard of the possible vertical domino centers.
+     */
+    public static long verticalCenters(long empty) {
+        return empty & (empty << 1) & (empty >>> 1) & VERTICAL_CENTERS;
     }
 
     /**
@@ -149,9 +291,7 @@ public class Board {
      */
     public void setVerticalDomino(int positionX, int positionY) {
         logger.info("Placing vertical domino");
-        numOfEmptyCells -= 3;
-        for (int j = positionY - 1; j <= positionY + 1; j++)
-            cells[positionX][j].setState(State.DOMINO);
+        place(Placements.of(Direction.VERTICAL, positionX, positionY));
     }
 
 
@@ -164,9 +304,227 @@ public class Board {
      */
     public void setHorizontalDomino(int positionX, int positionY) {
         logger.info("Placing horizontal domino");
+        place(Placements.of(Direction.HORIZONTAL, positionX, positionY));
+    }
+
+    /**
+     * Places the 3x1{@link Cell}(Domino) with the given move id, without checking whether it is legal.
+     *
+     * @param moveId The id of the placement, see {@link Placements}.
+     */
+    public void place(int moveId) {
+        long mask = Placements.mask(moveId);
         numOfEmptyCells -= 3;
-        for (int i = positionX - 1; i <= positionX + 1; i++)
-            cells[i][positionY].setState(State.DOMINO);
+        if ((emptyCells & mask) == mask)
+            zobristKey ^= PositionHash.moveKey(moveId);
+        else
+            zobristKey = PositionHash.zobrist(emptyCells & ~mask);
+        emptyCells &= ~mask;
+        legalHorizontal &= ~Placements.conflictsHorizontal(moveId);
+        legalVertical &= ~Placements.conflictsVertical(moveId);
+        if (cells != null)
+            updateCells(mask, State.DOMINO);
+    }
+
+    /**
+     * Takes back the 3x1{@link Cell}(Domino) with the given move id, which must have been the last one placed
+     * with {@link #place(int)}.
+     *
+     * @param moveId The id of the placement, see {@link Placements}.
+     */
+    public void undo(int moveId) {
+        numOfEmptyCells += 3;
+        emptyCells |= Placements.mask(moveId);
+        zobristKey ^= PositionHash.moveKey(moveId);
+        for (long rest = Placements.conflictsHorizontal(moveId); rest != 0; rest &= rest - 1) {
+            int other = Long.numberOfTrailingZeros(rest);
+            if ((emptyCells & Placements.mask(other)) == Placements.mask(other))
+                legalHorizontal |= 1L << other;
+        }
+        for (long rest = Placements.conflictsVertical(moveId); rest != 0; rest &= rest - 1) {
+            int other = Long.numberOfTrailingZeros(rest);
+            if ((emptyCells & Placements.mask(Placements.HORIZONTAL_COUNT + other))
+                    == Placements.mask(Placements.HORIZONTAL_COUNT + other))
+                legalVertical |= 1L << other;
+        }
+        if (cells != null)
+            updateCells(Placements.mask(moveId), State.EMPTY);
+    }
+
+    /**
+     * Checks whether the placement with the given move id fits on the empty cells of the board.
+     *
+     * @param moveId The id of the placement, see {@link Placements}.
+     * @return true, if all three cells of the placement are empty.
+     */
+    public final boolean isLegal(int moveId) {
+        if (moveId < Placements.HORIZONTAL_COUNT)
+            return (legalHorizontal >>> moveId & 1) != 0;
+        return (legalVertical >>> (moveId - Placements.HORIZONTAL_COUNT) & 1) != 0;
+    }
+
+    /**
+     * Checks whether there is still enough space for at least one domino placement.
+     *
+     * @return true, if there is at least one legal placement.
+     */
+    public final boolean hasLegalMove() {
+        return (legalHorizontal | legalVertical) != 0;
+    }
+
+    /**
+     * Returns the number of the currently legal placements.
+     *
+     * @return the number of legal placements.
+     */
+    public final int getNumOfLegalMoves() {
+        return Long.bitCount(legalHorizontal) + Long.bitCount(legalVertical);
+    }
+
+    /**
+     * Returns the first legal placement, having a move id not less than the given one. Iterating the legal placements
+     * looks like {@code for (int m = nextLegalMove(0); m >= 0; m = nextLegalMove(m + 1))}.
+     *
+     * @param from The smallest move id to consider.
+     * @return the move id of the next legal placement, or -1 if there is none.
+     */
+    public final int nextLegalMove(int from) {
+        if (from < Placements.HORIZONTAL_COUNT) {
+            long rest = legalHorizontal & (-1L << from);
+            if (rest != 0)
+                return Long.numberOfTrailingZeros(rest);
+            from = Placements.HORIZONTAL_COUNT;
+        }
+        if (from < Placements.COUNT) {
+            long rest = legalVertical & (-1L << (from - Placements.HORIZONTAL_COUNT));
+            if (rest != 0)
+                return Placements.HORIZONTAL_COUNT + Long.numberOfTrailingZeros(rest);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the legal placement with the given index, in increasing order of the move ids.
+     *
+     * @param index The index of the placement, less than {@link #getNumOfLegalMoves()}.
+     * @return the move id of the placement.
+     */
+    public final int legalMove(int index) {
+        long rest = legalHorizontal;
+        int offset = 0;
+        int horizontal = Long.bitCount(rest);
+        if (index >= horizontal) {
+            index -= horizontal;
+            rest = legalVertical;
+            offset = Placements.HORIZONTAL_COUNT;
+        }
+        for (; index > 0; index--)
+            rest &= rest - 1;
+        return offset + Long.numberOfTrailingZeros(rest);
+    }
+
+    /**
+     * Takes back every placement, keeping the dots and the {@link State BLOCKED} cells, so the board can be reused
+     * for a new game.
+     */
+    public void clear() {
+        this.direction = Direction.HORIZONTAL;
+        this.startTime = System.nanoTime();
+        resetCells(~blockedCells);
+    }
+
+    /**
+     * Takes an immutable snapshot of the current position in O(1), sharing the dots with the board. It reads the
+     * fields of the board without synchronization, so it must be called by the thread using the board, the snapshot
+     * can be handed to other threads afterwards.
+     *
+     * @return the snapshot of the position.
+     */
+    public BoardSnapshot snapshot() {
+        dotsShared = true;
+        return new BoardSnapshot(seed, emptyCells, blockedCells, dots, numOfEmptyCells, legalHorizontal,
+                legalVertical, zobristKey);
+    }
+
+    /**
+     * Puts the board back into the position of the given snapshot, the direction and the start time of the game are
+     * kept.
+     *
+     * @param snapshot The position to restore.
+     */
+    public void restore(BoardSnapshot snapshot) {
+        if (dots != snapshot.dots)
+            cells = null;
+        this.seed = snapshot.seed;
+        this.dots = snapshot.dots;
+        this.dotsShared = true;
+        this.emptyCells = snapshot.emptyCells;
+        this.blockedCells = snapshot.blockedCells;
+        this.numOfEmptyCells = snapshot.numOfEmptyCells;
+        this.legalHorizontal = snapshot.legalHorizontal;
+        this.legalVertical = snapshot.legalVertical;
+        this.zobristKey = snapshot.zobristKey;
+        this.deadCheckedFor = ~emptyCells;
+        if (cells != null) {
+            updateCells(emptyCells, State.EMPTY);
+            updateCells(blockedCells, State.BLOCKED);
+            updateCells(~emptyCells & ~blockedCells, State.DOMINO);
+        }
+    }
+
+    /**
+     * Turns the given {@link State EMPTY} cells into {@link State BLOCKED} obstacles, which can not be covered.
+     *
+     * @param mask The bitboard of the cells to block.
+     * @throws IllegalArgumentException if one of the cells is not empty.
+     */
+    public void block(long mask) {
+        if ((emptyCells & mask) != mask)
+            throw new IllegalArgumentException("Only empty cells can be blocked");
+        blockedCells |= mask;
+        resetCells(emptyCells & ~mask);
+        if (cells != null)
+            updateCells(mask, State.BLOCKED);
+    }
+
+    /**
+     * Sets the empty cells of the board, recomputing everything derived from them.
+     *
+     * @param empty The bitboard of the new {@link State EMPTY} cells.
+     */
+    private void resetCells(long empty) {
+        this.numOfEmptyCells = Long.bitCount(empty);
+        this.emptyCells = empty;
+        this.legalHorizontal = Placements.legalHorizontal(emptyCells);
+        this.legalVertical = Placements.legalVertical(emptyCells);
+        this.zobristKey = PositionHash.zobrist(emptyCells);
+        this.deadCheckedFor = ~emptyCells;
+        if (cells != null)
+            updateCells(emptyCells, State.EMPTY);
+    }
+
+    /**
+     * Sets the {@link State} of the materialized {@link #cells} on the given bitboard.
+     *
+     * @param mask  The bitboard of the cells to update.
+     * @param state The new {@link State} of the cells.
+     */
+    private void updateCells(long mask, State state) {
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            int index = Long.numberOfTrailingZeros(rest);
+            cells[index / boardSize][index % boardSize].setState(state);
+        }
+    }
+
+    /**
+     * Returns the bitboard containing only the cell at the given board position.
+     *
+     * @param positionX The horizontal position of the {@link Cell}.
+     * @param positionY The vertical position of the {@link Cell}.
+     * @return the single bit mask of the cell.
+     */
+    private long bit(int positionX, int positionY) {
+        return 1L << (positionX * boardSize + positionY);
     }
 
     /**
@@ -177,6 +535,7 @@ public class Board {
      */
     public Map.Entry<Integer, Integer> findCellBoardPosition(Cell cell) {
         logger.info("looking for cell");
+        Cell[][] cells = getCells();
         for (int i = 0; i < boardSize; i++)
             for (int j = 0; j < boardSize; j++)
                 if (cell == cells[j][i])
@@ -191,7 +550,7 @@ public class Board {
         logger.info("displaying the board");
         for (int i = 0; i < boardSize; i++) {
             for (int j = 0; j < boardSize; j++)
-                cells[j][i].display();
+                Cell.display(getState(j, i), " ");
             System.out.println();
         }
 
@@ -199,19 +558,12 @@ public class Board {
 
     /**
      * Draws the board illustrating the possible choices of 3x1{@link Cell}(Domino) placements.
-     * Also stores the {@link State EMPTY} cells in {@link #currentEmptyCells}.
      */
     public void displayPossiblePlacements() {
         logger.info("displaying the empty cells");
-        this.currentEmptyCells = new HashMap<>();
         for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                Cell current = cells[j][i];
-                int cellNumber = j * boardSize + i;
-                current.display(Integer.toString(cellNumber));
-                if (current.getState() == State.EMPTY)
-                    currentEmptyCells.put(cellNumber, new AbstractMap.SimpleEntry<>(j, i));
-            }
+            for (int j = 0; j < boardSize; j++)
+                Cell.display(getState(j, i), Integer.toString(j * boardSize + i));
             System.out.println();
         }
     }
@@ -226,37 +578,98 @@ public class Board {
      */
     public boolean isPlaceable(Integer start, Integer end) {
         logger.info("checking if the domino is placeable");
-        boolean result = false;
-        int x;
-        int y;
-        int sumStart = currentEmptyCells.get(start).getKey() + currentEmptyCells.get(start).getValue();
-        int sumEnd = currentEmptyCells.get(end).getKey() + currentEmptyCells.get(end).getValue();
-        if (!(Math.abs(sumStart - sumEnd) == 2))
+        if (!isEmptyCell(start) || !isEmptyCell(end))
             return false;
+        int startX = start / boardSize;
+        int startY = start % boardSize;
+        int endX = end / boardSize;
+        int endY = end % boardSize;
+        int moveId;
         if (direction == Direction.HORIZONTAL) {
-            x = Math.min(currentEmptyCells.get(start).getKey(), currentEmptyCells.get(end).getKey()) + 1;
-            y = currentEmptyCells.get(end).getValue();
-            logger.info("x: "  + x + " " + "y: " + y);
-            result =  y == currentEmptyCells.get(start).getValue() && areHorizontalNeighborsEmpty(x, y);
-            if (result) {
-                setHorizontalDomino(x, y);
-                return result;
-            }
+            if (startY != endY || Math.abs(startX - endX) != 2)
+                return false;
+            moveId = Placements.of(direction, Math.min(startX, endX) + 1, startY);
         } else {
-            x = currentEmptyCells.get(end).getKey();
-            y = Math.min(currentEmptyCells.get(start).getValue(), currentEmptyCells.get(end).getValue()) + 1;
-            logger.info("x: "  + x + " " + "y: " + y);
-            result = x == currentEmptyCells.get(start).getKey() && areVerticalNeighborsEmpty(x, y);
-            if (result)
-                setVerticalDomino(x, y);
+            if (startX != endX || Math.abs(startY - endY) != 2)
+                return false;
+            moveId = Placements.of(direction, startX, Math.min(startY, endY) + 1);
         }
-        return result;
+        logger.info("placing domino: " + moveId);
+        if (!isLegal(moveId))
+            return false;
+        place(moveId);
+        return true;
+    }
+
+    /**
+     * Checks whether the cell with the given number is on the board and is {@link State EMPTY}.
+     *
+     * @param cellNumber The number of the cell, as shown by {@link #displayPossiblePlacements()}.
+     * @return true, if the cell is empty.
+     */
+    public final boolean isEmptyCell(int cellNumber) {
+        return cellNumber >= 0 && cellNumber < boardSize * boardSize && (emptyCells >>> cellNumber & 1) != 0;
     }
 
+    /**
+     * Returns the {@link Cell}s of the board, creating them from the bitboard on the first call.
+     * The returned cells follow the dominos placed on the board afterwards.
+     *
+     * @return the cells of the board, indexed by their horizontal and vertical position.
+     */
     public final Cell[][] getCells() {
+        if (cells == null) {
+            Cell[][] view = new Cell[boardSize][boardSize];
+            for (int i = 0; i < boardSize; i++)
+                for (int j = 0; j < boardSize; j++)
+                    view[i][j] = new Cell(j, i, getState(i, j), dots[i * boardSize + j]);
+            cells = view;
+        }
         return cells;
     }
 
+    /**
+     * Returns the {@link State} of the cell at the given board position.
+     *
+     * @param positionX The horizontal position of the {@link Cell}.
+     * @param positionY The vertical position of the {@link Cell}.
+     * @return {@link State#EMPTY} if no domino covers the cell, {@link State#BLOCKED} for an obstacle,
+     * {@link State#DOMINO} otherwise.
+     */
+    public final State getState(int positionX, int positionY) {
+        long bit = bit(positionX, positionY);
+        if ((emptyCells & bit) != 0)
+            return State.EMPTY;
+        return (blockedCells & bit) != 0 ? State.BLOCKED : State.DOMINO;
+    }
+
+    /**
+     * Returns the bitboard of the {@link State EMPTY} cells.
+     *
+     * @return {@link #emptyCells}.
+     */
+    public final long getEmptyMask() {
+        return emptyCells;
+    }
+
+    /**
+     * Returns the bitboard of the {@link State BLOCKED} cells.
+     *
+     * @return {@link #blockedCells}.
+     */
+    public final long getBlockedMask() {
+        return blockedCells;
+    }
+
+    /**
+     * Returns the Zobrist hash of the current position, updated incrementally with every placement.
+     *
+     * @return the hash of the {@link State} grid.
+     */
+    public final long getZobristKey() {
+        return zobristKey;
+    }
+
     /**
      * Returns the current {@link Direction}.
      *
@@ -279,16 +692,78 @@ public class Board {
         return TimeUnit.SECONDS.convert((endTime - startTime), TimeUnit.NANOSECONDS);
     }
 
+    /**
+     * Returns the score of the game, according to the given {@link ScoringMode}.
+     *
+     * @param mode The way of scoring the game.
+     * @return the time of the game in seconds, the sum of the dots of the covered cells, or the number of dots of the
+     * hole left by a victory (0 if the game was lost).
+     */
+    public final long getScore(ScoringMode mode) {
+        switch (mode) {
+            case COVERED_DOTS:
+                return getCoveredDots();
+            case HOLE_DOTS:
+                return isVictory() ? dots[Long.numberOfTrailingZeros(emptyCells)] : 0;
+            default:
+                return getScore();
+        }
+    }
+
+    /**
+     * Returns the sum of the dots of the cells covered by dominos.
+     *
+     * @return the sum of the dots of the {@link State#DOMINO} cells.
+     */
+    public final int getCoveredDots() {
+        int result = 0;
+        for (long rest = ~emptyCells & ~blockedCells; rest != 0; rest &= rest - 1)
+            result += dots[Long.numberOfTrailingZeros(rest)];
+        return result;
+    }
+
+    /**
+     * Returns the number of dots of the cell with the given number.
+     *
+     * @param cellNumber The number of the cell, as shown by {@link #displayPossiblePlacements()}.
+     * @return the number of dots of the cell.
+     */
+    public final int getNumOfDots(int cellNumber) {
+        return dots[cellNumber];
+    }
+
+    /**
+     * Returns the number of dots of every cell, indexed by the cell numbers.
+     *
+     * @return a copy of {@link #dots}.
+     */
+    public final int[] getDots() {
+        return dots.clone();
+    }
+
+    /**
+     * Returns the number of dots of every cell, counting 0 for the {@link State BLOCKED} cells, which can never be
+     * covered.
+     *
+     * @return a copy of {@link #dots}, without the dots of the blocked cells.
+     */
+    public final int[] getCoverableDots() {
+        int[] result = dots.clone();
+        for (long rest = blockedCells; rest != 0; rest &= rest - 1)
+            result[Long.numberOfTrailingZeros(rest)] = 0;
+        return result;
+    }
+
     public final void setNumOfEmptyCells(int numOfEmptyCells) {
         this.numOfEmptyCells = numOfEmptyCells;
     }
 
-    public final int getBoardSize() {
-        return boardSize;
+    public final long getSeed() {
+        return seed;
     }
 
-    public final Map<Integer, Map.Entry<Integer, Integer>> getCurrentEmptyCells() {
-        return currentEmptyCells;
+    public final int getBoardSize() {
+        return boardSize;
     }
 
 }
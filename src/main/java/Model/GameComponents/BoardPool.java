@@ -0,0 +1,99 @@
+package Model.GameComponents;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe pool of {@link Board}s, for callers creating many short-lived games.
+ * <p>
+ * The pool is a fixed array of slots, taken and filled with atomic operations, so it never blocks. Each thread
+ * starts probing at a slot derived from its id, which spreads the threads over the array. A released board is dropped
+ * when every slot is taken, and a new board is created when every slot is empty.
+ */
+public class BoardPool {
+
+    /**
+     * The default number of slots.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The slots holding the free boards.
+     */
+    private final AtomicReferenceArray<Board> slots;
+
+    /**
+     * Constructs a BoardPool with {@link #DEFAULT_CAPACITY} slots.
+     */
+    public BoardPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a BoardPool.
+     *
+     * @param capacity The most free boards kept by the pool.
+     */
+    public BoardPool(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("BoardPool needs at least one slot");
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Takes a board from the pool, or creates one if the pool is empty, and starts a new game on it.
+     *
+     * @param seed The seed of the dots, see {@link Board#reset(long)}.
+     * @return a board of a new game.
+     */
+    public Board acquire(long seed) {
+        int length = slots.length();
+        int start = start(length);
+        for (int i = 0; i < length; i++) {
+            int slot = (start + i) % length;
+            if (slots.get(slot) == null)
+                continue;
+            Board board = slots.getAndSet(slot, null);
+            if (board != null) {
+                board.reset(seed);
+                return board;
+            }
+        }
+        return new Board(seed);
+    }
+
+    /**
+     * Gives back a board, which is no longer used by the caller.
+     *
+     * @param board The board to give back.
+     */
+    public void release(Board board) {
+        int length = slots.length();
+        int start = start(length);
+        for (int i = 0; i < length; i++)
+            if (slots.compareAndSet((start + i) % length, null, board))
+                return;
+    }
+
+    /**
+     * Returns the number of free boards in the pool.
+     *
+     * @return the number of filled slots.
+     */
+    public int available() {
+        int result = 0;
+        for (int i = 0; i < slots.length(); i++)
+            if (slots.get(i) != null)
+                result++;
+        return result;
+    }
+
+    /**
+     * Returns the first slot probed by the current thread.
+     *
+     * @param length The number of slots.
+     * @return the index of the slot.
+     */
+    private static int start(int length) {
+        return (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L >>> 32) % length);
+    }
+}
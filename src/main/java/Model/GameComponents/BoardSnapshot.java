@@ -0,0 +1,111 @@
+package Model.GameComponents;
+
+/**
+ * Immutable snapshot of the position of a {@link Board}, taken by {@link Board#snapshot()}.
+ * <p>
+ * A snapshot copies the bitboards of the board, and shares its dots: the board copies them before changing them
+ * again (copy on write), so taking a snapshot is O(1) and does not copy the grid. Snapshots can be handed over to
+ * other threads, which can read the position or {@link #fork()} their own board from it, without synchronizing with
+ * the thread playing on the original board.
+ */
+public final class BoardSnapshot {
+
+    /**
+     * The seed the dots were drawn from.
+     */
+    final long seed;
+
+    /**
+     * The bitboard of the {@link State EMPTY} cells.
+     */
+    final long emptyCells;
+
+    /**
+     * The bitboard of the {@link State BLOCKED} cells.
+     */
+    final long blockedCells;
+
+    /**
+     * The number of dots on each cell, shared with the board and the other snapshots, never modified.
+     */
+    final int[] dots;
+
+    /**
+     * The number of empty cells.
+     */
+    final int numOfEmptyCells;
+
+    /**
+     * The set of the legal horizontal placements.
+     */
+    final long legalHorizontal;
+
+    /**
+     * The set of the legal vertical placements.
+     */
+    final long legalVertical;
+
+    /**
+     * The Zobrist hash of the position.
+     */
+    final long zobristKey;
+
+    /**
+     * Constructs a BoardSnapshot.
+     *
+     * @param seed            The seed the dots were drawn from.
+     * @param emptyCells      The bitboard of the empty cells.
+     * @param blockedCells    The bitboard of the blocked cells.
+     * @param dots            The shared dots of the cells.
+     * @param numOfEmptyCells The number of empty cells.
+     * @param legalHorizontal The set of the legal horizontal placements.
+     * @param legalVertical   The set of the legal vertical placements.
+     * @param zobristKey      The Zobrist hash of the position.
+     */
+    BoardSnapshot(long seed, long emptyCells, long blockedCells, int[] dots, int numOfEmptyCells,
+                  long legalHorizontal, long legalVertical, long zobristKey) {
+        this.seed = seed;
+        this.emptyCells = emptyCells;
+        this.blockedCells = blockedCells;
+        this.dots = dots;
+        this.numOfEmptyCells = numOfEmptyCells;
+        this.legalHorizontal = legalHorizontal;
+        this.legalVertical = legalVertical;
+        this.zobristKey = zobristKey;
+    }
+
+    /**
+     * Creates a new {@link Board} in the position of this snapshot.
+     *
+     * @return the forked board, independent of the original one.
+     */
+    public Board fork() {
+        return new Board(this);
+    }
+
+    public final long getSeed() {
+        return seed;
+    }
+
+    public final long getEmptyMask() {
+        return emptyCells;
+    }
+
+    public final long getBlockedMask() {
+        return blockedCells;
+    }
+
+    public final long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * Returns the number of dots of the cell with the given number.
+     *
+     * @param cellNumber The number of the cell.
+     * @return the number of dots of the cell.
+     */
+    public final int getNumOfDots(int cellNumber) {
+        return dots[cellNumber];
+    }
+}
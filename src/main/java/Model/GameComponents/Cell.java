@@ -1,8 +1,5 @@
 package Model.GameComponents;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import java.util.Map;
 
 /**
@@ -31,11 +28,6 @@ public class Cell {
      */
     private int numOfDots;
 
-    /**
-     * The {@link org.slf4j.Logger logger} used in this class.
-     */
-    private Logger logger = LoggerFactory.getLogger(this.getClass());
-
     /**
      * Constructs a Cell, having set number of dots, which will be used to construct a {@link Board}.
      *
@@ -45,7 +37,6 @@ public class Cell {
      * @param numOfDots The number of dots on the Cell.
      */
     public Cell(double positionX, double positionY, State state, int numOfDots) {
-        logger.info("Creating Cell");
         this.state = state;
         this.positionX = positionX;
         this.positionY = positionY;
@@ -67,7 +58,17 @@ public class Cell {
      * @param value The value shown if the cell is {@link State #EMPTY}.
      */
     public void display(String value)  {
-        System.out.printf("[%2s]", this.state == State.EMPTY ? value : "D");
+        display(state, value);
+    }
+
+    /**
+     * Drawing a cell with the given {@link State} on the console.
+     *
+     * @param state The {@link State} of the cell.
+     * @param value The value shown if the cell is {@link State #EMPTY}.
+     */
+    static void display(State state, String value) {
+        System.out.printf("[%2s]", state == State.EMPTY ? value : state == State.BLOCKED ? "X" : "D");
     }
 
     /**
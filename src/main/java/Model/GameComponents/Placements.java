@@ -0,0 +1,217 @@
+package Model.GameComponents;
+
+/**
+ * Precomputed table of every 3x1 {@link Cell}(Domino) placement on the 8x8 {@link Board}.
+ * Placements are identified by their move id, the 48 horizontal placements come first, followed by the 48 vertical
+ * ones. Cells are numbered the same way as on the {@link Board}, the cell at (x, y) has the number {@code x * 8 + y}.
+ */
+public final class Placements {
+
+    /**
+     * The number of all possible placements.
+     */
+    public static final int COUNT = 96;
+
+    /**
+     * The number of horizontal placements, these have the move ids [0, 48).
+     */
+    public static final int HORIZONTAL_COUNT = 48;
+
+    /**
+     * The width and height of the board.
+     */
+    private static final int SIZE = 8;
+
+    /**
+     * The bitboard of the three cells covered by each placement.
+     */
+    private static final long[] MASKS = new long[COUNT];
+
+    /**
+     * The cell number of the middle cell of each placement.
+     */
+    private static final int[] CENTERS = new int[COUNT];
+
+    /**
+     * The horizontal placements which share at least one cell with the given placement, stored as a set of
+     * move ids in [0, 48).
+     */
+    private static final long[] CONFLICTS_HORIZONTAL = new long[COUNT];
+
+    /**
+     * The vertical placements which share at least one cell with the given placement, stored as a set of
+     * move ids in [48, 96) shifted down by {@link #HORIZONTAL_COUNT}.
+     */
+    private static final long[] CONFLICTS_VERTICAL = new long[COUNT];
+
+    static {
+        for (int x = 1; x < SIZE - 1; x++)
+            for (int y = 0; y < SIZE; y++) {
+                int moveId = (x - 1) * SIZE + y;
+                CENTERS[moveId] = x * SIZE + y;
+                MASKS[moveId] = (1L << ((x - 1) * SIZE + y)) | (1L << (x * SIZE + y))
+                        | (1L << ((x + 1) * SIZE + y));
+            }
+        for (int x = 0; x < SIZE; x++)
+            for (int y = 1; y < SIZE - 1; y++) {
+                int moveId = HORIZONTAL_COUNT + x * (SIZE - 2) + y - 1;
+                CENTERS[moveId] = x * SIZE + y;
+                MASKS[moveId] = 7L << (x * SIZE + y - 1);
+            }
+        for (int i = 0; i < COUNT; i++)
+            for (int j = 0; j < COUNT; j++)
+                if ((MASKS[i] & MASKS[j]) != 0) {
+                    if (j < HORIZONTAL_COUNT)
+                        CONFLICTS_HORIZONTAL[i] |= 1L << j;
+                    else
+                        CONFLICTS_VERTICAL[i] |= 1L << (j - HORIZONTAL_COUNT);
+                }
+    }
+
+    /**
+     * The table is never instantiated.
+     */
+    private Placements() {
+    }
+
+    /**
+     * Returns the move id of the placement, having its middle cell at the given board position.
+     *
+     * @param direction The {@link Direction} of the placement.
+     * @param positionX The horizontal position of the middle cell.
+     * @param positionY The vertical position of the middle cell.
+     * @return the move id of the placement.
+     * @throws IllegalArgumentException if the placement would not fit on the board.
+     */
+    public static int of(Direction direction, int positionX, int positionY) {
+        if (direction == Direction.HORIZONTAL) {
+            if (positionX < 1 || positionX > SIZE - 2 || positionY < 0 || positionY >= SIZE)
+                throw new IllegalArgumentException("No horizontal placement at " + positionX + " " + positionY);
+            return (positionX - 1) * SIZE + positionY;
+        }
+        if (positionX < 0 || positionX >= SIZE || positionY < 1 || positionY > SIZE - 2)
+            throw new IllegalArgumentException("No vertical placement at " + positionX + " " + positionY);
+        return HORIZONTAL_COUNT + positionX * (SIZE - 2) + positionY - 1;
+    }
+
+    /**
+     * Returns the move id of the placement covering exactly the given cells.
+     *
+     * @param mask The bitboard of three cells.
+     * @return the move id of the placement, or -1 if the cells are not a placement.
+     */
+    public static int ofMask(long mask) {
+        int cell = Long.numberOfTrailingZeros(mask);
+        if (cell < HORIZONTAL_COUNT && MASKS[cell] == mask)
+            return cell;
+        if (cell < SIZE * SIZE && cell % SIZE < SIZE - 2) {
+            int moveId = HORIZONTAL_COUNT + cell / SIZE * (SIZE - 2) + cell % SIZE;
+            if (MASKS[moveId] == mask)
+                return moveId;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the bitboard of the cells covered by the placement.
+     *
+     * @param moveId The id of the placement.
+     * @return the three cells of the placement.
+     */
+    public static long mask(int moveId) {
+        return MASKS[moveId];
+    }
+
+    /**
+     * Returns the cell number of the middle cell of the placement.
+     *
+     * @param moveId The id of the placement.
+     * @return the cell number of the middle cell.
+     */
+    public static int center(int moveId) {
+        return CENTERS[moveId];
+    }
+
+    /**
+     * Returns the cell number of the first (left or top) cell of the placement.
+     *
+     * @param moveId The id of the placement.
+     * @return the smallest cell number covered by the placement.
+     */
+    public static int first(int moveId) {
+        return Long.numberOfTrailingZeros(MASKS[moveId]);
+    }
+
+    /**
+     * Returns the cell number of the last (right or bottom) cell of the placement.
+     *
+     * @param moveId The id of the placement.
+     * @return the largest cell number covered by the placement.
+     */
+    public static int last(int moveId) {
+        return 63 - Long.numberOfLeadingZeros(MASKS[moveId]);
+    }
+
+    /**
+     * Returns the {@link Direction} of the placement.
+     *
+     * @param moveId The id of the placement.
+     * @return {@link Direction#HORIZONTAL} for the first 48 move ids, {@link Direction#VERTICAL} otherwise.
+     */
+    public static Direction direction(int moveId) {
+        return moveId < HORIZONTAL_COUNT ? Direction.HORIZONTAL : Direction.VERTICAL;
+    }
+
+    /**
+     * Returns the horizontal placements overlapping the given placement, including itself if it is horizontal.
+     *
+     * @param moveId The id of the placement.
+     * @return the set of overlapping horizontal move ids.
+     */
+    public static long conflictsHorizontal(int moveId) {
+        return CONFLICTS_HORIZONTAL[moveId];
+    }
+
+    /**
+     * Returns the vertical placements overlapping the given placement, including itself if it is vertical.
+     *
+     * @param moveId The id of the placement.
+     * @return the set of overlapping vertical move ids, shifted down by {@link #HORIZONTAL_COUNT}.
+     */
+    public static long conflictsVertical(int moveId) {
+        return CONFLICTS_VERTICAL[moveId];
+    }
+
+    /**
+     * Returns the set of horizontal placements fitting entirely on the given empty cells.
+     *
+     * @param empty The bitboard of the {@link State EMPTY} cells.
+     * @return the set of legal horizontal move ids.
+     */
+    public static long legalHorizontal(long empty) {
+        return Board.horizontalCenters(empty) >>> SIZE;
+    }
+
+    /**
+     * Returns the set of vertical placements fitting entirely on the given empty cells.
+     *
+     * @param empty The bitboard of the {@link State EMPTY} cells.
+     * @return the set of legal vertical move ids, shifted down by {@link #HORIZONTAL_COUNT}.
+     */
+    public static long legalVertical(long empty) {
+        return verticalIds(Board.verticalCenters(empty));
+    }
+
+    /**
+     * Converts the centers of vertical placements into their move ids.
+     *
+     * @param centers The bitboard of the centers, see {@link Board#verticalCenters(long)}.
+     * @return the set of vertical move ids, shifted down by {@link #HORIZONTAL_COUNT}.
+     */
+    public static long verticalIds(long centers) {
+        long result = 0;
+        for (int x = 0; x < SIZE; x++)
+            result |= ((centers >>> (x * SIZE + 1)) & 0x3FL) << (x * (SIZE - 2));
+        return result;
+    }
+}
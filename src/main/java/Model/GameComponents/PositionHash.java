@@ -0,0 +1,142 @@
+package Model.GameComponents;
+
+import java.util.SplittableRandom;
+
+/**
+ * Hashing facility for the {@link State} grid of a {@link Board}, stored as the bitboard of the empty cells.
+ * <p>
+ * Provides Zobrist hashes, which can be updated incrementally with {@link #moveKey(int)}, and the canonical form of
+ * a position under the 8 rotations and reflections of the board.
+ */
+public final class PositionHash {
+
+    /**
+     * The number of symmetries of the board.
+     */
+    public static final int SYMMETRIES = 8;
+
+    /**
+     * The seed of the Zobrist keys, fixed so hashes are the same in every run.
+     */
+    private static final long SEED = 0x5EED_D0D1_2019L;
+
+    /**
+     * The Zobrist key of each {@link State#DOMINO} cell, combined for the 256 possible occupancies of each row.
+     */
+    private static final long[][] BYTE_KEYS = new long[8][256];
+
+    /**
+     * The Zobrist key of each placement, the combination of the keys of its three cells.
+     */
+    private static final long[] MOVE_KEYS = new long[Placements.COUNT];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] cellKeys = new long[64];
+        for (int i = 0; i < cellKeys.length; i++)
+            cellKeys[i] = random.nextLong();
+        for (int row = 0; row < 8; row++)
+            for (int occupancy = 0; occupancy < 256; occupancy++)
+                for (int bit = 0; bit < 8; bit++)
+                    if ((occupancy >>> bit & 1) != 0)
+                        BYTE_KEYS[row][occupancy] ^= cellKeys[row * 8 + bit];
+        for (int i = 0; i < Placements.COUNT; i++)
+            for (long rest = Placements.mask(i); rest != 0; rest &= rest - 1)
+                MOVE_KEYS[i] ^= cellKeys[Long.numberOfTrailingZeros(rest)];
+    }
+
+    /**
+     * The class is never instantiated.
+     */
+    private PositionHash() {
+    }
+
+    /**
+     * Computes the Zobrist hash of the position, the combination of the keys of all {@link State#DOMINO} cells.
+     *
+     * @param empty The bitboard of the {@link State EMPTY} cells.
+     * @return the Zobrist hash, 0 for the empty board.
+     */
+    public static long zobrist(long empty) {
+        long occupied = ~empty;
+        long hash = 0;
+        for (int row = 0; row < 8; row++)
+            hash ^= BYTE_KEYS[row][(int) (occupied >>> (row * 8)) & 0xFF];
+        return hash;
+    }
+
+    /**
+     * Returns the value which changes the Zobrist hash of a position, when the given placement is placed or undone.
+     *
+     * @param moveId The id of the placement, see {@link Placements}.
+     * @return the Zobrist key of the placement.
+     */
+    public static long moveKey(int moveId) {
+        return MOVE_KEYS[moveId];
+    }
+
+    /**
+     * Applies one of the symmetries of the board on the bitboard.
+     * Bit 2 of the symmetry swaps the axes, bit 1 mirrors the horizontal, bit 0 the vertical position.
+     *
+     * @param mask     The bitboard to transform.
+     * @param symmetry The symmetry in [0, 8).
+     * @return the transformed bitboard.
+     */
+    public static long transform(long mask, int symmetry) {
+        if ((symmetry & 4) != 0)
+            mask = transpose(mask);
+        if ((symmetry & 2) != 0)
+            mask = Long.reverseBytes(mask);
+        if ((symmetry & 1) != 0)
+            mask = mirror(mask);
+        return mask;
+    }
+
+    /**
+     * Returns the canonical form of the position, the smallest of its 8 symmetric copies.
+     * Equivalent positions have the same canonical form.
+     *
+     * @param mask The bitboard of the position.
+     * @return the canonical bitboard.
+     */
+    public static long canonical(long mask) {
+        long mirrored = mirror(mask);
+        long transposed = transpose(mask);
+        long transposedMirrored = mirror(transposed);
+        long result = Math.min(mask, mirrored);
+        result = Math.min(result, Long.reverseBytes(mask));
+        result = Math.min(result, Long.reverseBytes(mirrored));
+        result = Math.min(result, transposed);
+        result = Math.min(result, transposedMirrored);
+        result = Math.min(result, Long.reverseBytes(transposed));
+        return Math.min(result, Long.reverseBytes(transposedMirrored));
+    }
+
+    /**
+     * Mirrors the vertical position of each cell, reversing the bits of every row.
+     *
+     * @param mask The bitboard to transform.
+     * @return the mirrored bitboard.
+     */
+    private static long mirror(long mask) {
+        mask = ((mask >>> 1) & 0x5555555555555555L) | ((mask & 0x5555555555555555L) << 1);
+        mask = ((mask >>> 2) & 0x3333333333333333L) | ((mask & 0x3333333333333333L) << 2);
+        return ((mask >>> 4) & 0x0F0F0F0F0F0F0F0FL) | ((mask & 0x0F0F0F0F0F0F0F0FL) << 4);
+    }
+
+    /**
+     * Swaps the horizontal and vertical position of each cell.
+     *
+     * @param mask The bitboard to transform.
+     * @return the transposed bitboard.
+     */
+    private static long transpose(long mask) {
+        long t = 0x0F0F0F0F00000000L & (mask ^ (mask << 28));
+        mask ^= t ^ (t >>> 28);
+        t = 0x3333000033330000L & (mask ^ (mask << 14));
+        mask ^= t ^ (t >>> 14);
+        t = 0x5500550055005500L & (mask ^ (mask << 7));
+        return mask ^ t ^ (t >>> 7);
+    }
+}
@@ -0,0 +1,99 @@
+package Model.GameComponents;
+
+/**
+ * Connected-region analysis of the {@link State EMPTY} cells of a {@link Board}, used to recognize positions which
+ * can no longer be won, long before running out of domino placements.
+ * <p>
+ * A position is won when every empty cell but one is covered by a 3x1{@link Cell}(Domino). Dominos never cross
+ * between separate empty regions, so each region has to be covered on its own: a region of size 3k can be covered
+ * completely, a region of size 3k+1 only by keeping the hole in it, and a region of size 3k+2 never. Cells which are
+ * not part of any possible placement can only be the hole.
+ */
+public final class RegionAnalysis {
+
+    /**
+     * Mask of the cells which are not on the top row of the board.
+     */
+    private static final long NOT_TOP = 0xFEFEFEFEFEFEFEFEL;
+
+    /**
+     * Mask of the cells which are not on the bottom row of the board.
+     */
+    private static final long NOT_BOTTOM = 0x7F7F7F7F7F7F7F7FL;
+
+    /**
+     * The class is never instantiated.
+     */
+    private RegionAnalysis() {
+    }
+
+    /**
+     * Checks whether the position can no longer reach {@link Board#isVictory()}.
+     *
+     * @param empty The bitboard of the {@link State EMPTY} cells.
+     * @return true, if the position is certainly lost, false if it might still be won.
+     */
+    public static boolean isDead(long empty) {
+        return Long.bitCount(empty) % 3 != 1 || isUntileable(empty);
+    }
+
+    /**
+     * Checks whether the given cells certainly cannot be covered by dominos, leaving {@code size % 3} cells as holes.
+     *
+     * @param cells The bitboard of the cells to cover.
+     * @return true, if the cells can certainly not be covered, false if they might be.
+     */
+    public static boolean isUntileable(long cells) {
+        int holes = Long.bitCount(cells) % 3;
+        if (holes == 2)
+            return true;
+        long orphans = cells & ~coverage(cells);
+        if (Long.bitCount(orphans) > holes)
+            return true;
+        int holeRegions = 0;
+        for (long rest = cells; rest != 0; ) {
+            long region = region(rest & -rest, cells);
+            rest &= ~region;
+            int remainder = Long.bitCount(region) % 3;
+            if (remainder == 2)
+                return true;
+            if (remainder == 1)
+                holeRegions++;
+            else if ((region & orphans) != 0)
+                return true;
+            if (holeRegions > holes)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the cells which are part of at least one domino placement, fitting entirely on the given cells.
+     *
+     * @param cells The bitboard of the available cells.
+     * @return the bitboard of the coverable cells.
+     */
+    public static long coverage(long cells) {
+        long horizontal = Board.horizontalCenters(cells);
+        long vertical = Board.verticalCenters(cells);
+        return horizontal | horizontal << 8 | horizontal >>> 8 | vertical | vertical << 1 | vertical >>> 1;
+    }
+
+    /**
+     * Returns the connected region of the given cells, containing the seed, using a bit-parallel flood fill.
+     *
+     * @param seed  The bitboard of the starting cells, these must be part of the cells.
+     * @param cells The bitboard of the cells which can be part of the region.
+     * @return the bitboard of the region.
+     */
+    public static long region(long seed, long cells) {
+        long region = seed;
+        while (true) {
+            long grown = (region | region << 8 | region >>> 8 | (region << 1 & NOT_TOP) | (region >>> 1 & NOT_BOTTOM))
+                    & cells;
+            if (grown == region)
+                return region;
+            region = grown;
+        }
+    }
+}
@@ -1,44 +1,81 @@
 package Model.GameComponents;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import Model.Scores.ConcurrentScoreIngester;
+import Model.Scores.LeaderboardPeriod;
+import Model.Scores.PartitionedLeaderboard;
+import Model.Scores.RankIndex;
+import Model.Scores.ScoreArchive;
+import Model.Scores.ScoreEntry;
+import Model.Scores.ScoreFileTail;
+import Model.Scores.ScoreFileWatcher;
+import Model.Scores.ScoreJsonLoader;
+import Model.Scores.ScoreLog;
+import Model.Scores.TopKLeaderboard;
+import Model.Scores.WriteBehindPersister;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
-import java.lang.reflect.Type;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
+import java.util.stream.Collector;
 
 /**
  * Class representing the scoreboard.
+ * <p>
+ * The results of the JSON score file {@code top.json} of the board's directory and the results of the
+ * {@link ScoreLog} are ranked separately. The file is watched, and when records are appended to it only these are
+ * parsed, see {@link ScoreFileTail}. The board appends its own new results to the file when they are exported,
+ * without loading them again. The process-wide board returned by {@link #shared()} loads everything once, and serves
+ * the display and the rank queries from memory afterwards.
  */
 public class ScoreBoard {
 
     /**
-     * Constant field storing the maximum number of result.
+     * Ranks the results achieved by the players, results may be added by many threads at once.
      */
-    private final int MAX = 10;
+    private final ConcurrentScoreIngester ingester;
     /**
-     * Collection of {@link Player}, containt the top scoring players.
+     * The best results of each day, for the daily and weekly leaderboards.
      */
-    List<Player> wrapper;
+    private final PartitionedLeaderboard partitions;
     /**
-     * Map containing the player's name and the achieved score.
+     * The ranking of the results in the JSON score file, replaced as a whole when the file changes.
      */
-    private Map<String, Long> results;
+    private volatile Ranking fileResults;
     /**
-     * The minimum score which is still part of the top ten results.
+     * Watches the JSON score file, null if the results are kept only in memory.
      */
-    private Long currentMin;
+    private ScoreFileWatcher watcher;
     /**
-     * The player's name with the current lowest score.
+     * The parsed part of the JSON score file, null if the results are kept only in memory.
      */
-    private String currentMinPlayer;
-
+    private ScoreFileTail scoreFile;
+    /**
+     * Serializes the loads of the JSON score file, and the exports to it.
+     */
+    private final Object fileLock = new Object();
+    /**
+     * The number of times each result was exported to the JSON score file by this board, guarded by
+     * {@link #fileLock}. These results are already ranked by the {@link #ingester}, so reloading the file skips them.
+     */
+    private final Map<ScoreEntry, Integer> exported = new HashMap<>();
+    /**
+     * The results recorded by {@link #updateResults(String, Long)} since the last export, guarded by itself.
+     */
+    private final List<ScoreEntry> unexported = new ArrayList<>();
+    /**
+     * The log storing every result, null if the results are not persisted.
+     */
+    private volatile ScoreLog log;
+    /**
+     * Writes the new results to the {@link #log} in the background, null if the results are not persisted.
+     */
+    private volatile WriteBehindPersister persister;
     /**
      * The file's name which contains the results obtained by players.
      */
@@ -52,174 +89,374 @@ public class ScoreBoard {
     ;
 
     /**
-     * Constructs a new ScoreBoard to showcase the top scores achieved by players.
+     * Returns the process-wide scoreboard, which is constructed on the first call and closed when the JVM shuts
+     * down.
+     *
+     * @return the shared scoreboard.
+     */
+    public static ScoreBoard shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Constructs a new ScoreBoard to showcase the top {@link TopKLeaderboard#DEFAULT_CAPACITY} scores achieved by
+     * players.
      */
     public ScoreBoard() {
+        this(TopKLeaderboard.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new ScoreBoard to showcase the top scores achieved by players, persisting the results in the
+     * {@code top} directory of the working directory.
+     *
+     * @param capacity The number of scores shown.
+     */
+    public ScoreBoard(int capacity) {
+        this(capacity, FileSystems.getDefault().getPath("").toAbsolutePath().resolve("top"));
+    }
+
+    /**
+     * Constructs a new ScoreBoard to showcase the top scores achieved by players.
+     *
+     * @param capacity  The number of scores shown.
+     * @param directory The directory of the JSON score file and of the {@link ScoreLog} persisting the results, null
+     *                  to keep the results only in memory.
+     */
+    public ScoreBoard(int capacity, Path directory) {
         logger.info("Constructing the scoreboard scene");
-        this.results = new HashMap<>();
-        wrapper = new ArrayList<Player>();
-        loadTopResults();
-        List<String> orderedResults = orderResults();
+        this.ingester = new ConcurrentScoreIngester(capacity, RankIndex.DEFAULT_MAX_SCORE,
+                ConcurrentScoreIngester.DEFAULT_DRAIN_MILLIS);
+        this.partitions = new PartitionedLeaderboard(capacity, PartitionedLeaderboard.DEFAULT_SEGMENT_MILLIS,
+                directory == null ? null : directory.resolve("segments"));
+        Map<ScoreEntry, Integer> filed = loadTopResults(directory);
+        if (directory != null)
+            recoverResults(directory, filed);
+        ingester.flush();
     }
 
     /**
-     * Loads the top results achieved by player, from a JSON file.
+     * Loads the results of the JSON score file of the directory, streaming the records straight into the ranking
+     * structures, and watches the file for changes. If the file does not exist yet, it is created from the
+     * {@code top.json} resource. Without a directory only the resource is loaded.
+     *
+     * @param directory The directory of the score file, null to load the resource only.
+     * @return the number of times each result having a timestamp occurs in the file, earlier runs exported these
+     * from the {@link ScoreLog}.
      */
-    private void loadTopResults() {
+    private Map<ScoreEntry, Integer> loadTopResults(Path directory) {
         logger.info("loading the scoreboard based on previous results");
+        Map<ScoreEntry, Integer> timestamped = new HashMap<>();
+        Ranking ranking = new Ranking(ingester.getCapacity(), ingester.getMaxScore());
+        fileResults = ranking;
+        URL resource = getClass().getResource("/" + fileName);
+        if (directory == null) {
+            if (resource != null)
+                try (Reader reader = new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8)) {
+                    new ScoreJsonLoader().load(reader, ranking::add);
+                } catch (IOException e) {
+                    logger.error("Results can not be loaded: {}", e.toString());
+                    fileResults = new Ranking(ingester.getCapacity(), ingester.getMaxScore());
+                }
+            return timestamped;
+        }
+        Path file = directory.resolve(fileName);
         try {
-            Gson gson = new Gson();
-            InputStream input = getClass().getResourceAsStream("/top.json");
-            Type listType = new TypeToken<List<Player>>() {
-            }.getType();
-            wrapper = gson.fromJson(new InputStreamReader(input), listType);
-            if (wrapper == null)
-                return;
-            for (Player player : wrapper) {
-                update(player);
+            if (Files.notExists(file)) {
+                Files.createDirectories(directory);
+                if (resource != null)
+                    try (InputStream input = resource.openStream()) {
+                        Files.copy(input, file);
+                    }
+                else
+                    Files.write(file, "[]".getBytes(StandardCharsets.UTF_8));
+                logger.info("File {} created", file);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+            ScoreFileTail tail = new ScoreFileTail(file);
+            tail.load(entry -> {
+                ranking.add(entry);
+                if (entry.getTimestamp() != 0)
+                    timestamped.merge(entry, 1, Integer::sum);
+            });
+            scoreFile = tail;
+            watcher = new ScoreFileWatcher(file, this::reloadTopResults);
+        } catch (IOException e) {
+            logger.error("Results can not be loaded from {}: {}", file, e.toString());
+            fileResults = new Ranking(ingester.getCapacity(), ingester.getMaxScore());
+            timestamped.clear();
         }
+        return timestamped;
     }
 
     /**
-     * Updates the scoreboard.
-     *
-     * @param player The player object which contains both the player name and score.
-     */
-    private void update(Player player) {
-        String name = player.name;
-        Long score = player.score;
-        if (results.size() < MAX || score < currentMin) {
-            results.put(name, score);
-            updateMin(results);
+     * Picks up a change of the JSON score file. If records were only appended, just these are parsed and added to
+     * the ranking of the file, otherwise the ranking is rebuilt, skipping the results exported by this board. The
+     * results of the {@link ScoreLog} are not touched. If the file can not be parsed, for example while it is being
+     * written, the previous ranking is kept.
+     */
+    private void reloadTopResults() {
+        int capacity = ingester.getCapacity();
+        int maxScore = ingester.getMaxScore();
+        synchronized (fileLock) {
+            try {
+                Ranking appended = new Ranking(capacity, maxScore);
+                if (scoreFile.loadAppended(appended::add)) {
+                    if (appended.rankIndex.size() > 0)
+                        fileResults = new Ranking(capacity, maxScore).merge(fileResults).merge(appended);
+                    return;
+                }
+                Map<ScoreEntry, Integer> skipped = new HashMap<>(exported);
+                Ranking ranking = new Ranking(capacity, maxScore);
+                scoreFile.load(entry -> {
+                    if (!take(skipped, entry))
+                        ranking.add(entry);
+                });
+                fileResults = ranking;
+            } catch (IOException e) {
+                logger.warn("Results can not be reloaded from {}: {}", scoreFile.getFile(), e.toString());
+            }
         }
-        if (results.size() > MAX)
-            results.remove(currentMinPlayer);
     }
 
     /**
-     * Updates {@link #currentMin} and {@link #currentMinPlayer}.
+     * Removes one occurrence of a result from a multiset.
+     *
+     * @param counts The number of times each result occurs.
+     * @param entry  The result.
+     * @return true, if the result occurred.
+     */
+    private static boolean take(Map<ScoreEntry, Integer> counts, ScoreEntry entry) {
+        Integer count = counts.get(entry);
+        if (count == null)
+            return false;
+        if (count == 1)
+            counts.remove(entry);
+        else
+            counts.put(entry, count - 1);
+        return true;
+    }
+
+    /**
+     * Imports the results of a JSON score file or a {@link ScoreArchive}, which may be too large to hold in memory.
+     * Large JSON files are parsed in parallel chunks, see {@link ScoreJsonLoader}.
      *
-     * @param results The {@link HashMap} containing the player - score {@link Map.Entry}s.
-     */
-    private void updateMin(Map<String, Long> results) {
-        Long min = Long.MIN_VALUE;
-        String minPlayer = "";
-        for (Map.Entry<String, Long> temp : results.entrySet()) {
-            Long tempValue = temp.getValue();
-            String tempName = temp.getKey();
-            if (tempValue > min) {
-                min = tempValue;
-                minPlayer = tempName;
+     * @param file The JSON file or the archive.
+     * @return the number of results imported.
+     * @throws IOException if the file can not be read, or it is not a score file.
+     */
+    public long importResults(Path file) throws IOException {
+        int capacity = ingester.getCapacity();
+        int maxScore = ingester.getMaxScore();
+        if (ScoreArchive.isArchive(file))
+            try (ScoreArchive archive = new ScoreArchive(file)) {
+                Ranking imported = new Ranking(capacity, maxScore);
+                archive.scan(imported::add);
+                ingester.merge(imported.leaderboard, imported.rankIndex);
+                return archive.size();
             }
+        ScoreJsonLoader loader = new ScoreJsonLoader();
+        Ranking imported = loader.load(file, Collector.of(() -> new Ranking(capacity, maxScore), Ranking::add,
+                Ranking::merge));
+        ingester.merge(imported.leaderboard, imported.rankIndex);
+        return loader.getRecords();
+    }
+
+    /**
+     * Replays the results stored in the {@link ScoreLog}, and keeps the log open for the new results. The results
+     * exported to the JSON score file by an earlier run are already ranked with the file, so they are only offered to
+     * the daily leaderboards.
+     *
+     * @param directory The directory of the log.
+     * @param filed     The number of times each result having a timestamp occurs in the score file.
+     */
+    private void recoverResults(Path directory, Map<ScoreEntry, Integer> filed) {
+        try {
+            log = new ScoreLog(directory);
+            log.recover(entry -> {
+                if (!take(filed, entry))
+                    ingester.add(entry);
+                if (entry.getTimestamp() > 0)
+                    partitions.offer(entry);
+            });
+            persister = new WriteBehindPersister(log);
+        } catch (IOException e) {
+            logger.error("Results can not be recovered from {}: {}", directory, e.toString());
+            log = null;
         }
-        currentMin = min;
-        currentMinPlayer = minPlayer;
     }
 
     /**
-     * Orders the results achieved by the players, and creates the String List containing the ordered results.
+     * Offers a result to the ranking structures.
      *
-     * @return The player names and the scores ordered by score.
+     * @param entry The result.
+     */
+    private void rank(ScoreEntry entry) {
+        ingester.add(entry);
+        if (entry.getTimestamp() > 0)
+            partitions.offer(entry);
+    }
+
+    /**
+     * Returns the ordered results achieved by the players.
+     *
+     * @return the player names and the scores ordered by score.
      */
     private List<String> orderResults() {
-        LinkedList<String> result = new LinkedList<>();
-        Map<String, Long> temp = new HashMap<>(results);
-        String minPlayer = currentMinPlayer;
-        Long min = currentMin;
-        int size = temp.size();
-        for (int i = 0; i < size; i++) {
-            result.addFirst(currentMinPlayer + " " + currentMin);
-            temp.remove(currentMinPlayer);
-            updateMin(temp);
-        }
-        this.currentMin = min;
-        this.currentMinPlayer = minPlayer;
+        List<ScoreEntry> top = topResults();
+        List<String> result = new ArrayList<>(top.size());
+        for (ScoreEntry entry : top)
+            result.add(entry.getName() + " " + entry.getScore());
+        return result;
+    }
+
+    /**
+     * Merges the best results of the JSON score file and of the {@link ScoreLog}.
+     *
+     * @return the best results, the best first, results of the file first among equal scores.
+     */
+    List<ScoreEntry> topResults() {
+        List<ScoreEntry> first = fileResults.leaderboard.top();
+        List<ScoreEntry> second = ingester.snapshot().getTop();
+        int capacity = ingester.getCapacity();
+        List<ScoreEntry> result = new ArrayList<>(capacity);
+        int i = 0;
+        int j = 0;
+        while (result.size() < capacity && (i < first.size() || j < second.size()))
+            if (j == second.size() || i < first.size() && first.get(i).getScore() <= second.get(j).getScore())
+                result.add(first.get(i++));
+            else
+                result.add(second.get(j++));
         return result;
     }
 
     /**
-     * Updates the JSON file, which stores the previous results.
+     * Records a new result: it is ranked at once, and written to the {@link ScoreLog} in the background by the
+     * {@link WriteBehindPersister}. The call only waits, when the queue of the persister is full.
      *
      * @param name  The name of the player.
      * @param score The score achieved by the player.
      */
     public void updateResults(String name, Long score) {
-        Gson gson = new Gson();
-        loadTopResults();
-        wrapper.add(new Player(name, score));
-        FileWriter writer = null;
-
+        ScoreEntry entry = new ScoreEntry(name, score, System.currentTimeMillis());
+        rank(entry);
+        synchronized (unexported) {
+            unexported.add(entry);
+        }
+        WriteBehindPersister persister = this.persister;
+        if (persister == null)
+            return;
         try {
-            ClassLoader classLoader = getClass().getClassLoader();
-            File resultJson = new File(pathToTopResults());
-            writer = new FileWriter(resultJson, false);
-            writer.write(fileName);
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
-            if (writer != null) {
-                try {
-                    writer.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+            persister.submit(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Result of {} can not be stored, the thread was interrupted", name);
+        } catch (IllegalStateException e) {
+            logger.error("Result of {} can not be stored, the scoreboard is closed", name);
+        }
+    }
+
+    /**
+     * Appends the results recorded since the last export to the JSON score file. Changes made to the file by others
+     * are loaded first, and the file is replaced atomically, so a crash never leaves it half written. The watcher does
+     * not load the exported results again. It is called when the scoreboard is closed, the {@link ScoreLog} is the
+     * primary storage of the results.
+     */
+    public void exportResults() {
+        if (scoreFile == null)
+            return;
+        List<ScoreEntry> pending;
+        synchronized (unexported) {
+            pending = new ArrayList<>(unexported);
+        }
+        if (pending.isEmpty())
+            return;
+        synchronized (fileLock) {
+            reloadTopResults();
+            try {
+                scoreFile.append(pending);
+            } catch (IOException e) {
+                logger.error("Results can not be exported: {}", e.toString());
+                return;
             }
+            for (ScoreEntry entry : pending)
+                exported.merge(entry, 1, Integer::sum);
+            watcher.acknowledge();
+        }
+        synchronized (unexported) {
+            unexported.subList(0, pending.size()).clear();
         }
+    }
 
+    /**
+     * Drains the pending results, writes them to the {@link ScoreLog}, exports the new results and closes the log.
+     * New results are kept only in memory afterwards.
+     */
+    public void close() {
+        ingester.close();
+        if (watcher != null)
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                logger.error("Score file watcher can not be closed: {}", e.toString());
+            }
+        WriteBehindPersister persister = this.persister;
+        ScoreLog log = this.log;
+        this.persister = null;
+        this.log = null;
+        if (persister != null)
+            persister.close();
+        exportResults();
+        if (log != null)
+            try {
+                log.close();
+            } catch (IOException e) {
+                logger.error("Result log can not be closed: {}", e.toString());
+            }
     }
 
     /**
-     * Append's the {@link #wrapper}, with the new result.
+     * Offers a new result to the ranking structures, without storing it. It never waits for other threads, and the
+     * result becomes visible with the next drain of the {@link ConcurrentScoreIngester}.
      *
      * @param name  The player's name.
      * @param score The player's score.
      */
     public void addResult(String name, Long score) {
-        if (this.wrapper != null)
-            wrapper.add(new Player(name, score));
-        else {
-            wrapper = new ArrayList<Player>();
-            wrapper.add(new Player(name, score));
-        }
+        rank(new ScoreEntry(name, score, System.currentTimeMillis()));
     }
 
+    /**
+     * Returns the rank of a score among every result achieved so far.
+     *
+     * @param score The score.
+     * @return the rank, 1 for the best score.
+     */
+    public long rankOf(long score) {
+        return ingester.rankOf(score) + fileResults.rankIndex.rankOf(score) - 1;
+    }
 
     /**
-     * Returns the path to the json file which holds the information about the scores of the players.
+     * Returns the percentage of the results, which are not worse than the given score.
      *
-     * @return the path to the top.json file.
+     * @param score The score.
+     * @return the percentage between 0 and 100.
      */
-    private String pathToTopResults() {
-        String result = new String();
-        try {
-            Path workingDirectory = FileSystems.getDefault().getPath("").toAbsolutePath();
-            result = workingDirectory.toString() + File.separator + "top" + File.separator;
-        } catch (Exception e) {
-            logger.error(e.toString());
-        }
-        File directory = new File(result);
-        if (directory.mkdir()) {
-            logger.info("Directory {} created", result);
-        }
+    public double topPercent(long score) {
+        Ranking file = fileResults;
+        long logged = ingester.snapshot().size();
+        long total = logged + file.rankIndex.size();
+        if (total == 0)
+            return 100;
+        return (ingester.topPercent(score) * logged + file.rankIndex.topPercent(score) * file.rankIndex.size()) / total;
+    }
 
-        try {
-            result = result + "top.json";
-            Path dest = Paths.get(result);
-            if (Files.notExists(dest)) {
-                Files.createFile(Paths.get(result));
-                logger.info("File {} created", result);
-            } else {
-                logger.info("{} already exists", result);
-            }
-        } catch (IOException e) {
-            logger.error(e.toString());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return result;
+    /**
+     * Returns the number of results achieved so far.
+     *
+     * @return the number of ranked results.
+     */
+    public long getNumOfResults() {
+        return ingester.snapshot().size() + fileResults.rankIndex.size();
     }
 
 
@@ -234,29 +471,86 @@ public class ScoreBoard {
     }
 
     /**
-     * Inner class, which will be used to wrap JSON objects.
+     * Holder of the process-wide scoreboard, constructed when it is first used.
+     */
+    private static final class Shared {
+        /**
+         * The process-wide scoreboard.
+         */
+        private static final ScoreBoard INSTANCE = create();
+
+        /**
+         * Constructs the process-wide scoreboard, and closes it when the JVM shuts down.
+         *
+         * @return the scoreboard.
+         */
+        private static ScoreBoard create() {
+            ScoreBoard result = new ScoreBoard();
+            Runtime.getRuntime().addShutdownHook(new Thread(result::close, "scoreboard-close"));
+            return result;
+        }
+    }
+
+    /**
+     * The ranking structures of a score file, or a chunk of it.
      */
-    private class Player {
+    private static final class Ranking {
         /**
-         * The score achieved by the player.
+         * The best results of the chunk.
          */
-        public Long score;
+        private final TopKLeaderboard leaderboard;
 
         /**
-         * The name of the player.
+         * Every result of the chunk.
          */
-        public String name;
+        private final RankIndex rankIndex;
 
         /**
-         * Constructs the wrapper object.
+         * Constructs an empty Ranking.
          *
-         * @param name  The player name.
-         * @param score The player score.
+         * @param capacity The number of places of the leaderboard.
+         * @param maxScore The largest score of the rank index.
          */
-        public Player(String name, Long score) {
-            this.name = name;
-            this.score = score;
+        Ranking(int capacity, int maxScore) {
+            leaderboard = new TopKLeaderboard(capacity);
+            rankIndex = new RankIndex(maxScore);
+        }
+
+        /**
+         * Adds a result.
+         *
+         * @param entry The result.
+         */
+        void add(ScoreEntry entry) {
+            leaderboard.offer(entry);
+            rankIndex.add(entry.getScore());
+        }
+
+        /**
+         * Adds the results of the following chunk.
+         *
+         * @param other The ranking of the following chunk.
+         * @return this ranking.
+         */
+        Ranking merge(Ranking other) {
+            leaderboard.merge(other.leaderboard);
+            rankIndex.merge(other.rankIndex);
+            return this;
         }
     }
 
+    /**
+     * Display's the top scores obtained by players in a period.
+     *
+     * @param period The period, {@link LeaderboardPeriod#ALL_TIME} for every result.
+     */
+    public void display(LeaderboardPeriod period) {
+        if (period == LeaderboardPeriod.ALL_TIME) {
+            display();
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (ScoreEntry entry : partitions.top(period.start(now), now + 1, ingester.getCapacity()))
+            System.out.println(entry);
+    }
 }
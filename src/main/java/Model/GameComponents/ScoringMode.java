@@ -0,0 +1,22 @@
+package Model.GameComponents;
+
+/**
+ * Enum representing the possible ways of scoring a finished game.
+ */
+public enum ScoringMode {
+
+    /**
+     * The score is the time of the game in seconds, lower is better.
+     */
+    TIME,
+
+    /**
+     * The score is the sum of the dots of the cells covered by dominos, higher is better.
+     */
+    COVERED_DOTS,
+
+    /**
+     * The score is the number of dots of the single empty cell left by a victory, higher is better.
+     */
+    HOLE_DOTS
+}
@@ -13,5 +13,10 @@ public enum State {
     /**
      * Represents a filled cell, which is part of a Domino.
      */
-    DOMINO
+    DOMINO,
+
+    /**
+     * Represents an obstacle cell of a puzzle, which can not be covered.
+     */
+    BLOCKED
 }
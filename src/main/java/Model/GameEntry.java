@@ -1,6 +1,15 @@
 package Model;
 
 import Model.GameComponents.Board;
+import Model.GameComponents.ScoringMode;
+import Model.Scores.ScoreArchiveWriter;
+import Model.Simulation.GreedyPolicy;
+import Model.Simulation.PuzzleGenerator;
+import Model.Simulation.RandomPolicy;
+import Model.Simulation.SimulationRunner;
+
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * This class provides the entry point of the application.
@@ -10,10 +19,43 @@ public class GameEntry {
     /**
      * The entry point of the application.
      *
-     * @param args command line parameters, not used by the application.
+     * @param args command line parameters, {@code dots} or {@code hole} selects the dot-weighted
+     *             {@link ScoringMode}, {@code versus} starts a {@link VersusGame} against the computer,
+     *             {@code puzzle} starts the game on a generated board with obstacles,
+     *             {@code simulate [games] [random|greedy]} plays games headlessly and prints their statistics,
+     *             {@code archive <json> <archive>} converts a JSON score file into a score archive.
      */
     public static void main(String... args) {
-        Game game = new Game(new Board());
+        if (args.length > 0 && args[0].equalsIgnoreCase("simulate")) {
+            long games = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+            boolean greedy = args.length > 2 && args[2].equalsIgnoreCase("greedy");
+            SimulationRunner runner = new SimulationRunner(greedy ? new GreedyPolicy() : new RandomPolicy());
+            System.out.println(runner.run(games, System.nanoTime()));
+            return;
+        }
+        if (args.length > 2 && args[0].equalsIgnoreCase("archive")) {
+            try {
+                long count = ScoreArchiveWriter.convert(Paths.get(args[1]), Paths.get(args[2]));
+                System.out.println("Archived " + count + " scores into " + args[2]);
+            } catch (IOException e) {
+                System.out.println("Archiving failed: " + e.getMessage());
+            }
+            return;
+        }
+        boolean versus = false;
+        boolean puzzle = false;
+        for (String arg : args) {
+            versus |= arg.equalsIgnoreCase("versus");
+            puzzle |= arg.equalsIgnoreCase("puzzle");
+        }
+        Board board = puzzle ? new PuzzleGenerator().generate(System.nanoTime()).toBoard() : new Board();
+        Game game = versus ? new VersusGame(board) : new Game(board);
+        for (String arg : args) {
+            if (arg.equalsIgnoreCase("dots"))
+                game.setScoringMode(ScoringMode.COVERED_DOTS);
+            else if (arg.equalsIgnoreCase("hole"))
+                game.setScoringMode(ScoringMode.HOLE_DOTS);
+        }
         game.play();
     }
 }
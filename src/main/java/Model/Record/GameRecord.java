@@ -0,0 +1,248 @@
+package Model.Record;
+
+import Model.GameComponents.Placements;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The record of a played game: the seed and the obstacles of the {@link Model.GameComponents.Board}, the move id of
+ * every placement (see {@link Placements}) with the time spent on it, and the result claimed by the player.
+ */
+public final class GameRecord {
+
+    /**
+     * The seed of the board.
+     */
+    private final long seed;
+
+    /**
+     * The bitboard of the obstacle cells of the board.
+     */
+    private final long blocked;
+
+    /**
+     * The move ids of the placements, in the order they were made.
+     */
+    private final byte[] moves;
+
+    /**
+     * The milliseconds elapsed before each placement, since the previous one or the start of the game.
+     */
+    private final long[] delays;
+
+    /**
+     * Whether the game is claimed to be won.
+     */
+    private final boolean victory;
+
+    /**
+     * The claimed time score of the game, in seconds.
+     */
+    private final long score;
+
+    /**
+     * Constructs a GameRecord.
+     *
+     * @param seed    The seed of the board.
+     * @param blocked The bitboard of the obstacle cells.
+     * @param moves   The move ids of the placements.
+     * @param delays  The milliseconds elapsed before each placement.
+     * @param victory Whether the game is claimed to be won.
+     * @param score   The claimed time score, in seconds.
+     * @throws IllegalArgumentException if the number of moves and delays differ, or a move id is out of range.
+     */
+    public GameRecord(long seed, long blocked, byte[] moves, long[] delays, boolean victory, long score) {
+        if (moves.length != delays.length)
+            throw new IllegalArgumentException("Every move needs a delay");
+        for (byte move : moves)
+            if (move < 0 || move >= Placements.COUNT)
+                throw new IllegalArgumentException("Invalid move id " + move);
+        this.seed = seed;
+        this.blocked = blocked;
+        this.moves = moves.clone();
+        this.delays = delays.clone();
+        this.victory = victory;
+        this.score = score;
+    }
+
+    public final long getSeed() {
+        return seed;
+    }
+
+    public final long getBlocked() {
+        return blocked;
+    }
+
+    /**
+     * Returns the number of placements.
+     *
+     * @return the number of recorded moves.
+     */
+    public int size() {
+        return moves.length;
+    }
+
+    /**
+     * Returns the move id of a placement.
+     *
+     * @param index The index of the placement.
+     * @return the move id.
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Returns the milliseconds elapsed before a placement, since the previous one or the start of the game.
+     *
+     * @param index The index of the placement.
+     * @return the delay in milliseconds.
+     */
+    public long getDelay(int index) {
+        return delays[index];
+    }
+
+    /**
+     * Returns the total time of the recorded placements.
+     *
+     * @return the sum of the delays, in milliseconds.
+     */
+    public long getDuration() {
+        long result = 0;
+        for (long delay : delays)
+            result += delay;
+        return result;
+    }
+
+    public final boolean isVictory() {
+        return victory;
+    }
+
+    public final long getScore() {
+        return score;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof GameRecord))
+            return false;
+        GameRecord other = (GameRecord) o;
+        return seed == other.seed && blocked == other.blocked && victory == other.victory && score == other.score
+                && Arrays.equals(moves, other.moves) && Arrays.equals(delays, other.delays);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seed) * 31 + Arrays.hashCode(moves);
+    }
+
+    @Override
+    public String toString() {
+        return "GameRecord{seed=" + seed + ", moves=" + moves.length + ", victory=" + victory + ", score=" + score
+                + "s, duration=" + TimeUnit.SECONDS.convert(getDuration(), TimeUnit.MILLISECONDS) + "s}";
+    }
+
+    /**
+     * Collects the placements of a game while it is played.
+     */
+    public static final class Builder {
+
+        /**
+         * The seed of the board.
+         */
+        private final long seed;
+
+        /**
+         * The bitboard of the obstacle cells.
+         */
+        private final long blocked;
+
+        /**
+         * The move ids of the placements.
+         */
+        private byte[] moves = new byte[24];
+
+        /**
+         * The milliseconds elapsed before each placement.
+         */
+        private long[] delays = new long[24];
+
+        /**
+         * The number of recorded placements.
+         */
+        private int size;
+
+        /**
+         * The time of the start of the game, or of the last placement, from {@link System#nanoTime()}.
+         */
+        private long last;
+
+        /**
+         * The milliseconds of the placements taken back, added to the delay of the next placement.
+         */
+        private long carried;
+
+        /**
+         * Constructs a Builder, starting the clock of the game.
+         *
+         * @param seed    The seed of the board.
+         * @param blocked The bitboard of the obstacle cells.
+         */
+        public Builder(long seed, long blocked) {
+            this.seed = seed;
+            this.blocked = blocked;
+            this.last = System.nanoTime();
+        }
+
+        /**
+         * Records a placement made now.
+         *
+         * @param moveId The move id of the placement.
+         */
+        public void add(int moveId) {
+            long now = System.nanoTime();
+            add(moveId, TimeUnit.MILLISECONDS.convert(now - last, TimeUnit.NANOSECONDS));
+            last = now;
+        }
+
+        /**
+         * Records a placement, its delay also includes the delays of the placements taken back since the last one.
+         *
+         * @param moveId The move id of the placement.
+         * @param delay  The milliseconds elapsed before the placement.
+         */
+        public void add(int moveId, long delay) {
+            if (size == moves.length) {
+                moves = Arrays.copyOf(moves, size * 2);
+                delays = Arrays.copyOf(delays, size * 2);
+            }
+            moves[size] = (byte) moveId;
+            delays[size++] = delay + carried;
+            carried = 0;
+        }
+
+        /**
+         * Forgets the last recorded placement, which was taken back. Its delay is kept for the next placement, so the
+         * recorded delays still add up to the time played.
+         */
+        public void removeLast() {
+            if (size > 0)
+                carried += delays[--size];
+        }
+
+        /**
+         * Creates the record of the game.
+         *
+         * @param victory Whether the game was won.
+         * @param score   The time score of the game, in seconds.
+         * @return the record of the placements so far.
+         */
+        public GameRecord build(boolean victory, long score) {
+            return new GameRecord(seed, blocked, Arrays.copyOf(moves, size), Arrays.copyOf(delays, size), victory,
+                    score);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package Model.Record;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+
+/**
+ * Streams the {@link GameRecord}s written by {@link GameRecordWriter}, one at a time.
+ */
+public class GameRecordReader implements Closeable {
+
+    /**
+     * The most moves a record may contain.
+     */
+    private static final int MAX_MOVES = 64;
+
+    /**
+     * The stream read.
+     */
+    private final InputStream input;
+
+    /**
+     * Reused buffer of the move ids.
+     */
+    private final byte[] moves = new byte[MAX_MOVES];
+
+    /**
+     * Reused buffer of the delays.
+     */
+    private final long[] delays = new long[MAX_MOVES];
+
+    /**
+     * Constructs a GameRecordReader, checking the magic number.
+     *
+     * @param input The stream to read, it is closed with the reader.
+     * @throws IOException if the stream can not be read, or it is not a record stream.
+     */
+    public GameRecordReader(InputStream input) throws IOException {
+        this.input = new BufferedInputStream(input, 1 << 16);
+        if (readFixed(4) != GameRecordWriter.MAGIC)
+            throw new StreamCorruptedException("Not a game record stream");
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the record, or null at the end of the stream.
+     * @throws IOException if the stream can not be read, or the record is truncated or corrupted.
+     */
+    public GameRecord next() throws IOException {
+        int flags = input.read();
+        if (flags < 0)
+            return null;
+        if ((flags & ~(GameRecordWriter.VICTORY | GameRecordWriter.BLOCKED)) != 0)
+            throw new StreamCorruptedException("Invalid record flags " + flags);
+        long seed = readFixed(8);
+        long blocked = (flags & GameRecordWriter.BLOCKED) != 0 ? readFixed(8) : 0;
+        long size = readVarint();
+        if (size > MAX_MOVES)
+            throw new StreamCorruptedException("Too many moves " + size);
+        int count = (int) size;
+        for (int i = 0; i < count; i++)
+            moves[i] = (byte) readByte();
+        for (int i = 0; i < count; i++)
+            delays[i] = readVarint();
+        long score = readVarint();
+        try {
+            return new GameRecord(seed, blocked, Arrays.copyOf(moves, count),
+                    Arrays.copyOf(delays, count), (flags & GameRecordWriter.VICTORY) != 0, score);
+        } catch (IllegalArgumentException e) {
+            throw new StreamCorruptedException(e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @return the byte, between 0 and 255.
+     * @throws IOException if the stream ends.
+     */
+    private int readByte() throws IOException {
+        int result = input.read();
+        if (result < 0)
+            throw new EOFException("Truncated game record");
+        return result;
+    }
+
+    /**
+     * Reads a value stored on the given number of bytes, the most significant first.
+     *
+     * @param bytes The number of bytes.
+     * @return the value.
+     * @throws IOException if the stream ends.
+     */
+    private long readFixed(int bytes) throws IOException {
+        long result = 0;
+        for (int i = 0; i < bytes; i++)
+            result = result << 8 | readByte();
+        return result;
+    }
+
+    /**
+     * Reads a varint.
+     *
+     * @return the value.
+     * @throws IOException if the stream ends, or the varint is longer than a long.
+     */
+    private long readVarint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if (b < 0x80)
+                return result;
+        }
+        throw new StreamCorruptedException("Varint too long");
+    }
+}
@@ -0,0 +1,107 @@
+package Model.Record;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes {@link GameRecord}s into a compact binary stream, read back by {@link GameRecordReader}.
+ * <p>
+ * The stream starts with the 4 byte {@link #MAGIC} number, followed by the records. A record is a flag byte (bit 0:
+ * victory, bit 1: obstacles follow), the 8 byte seed, the 8 byte obstacle bitboard if flagged, the number of moves, a
+ * single byte move id for each move, the delay of each move in milliseconds, and the claimed score in seconds. The
+ * counts, the delays and the score are unsigned varints, 7 bits per byte with the high bit marking a continuation,
+ * so a typical delay takes 2 bytes and a whole game of 21 moves less than 80 bytes.
+ */
+public class GameRecordWriter implements Closeable, Flushable {
+
+    /**
+     * The magic number at the start of the stream.
+     */
+    static final int MAGIC = 0x47524331;
+
+    /**
+     * The flag of the won games.
+     */
+    static final int VICTORY = 1;
+
+    /**
+     * The flag of the games with obstacles.
+     */
+    static final int BLOCKED = 2;
+
+    /**
+     * The stream written.
+     */
+    private final OutputStream output;
+
+    /**
+     * Constructs a GameRecordWriter, writing the magic number.
+     *
+     * @param output The stream to write, it is closed with the writer.
+     * @throws IOException if the stream can not be written.
+     */
+    public GameRecordWriter(OutputStream output) throws IOException {
+        this.output = new BufferedOutputStream(output, 1 << 16);
+        writeFixed(MAGIC, 4);
+    }
+
+    /**
+     * Writes a record.
+     *
+     * @param record The record to write.
+     * @throws IOException if the stream can not be written.
+     */
+    public void write(GameRecord record) throws IOException {
+        output.write((record.isVictory() ? VICTORY : 0) | (record.getBlocked() != 0 ? BLOCKED : 0));
+        writeFixed(record.getSeed(), 8);
+        if (record.getBlocked() != 0)
+            writeFixed(record.getBlocked(), 8);
+        writeVarint(record.size());
+        for (int i = 0; i < record.size(); i++)
+            output.write(record.getMove(i));
+        for (int i = 0; i < record.size(); i++)
+            writeVarint(record.getDelay(i));
+        writeVarint(record.getScore());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    /**
+     * Writes the lowest bytes of a value, the most significant first.
+     *
+     * @param value The value to write.
+     * @param bytes The number of bytes to write.
+     * @throws IOException if the stream can not be written.
+     */
+    private void writeFixed(long value, int bytes) throws IOException {
+        for (int shift = 8 * (bytes - 1); shift >= 0; shift -= 8)
+            output.write((int) (value >>> shift));
+    }
+
+    /**
+     * Writes a non-negative value as a varint.
+     *
+     * @param value The value to write.
+     * @throws IOException if the stream can not be written.
+     */
+    private void writeVarint(long value) throws IOException {
+        if (value < 0)
+            throw new IllegalArgumentException("Negative varint " + value);
+        while (value >= 0x80) {
+            output.write((int) (value | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+}
@@ -0,0 +1,154 @@
+package Model.Record;
+
+import Model.GameComponents.Board;
+import Model.Simulation.PuzzleGenerator;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies {@link GameRecord}s by replaying them on a {@link Board}: the obstacles have to be the ones of the puzzle
+ * generated from the seed, every placement has to be legal, the game has to be over after the last one, the claimed
+ * victory has to match the board, and the claimed time score has to match the recorded delays.
+ * <p>
+ * The verifier replays every record on the same board, resetting it to the seed of the record, so verifying a stream
+ * allocates nothing but the records themselves. Regenerating the obstacles of a puzzle runs the solver, so the
+ * obstacles of the recent seeds are cached, puzzles are played by many players. A verifier is not thread-safe, parallel
+ * callers need one each.
+ */
+public class ReplayVerifier {
+
+    /**
+     * The default fewest milliseconds a player needs for a placement.
+     */
+    public static final long DEFAULT_MIN_DELAY = 200;
+
+    /**
+     * The seconds the claimed score may differ from the recorded delays, the game clock and the delays are truncated
+     * separately.
+     */
+    private static final long TIME_TOLERANCE = 1;
+
+    /**
+     * The default number of seeds, whose obstacles are cached.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    /**
+     * The fewest milliseconds a player needs for a placement.
+     */
+    private final long minDelay;
+
+    /**
+     * The board the records are replayed on.
+     */
+    private final Board board = new Board(0);
+
+    /**
+     * The obstacles of the puzzles of the recently verified seeds, cleared when it is full.
+     */
+    private final Map<Long, Long> obstacles = new HashMap<>();
+
+    /**
+     * The number of seeds, whose obstacles are cached.
+     */
+    private final int cacheSize;
+
+    /**
+     * Constructs a ReplayVerifier, accepting placements made at least {@link #DEFAULT_MIN_DELAY} milliseconds apart.
+     */
+    public ReplayVerifier() {
+        this(DEFAULT_MIN_DELAY);
+    }
+
+    /**
+     * Constructs a ReplayVerifier, caching the obstacles of {@link #DEFAULT_CACHE_SIZE} seeds.
+     *
+     * @param minDelay The fewest milliseconds a player needs for a placement.
+     */
+    public ReplayVerifier(long minDelay) {
+        this(minDelay, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructs a ReplayVerifier.
+     *
+     * @param minDelay  The fewest milliseconds a player needs for a placement.
+     * @param cacheSize The number of seeds, whose obstacles are cached.
+     */
+    public ReplayVerifier(long minDelay, int cacheSize) {
+        if (cacheSize < 1)
+            throw new IllegalArgumentException("ReplayVerifier cannot be instantiated, with cache size: "
+                    + cacheSize);
+        this.minDelay = minDelay;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Verifies a record.
+     *
+     * @param record The record to verify.
+     * @return {@link Verdict#VALID}, or the first problem found.
+     */
+    public Verdict verify(GameRecord record) {
+        board.reset(record.getSeed());
+        if (record.getBlocked() != 0) {
+            if (record.getBlocked() != obstacles(record.getSeed()))
+                return Verdict.FALSE_OBSTACLES;
+            board.block(record.getBlocked());
+        }
+        for (int i = 0; i < record.size(); i++) {
+            int move = record.getMove(i);
+            if (!board.isLegal(move))
+                return Verdict.ILLEGAL_MOVE;
+            if (record.getDelay(i) < minDelay)
+                return Verdict.TOO_FAST;
+            board.place(move);
+        }
+        if (board.hasLegalMove())
+            return Verdict.NOT_FINISHED;
+        if (board.isVictory() != record.isVictory())
+            return Verdict.FALSE_VICTORY;
+        long seconds = TimeUnit.SECONDS.convert(record.getDuration(), TimeUnit.MILLISECONDS);
+        if (Math.abs(seconds - record.getScore()) > TIME_TOLERANCE)
+            return Verdict.FALSE_TIME;
+        return Verdict.VALID;
+    }
+
+    /**
+     * Returns the obstacles of the puzzle of a seed, generating them only if the seed is not cached.
+     *
+     * @param seed The seed of the puzzle.
+     * @return the mask of the blocked cells.
+     */
+    private long obstacles(long seed) {
+        Long cached = obstacles.get(seed);
+        if (cached != null)
+            return cached;
+        long blocked = PuzzleGenerator.obstacles(seed);
+        if (obstacles.size() == cacheSize)
+            obstacles.clear();
+        obstacles.put(seed, blocked);
+        return blocked;
+    }
+
+    /**
+     * Verifies every record of a stream.
+     *
+     * @param reader The stream of the records.
+     * @return the number of records with each verdict.
+     * @throws IOException if the stream can not be read, or it is corrupted.
+     */
+    public Map<Verdict, Long> verifyAll(GameRecordReader reader) throws IOException {
+        long[] counts = new long[Verdict.values().length];
+        for (GameRecord record = reader.next(); record != null; record = reader.next())
+            counts[verify(record).ordinal()]++;
+        Map<Verdict, Long> result = new EnumMap<>(Verdict.class);
+        for (Verdict verdict : Verdict.values())
+            result.put(verdict, counts[verdict.ordinal()]);
+        return result;
+    }
+}
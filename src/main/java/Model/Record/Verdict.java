@@ -0,0 +1,42 @@
+package Model.Record;
+
+/**
+ * Enum class representing the outcome of verifying a {@link GameRecord}.
+ */
+public enum Verdict {
+
+    /**
+     * The record replays to the claimed result.
+     */
+    VALID,
+
+    /**
+     * The obstacles of the record are not the ones of the puzzle generated from its seed.
+     */
+    FALSE_OBSTACLES,
+
+    /**
+     * A recorded placement does not fit on the empty cells of the board.
+     */
+    ILLEGAL_MOVE,
+
+    /**
+     * There is still space for a placement after the last recorded one, so the game did not end.
+     */
+    NOT_FINISHED,
+
+    /**
+     * The claimed victory does not match the replayed board.
+     */
+    FALSE_VICTORY,
+
+    /**
+     * The claimed time score does not match the recorded delays.
+     */
+    FALSE_TIME,
+
+    /**
+     * A placement was made faster than a player could have made it.
+     */
+    TOO_FAST
+}
@@ -0,0 +1,4 @@
+/**
+ * Package which contains the binary records of the played games, and the tools writing, reading and verifying them.
+ */
+package Model.Record;
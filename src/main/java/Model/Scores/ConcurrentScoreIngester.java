@@ -0,0 +1,364 @@
+package Model.Scores;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe front of a {@link TopKLeaderboard} and a {@link RankIndex}, for many games finishing at the same time
+ * in one JVM.
+ * <p>
+ * Results are added to striped buffers, the stripe chosen by the adding thread, so threads rarely share a buffer.
+ * Each buffer is a multi-producer single-consumer linked queue, where adding is a single atomic exchange, so adding
+ * never waits for other threads. A background drainer moves the buffered results into the ranking structures in
+ * batches, and publishes an immutable {@link LeaderboardSnapshot} after each batch. Snapshots are read without any
+ * lock; rank queries use optimistic reads, which only fall back to a read lock while a batch is being applied.
+ * Added results become visible with the next drain, or after {@link #flush()}.
+ */
+public class ConcurrentScoreIngester implements Closeable {
+
+    /**
+     * The default delay between two drains in milliseconds.
+     */
+    public static final long DEFAULT_DRAIN_MILLIS = 5;
+
+    /**
+     * The most results applied under a single write lock.
+     */
+    private static final int BATCH = 4096;
+
+    /**
+     * The buffers of the added results, the number of stripes is a power of two.
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * The best results, only accessed by the drainer.
+     */
+    private final TopKLeaderboard leaderboard;
+
+    /**
+     * Every result, written by the drainer under the write lock of {@link #lock}.
+     */
+    private final RankIndex rankIndex;
+
+    /**
+     * Guards the {@link #rankIndex} for the rank queries.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Allows a single drainer at a time, adding and reading never take it.
+     */
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    /**
+     * Reused batch of the drained results.
+     */
+    private final List<ScoreEntry> batch = new ArrayList<>(BATCH);
+
+    /**
+     * The background thread draining the stripes.
+     */
+    private final ScheduledExecutorService drainer;
+
+    /**
+     * The last published snapshot.
+     */
+    private volatile LeaderboardSnapshot snapshot = LeaderboardSnapshot.EMPTY;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a ConcurrentScoreIngester with {@link TopKLeaderboard#DEFAULT_CAPACITY} places, the
+     * {@link RankIndex#DEFAULT_MAX_SCORE} and drains every {@link #DEFAULT_DRAIN_MILLIS} milliseconds.
+     */
+    public ConcurrentScoreIngester() {
+        this(TopKLeaderboard.DEFAULT_CAPACITY, RankIndex.DEFAULT_MAX_SCORE, DEFAULT_DRAIN_MILLIS);
+    }
+
+    /**
+     * Constructs a ConcurrentScoreIngester.
+     *
+     * @param capacity    The number of places of the leaderboard.
+     * @param maxScore    The largest score told apart by the rank index.
+     * @param drainMillis The delay between two drains in milliseconds, 0 to drain only on {@link #flush()}.
+     */
+    public ConcurrentScoreIngester(int capacity, int maxScore, long drainMillis) {
+        if (drainMillis < 0)
+            throw new IllegalArgumentException("Drain delay can not be negative");
+        leaderboard = new TopKLeaderboard(capacity);
+        rankIndex = new RankIndex(maxScore);
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++)
+            stripes[i] = new Stripe();
+        if (drainMillis == 0) {
+            drainer = null;
+            return;
+        }
+        drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "score-drainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        drainer.scheduleWithFixedDelay(this::drain, drainMillis, drainMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds a result, without waiting for any other thread.
+     *
+     * @param entry The result.
+     */
+    public void add(ScoreEntry entry) {
+        long id = Thread.currentThread().getId();
+        stripes[(int) (id * 0x9E3779B97F4A7C15L >>> 32) & (stripes.length - 1)].push(entry);
+    }
+
+    /**
+     * Drains every buffered result into the ranking structures, and publishes a new snapshot.
+     */
+    public void flush() {
+        drainLock.lock();
+        try {
+            boolean changed = false;
+            for (Stripe stripe : stripes)
+                for (ScoreEntry entry; (entry = stripe.poll()) != null; ) {
+                    batch.add(entry);
+                    if (batch.size() == BATCH)
+                        changed |= apply();
+                }
+            changed |= apply();
+            if (changed)
+                publish();
+        } catch (RuntimeException e) {
+            logger.error("Draining the scores failed: {}", e.toString());
+            throw e;
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Runs a scheduled {@link #flush()}. A failure is logged instead of thrown, since the executor would cancel every
+     * later drain after it.
+     */
+    private void drain() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Scheduled drain failed, retrying with the next one: {}", e.toString());
+        }
+    }
+
+    /**
+     * Adds every result of a leaderboard and a rank index built separately, like the ones of an imported file.
+     *
+     * @param top   The best results.
+     * @param index Every result, with the same maximum score as this ingester.
+     */
+    public void merge(TopKLeaderboard top, RankIndex index) {
+        drainLock.lock();
+        try {
+            long stamp = lock.writeLock();
+            try {
+                leaderboard.merge(top);
+                rankIndex.merge(index);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            publish();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the last published snapshot, without taking any lock.
+     *
+     * @return the snapshot.
+     */
+    public LeaderboardSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the rank of a score among the drained results.
+     *
+     * @param score The score.
+     * @return the rank, 1 for the best score.
+     */
+    public long rankOf(long score) {
+        long stamp = lock.tryOptimisticRead();
+        long result = rankIndex.rankOf(score);
+        if (lock.validate(stamp))
+            return result;
+        stamp = lock.readLock();
+        try {
+            return rankIndex.rankOf(score);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the percentage of the drained results, which are not worse than the given score.
+     *
+     * @param score The score.
+     * @return the percentage between 0 and 100.
+     */
+    public double topPercent(long score) {
+        long stamp = lock.tryOptimisticRead();
+        double result = rankIndex.topPercent(score);
+        if (lock.validate(stamp))
+            return result;
+        stamp = lock.readLock();
+        try {
+            return rankIndex.topPercent(score);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public final int getCapacity() {
+        return leaderboard.getCapacity();
+    }
+
+    public final int getMaxScore() {
+        return rankIndex.getMaxScore();
+    }
+
+    /**
+     * Stops the background drainer, and drains the remaining results.
+     */
+    @Override
+    public void close() {
+        if (drainer != null) {
+            drainer.shutdown();
+            try {
+                drainer.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Applies the batch to the ranking structures under the write lock, and clears it.
+     *
+     * @return true, if the batch contained any result.
+     */
+    private boolean apply() {
+        if (batch.isEmpty())
+            return false;
+        long stamp = lock.writeLock();
+        try {
+            for (ScoreEntry entry : batch) {
+                leaderboard.offer(entry);
+                rankIndex.add(entry.getScore());
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        batch.clear();
+        return true;
+    }
+
+    /**
+     * Publishes a new snapshot of the ranking structures, called by the drainer.
+     */
+    private void publish() {
+        snapshot = new LeaderboardSnapshot(leaderboard.top(), rankIndex.size(), snapshot.getVersion() + 1);
+    }
+
+    /**
+     * A node of the linked queue of a stripe.
+     */
+    private static final class Node {
+
+        /**
+         * The result, null for the consumed node at the head.
+         */
+        private ScoreEntry entry;
+
+        /**
+         * The following node, set by the producer after it became the tail.
+         */
+        private volatile Node next;
+
+        /**
+         * Constructs a Node.
+         *
+         * @param entry The result.
+         */
+        Node(ScoreEntry entry) {
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * Multi-producer single-consumer linked queue.
+     * <p>
+     * A producer swaps itself in as the tail, then links the previous tail to itself. Between the two steps the
+     * consumer sees the queue as ending at the previous tail, and picks up the node on its next poll.
+     */
+    private static final class Stripe {
+
+        /**
+         * The last added node, swapped by the producers.
+         */
+        private final AtomicReference<Node> tail;
+
+        /**
+         * The last consumed node, only accessed by the consumer.
+         */
+        private Node head;
+
+        /**
+         * Constructs an empty Stripe.
+         */
+        Stripe() {
+            Node stub = new Node(null);
+            head = stub;
+            tail = new AtomicReference<>(stub);
+        }
+
+        /**
+         * Adds a result, with a single atomic exchange.
+         *
+         * @param entry The result.
+         */
+        void push(ScoreEntry entry) {
+            Node node = new Node(entry);
+            tail.getAndSet(node).next = node;
+        }
+
+        /**
+         * Removes the oldest linked result, called only by the drainer.
+         *
+         * @return the result, or null if no linked result is left.
+         */
+        ScoreEntry poll() {
+            Node next = head.next;
+            if (next == null)
+                return null;
+            head = next;
+            ScoreEntry result = next.entry;
+            next.entry = null;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package Model.Scores;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time ranges a leaderboard can be shown for. Days start at midnight UTC, matching the daily segments of the
+ * {@link PartitionedLeaderboard}.
+ */
+public enum LeaderboardPeriod {
+    /**
+     * The results of the current day.
+     */
+    DAY(1),
+    /**
+     * The results of the current day and the six days before.
+     */
+    WEEK(7),
+    /**
+     * Every result.
+     */
+    ALL_TIME(0);
+
+    /**
+     * The number of days in the range, 0 for no limit.
+     */
+    private final int days;
+
+    /**
+     * Constructs a LeaderboardPeriod.
+     *
+     * @param days The number of days in the range, 0 for no limit.
+     */
+    LeaderboardPeriod(int days) {
+        this.days = days;
+    }
+
+    /**
+     * Returns the start of the range.
+     *
+     * @param now The current time in milliseconds since the epoch.
+     * @return the start of the range in milliseconds since the epoch, {@link Long#MIN_VALUE} for no limit.
+     */
+    public long start(long now) {
+        if (days == 0)
+            return Long.MIN_VALUE;
+        long day = TimeUnit.DAYS.toMillis(1);
+        return Math.floorDiv(now, day) * day - (days - 1) * day;
+    }
+}
@@ -0,0 +1,62 @@
+package Model.Scores;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An immutable, consistent view of a leaderboard, published by the {@link ConcurrentScoreIngester}. It can be read
+ * by any number of threads without synchronization.
+ */
+public final class LeaderboardSnapshot implements Iterable<ScoreEntry> {
+
+    /**
+     * The snapshot of a leaderboard without any results.
+     */
+    static final LeaderboardSnapshot EMPTY = new LeaderboardSnapshot(Collections.emptyList(), 0, 0);
+
+    /**
+     * The best results, the best first.
+     */
+    private final List<ScoreEntry> top;
+
+    /**
+     * The number of results ranked.
+     */
+    private final long size;
+
+    /**
+     * The number of drains published before this snapshot.
+     */
+    private final long version;
+
+    /**
+     * Constructs a LeaderboardSnapshot.
+     *
+     * @param top     The best results, the best first, the list is not copied.
+     * @param size    The number of results ranked.
+     * @param version The number of drains published before this snapshot.
+     */
+    LeaderboardSnapshot(List<ScoreEntry> top, long size, long version) {
+        this.top = Collections.unmodifiableList(top);
+        this.size = size;
+        this.version = version;
+    }
+
+    public final List<ScoreEntry> getTop() {
+        return top;
+    }
+
+    public final long size() {
+        return size;
+    }
+
+    public final long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Iterator<ScoreEntry> iterator() {
+        return top.iterator();
+    }
+}
@@ -0,0 +1,438 @@
+package Model.Scores;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Leaderboards of any time range, built from time-bucketed segments.
+ * <p>
+ * Results are partitioned by their timestamp into segments of a fixed length, each keeping only its own K best
+ * results. The best results of a time range are read by a lazy k-way merge of the segments overlapping the range, so
+ * "the top 10 of this week" touches seven daily segments, and never the whole history. The range is rounded to whole
+ * segments. Once a segment is older than the previous one of the newest result, it is sealed: its entries become an
+ * immutable array, written to its own file if there is a directory, and later results for it are rejected. The class
+ * is thread-safe, readers merge a snapshot of the segments taken under a short lock.
+ */
+public class PartitionedLeaderboard {
+
+    /**
+     * The default length of a segment, a day.
+     */
+    public static final long DEFAULT_SEGMENT_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    /**
+     * The magic number at the start of a sealed segment file.
+     */
+    static final int MAGIC = 0x53454731;
+
+    /**
+     * The number of results kept by each segment.
+     */
+    private final int capacity;
+
+    /**
+     * The length of a segment in milliseconds.
+     */
+    private final long segmentMillis;
+
+    /**
+     * The directory of the sealed segment files, null to keep them only in memory.
+     */
+    private final Path directory;
+
+    /**
+     * The segments by their index, the start of the segment divided by its length.
+     */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    /**
+     * The index of the newest segment.
+     */
+    private long newest = Long.MIN_VALUE;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a PartitionedLeaderboard of daily segments, kept only in memory.
+     *
+     * @param capacity The number of results kept by each segment, the longest list a query can return.
+     */
+    public PartitionedLeaderboard(int capacity) {
+        this(capacity, DEFAULT_SEGMENT_MILLIS, null);
+    }
+
+    /**
+     * Constructs a PartitionedLeaderboard, loading the sealed segments of the directory.
+     *
+     * @param capacity      The number of results kept by each segment, the longest list a query can return.
+     * @param segmentMillis The length of a segment in milliseconds.
+     * @param directory     The directory of the sealed segment files, null to keep them only in memory.
+     * @throws IllegalArgumentException if the capacity or the segment length is not positive.
+     */
+    public PartitionedLeaderboard(int capacity, long segmentMillis, Path directory) {
+        if (capacity < 1 || segmentMillis < 1)
+            throw new IllegalArgumentException("Capacity and segment length must be positive");
+        this.capacity = capacity;
+        this.segmentMillis = segmentMillis;
+        this.directory = directory;
+        if (directory != null)
+            loadSealed();
+    }
+
+    /**
+     * Offers a result to the segment of its timestamp.
+     *
+     * @param entry The result.
+     * @return true, if the result got into the top results of its segment, false if it did not, or the segment is
+     * already sealed.
+     */
+    public synchronized boolean offer(ScoreEntry entry) {
+        long index = Math.floorDiv(entry.getTimestamp(), segmentMillis);
+        Segment segment = segments.get(index);
+        if (segment == null) {
+            if (newest != Long.MIN_VALUE && index < newest - 1)
+                return false;
+            segment = new Segment(index, new TopKLeaderboard(capacity));
+            segments.put(index, segment);
+        }
+        if (segment.open == null)
+            return false;
+        boolean result = segment.open.offer(entry);
+        if (index > newest) {
+            newest = index;
+            sealBefore(newest - 1);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the best results achieved in a time range.
+     *
+     * @param from  The start of the range in milliseconds since the epoch, rounded down to the start of its segment.
+     * @param to    The end of the range in milliseconds since the epoch, exclusive, rounded up to the end of its
+     *              segment.
+     * @param count The number of results, at most the capacity of the segments.
+     * @return the best results, the best first, older segments first among equal scores.
+     */
+    public List<ScoreEntry> top(long from, long to, int count) {
+        List<ScoreEntry> result = new ArrayList<>(Math.min(count, capacity));
+        Iterator<ScoreEntry> merged = merge(from, to);
+        while (result.size() < Math.min(count, capacity) && merged.hasNext())
+            result.add(merged.next());
+        return result;
+    }
+
+    /**
+     * Returns a lazy merge of the segments overlapping a time range.
+     *
+     * @param from The start of the range in milliseconds since the epoch, rounded down to the start of its segment.
+     * @param to   The end of the range in milliseconds since the epoch, exclusive, rounded up to the end of its
+     *             segment.
+     * @return the iterator of the results, the best first; it returns at most the capacity of a segment.
+     */
+    public Iterator<ScoreEntry> merge(long from, long to) {
+        List<Cursor> cursors = new ArrayList<>();
+        synchronized (this) {
+            long first = Math.floorDiv(from, segmentMillis);
+            long last = Math.floorDiv(to - 1, segmentMillis);
+            if (first <= last)
+                for (Segment segment : segments.subMap(first, true, last, true).values())
+                    cursors.add(new Cursor(segment.index, segment.entries()));
+        }
+        return new MergeIterator(cursors);
+    }
+
+    /**
+     * Seals every open segment older than the given one.
+     *
+     * @param index The index of the oldest segment kept open.
+     */
+    public synchronized void sealBefore(long index) {
+        for (Segment segment : segments.headMap(index, false).values())
+            if (segment.open != null) {
+                segment.sealed = segment.open.top().toArray(new ScoreEntry[0]);
+                segment.open = null;
+                if (directory != null)
+                    write(segment);
+            }
+    }
+
+    /**
+     * Returns the number of segments.
+     *
+     * @return the number of open and sealed segments.
+     */
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Returns whether the segment of a timestamp is sealed.
+     *
+     * @param timestamp The timestamp in milliseconds since the epoch.
+     * @return true, if the segment exists and it is sealed.
+     */
+    public synchronized boolean isSealed(long timestamp) {
+        Segment segment = segments.get(Math.floorDiv(timestamp, segmentMillis));
+        return segment != null && segment.open == null;
+    }
+
+    public final int getCapacity() {
+        return capacity;
+    }
+
+    public final long getSegmentMillis() {
+        return segmentMillis;
+    }
+
+    /**
+     * Writes a sealed segment to its file, replacing it atomically. A failed write is logged, the segment stays
+     * sealed in memory.
+     *
+     * @param segment The sealed segment.
+     */
+    private void write(Segment segment) {
+        Path file = segmentPath(segment.index);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            CRC32 crc = new CRC32();
+            try (DataOutputStream output = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temporary)), crc))) {
+                output.writeInt(MAGIC);
+                output.writeLong(segment.index);
+                output.writeLong(segmentMillis);
+                output.writeInt(segment.sealed.length);
+                for (ScoreEntry entry : segment.sealed) {
+                    output.writeLong(entry.getScore());
+                    output.writeLong(entry.getTimestamp());
+                    output.writeUTF(entry.getName() == null ? "" : entry.getName());
+                }
+                output.writeInt((int) crc.getValue());
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.error("Segment {} can not be written: {}", file, e.toString());
+        }
+    }
+
+    /**
+     * Loads the sealed segment files of the directory, which match the segment length. Corrupted files are skipped.
+     */
+    private void loadSealed() {
+        if (Files.notExists(directory))
+            return;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "segment-*.top")) {
+            for (Path file : files)
+                try {
+                    Segment segment = read(file);
+                    if (segment != null) {
+                        segments.put(segment.index, segment);
+                        newest = Math.max(newest, segment.index);
+                    }
+                } catch (IOException e) {
+                    logger.error("Skipping segment {}: {}", file, e.toString());
+                }
+        } catch (IOException e) {
+            logger.error("Segments can not be listed in {}: {}", directory, e.toString());
+        }
+        logger.info("Loaded {} sealed segments from {}", segments.size(), directory);
+    }
+
+    /**
+     * Reads a sealed segment file.
+     *
+     * @param file The file.
+     * @return the sealed segment, or null if it was written with another segment length.
+     * @throws IOException if the file can not be read, or it is corrupted.
+     */
+    private Segment read(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataInputStream input = new DataInputStream(new CheckedInputStream(new BufferedInputStream(
+                Files.newInputStream(file)), crc))) {
+            if (input.readInt() != MAGIC)
+                throw new StreamCorruptedException("Not a segment file");
+            long index = input.readLong();
+            if (input.readLong() != segmentMillis)
+                return null;
+            int count = input.readInt();
+            if (count < 0 || count > capacity)
+                throw new StreamCorruptedException("Invalid number of entries " + count);
+            ScoreEntry[] entries = new ScoreEntry[count];
+            for (int i = 0; i < count; i++) {
+                long score = input.readLong();
+                long timestamp = input.readLong();
+                entries[i] = new ScoreEntry(input.readUTF(), score, timestamp);
+            }
+            int expected = (int) crc.getValue();
+            if (input.readInt() != expected)
+                throw new StreamCorruptedException("Checksum mismatch");
+            Segment segment = new Segment(index, null);
+            segment.sealed = entries;
+            return segment;
+        }
+    }
+
+    /**
+     * Returns the path of the file of a segment.
+     *
+     * @param index The index of the segment.
+     * @return the path.
+     */
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("segment-%d.top", index));
+    }
+
+    /**
+     * A time bucket, open while results may still arrive for it, sealed afterwards.
+     */
+    private static final class Segment {
+
+        /**
+         * The index of the segment.
+         */
+        private final long index;
+
+        /**
+         * The best results of the open segment, null once it is sealed.
+         */
+        private TopKLeaderboard open;
+
+        /**
+         * The best results of the sealed segment, the best first, null while it is open.
+         */
+        private ScoreEntry[] sealed;
+
+        /**
+         * Constructs a Segment.
+         *
+         * @param index The index of the segment.
+         * @param open  The best results of the open segment, null for a sealed one.
+         */
+        Segment(long index, TopKLeaderboard open) {
+            this.index = index;
+            this.open = open;
+        }
+
+        /**
+         * Returns the best results of the segment, the best first: a copy for an open segment, the immutable array
+         * itself for a sealed one.
+         *
+         * @return the results.
+         */
+        List<ScoreEntry> entries() {
+            return open != null ? open.top() : Arrays.asList(sealed);
+        }
+    }
+
+    /**
+     * The position of the merge in one segment.
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+
+        /**
+         * The index of the segment, breaking ties between equal scores.
+         */
+        private final long index;
+
+        /**
+         * The results of the segment, the best first.
+         */
+        private final List<ScoreEntry> entries;
+
+        /**
+         * The position of the next result.
+         */
+        private int position;
+
+        /**
+         * Constructs a Cursor at the best result of a segment.
+         *
+         * @param index   The index of the segment.
+         * @param entries The results of the segment, the best first.
+         */
+        Cursor(long index, List<ScoreEntry> entries) {
+            this.index = index;
+            this.entries = entries;
+        }
+
+        /**
+         * Returns the next result of the segment.
+         *
+         * @return the result at the position.
+         */
+        ScoreEntry head() {
+            return entries.get(position);
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int result = Long.compare(head().getScore(), other.head().getScore());
+            return result != 0 ? result : Long.compare(index, other.index);
+        }
+    }
+
+    /**
+     * Lazy k-way merge of the cursors, a heap holding the next result of each segment.
+     */
+    private static final class MergeIterator implements Iterator<ScoreEntry> {
+
+        /**
+         * The cursors with results left, the best result on top.
+         */
+        private final PriorityQueue<Cursor> heap;
+
+        /**
+         * Constructs a MergeIterator.
+         *
+         * @param cursors The cursors of the merged segments.
+         */
+        MergeIterator(List<Cursor> cursors) {
+            heap = new PriorityQueue<>(Math.max(1, cursors.size()));
+            for (Cursor cursor : cursors)
+                if (!cursor.entries.isEmpty())
+                    heap.add(cursor);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public ScoreEntry next() {
+            Cursor cursor = heap.poll();
+            if (cursor == null)
+                throw new NoSuchElementException();
+            ScoreEntry result = cursor.head();
+            if (++cursor.position < cursor.entries.size())
+                heap.add(cursor);
+            return result;
+        }
+    }
+}
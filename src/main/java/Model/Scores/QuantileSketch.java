@@ -0,0 +1,170 @@
+package Model.Scores;
+
+/**
+ * Mergeable sketch of the distribution of the scores, answering approximate quantile queries in constant memory.
+ * <p>
+ * Positive scores are counted in logarithmic buckets, the bucket of a score x is the ceiling of
+ * log(x) / log(gamma), where gamma = (1 + accuracy) / (1 - accuracy). Every score of a bucket is within the relative
+ * accuracy of the value returned for it, independently of the distribution. The buckets are a fixed array, so the
+ * sketch takes a few kilobytes whatever the number of scores, and two sketches with the same accuracy are merged by
+ * adding their counts.
+ */
+public class QuantileSketch {
+
+    /**
+     * The default relative accuracy.
+     */
+    public static final double DEFAULT_ACCURACY = 0.01;
+
+    /**
+     * The number of buckets, scores above the last one are counted in it.
+     */
+    private static final int BUCKETS = 4096;
+
+    /**
+     * The relative accuracy of the quantiles.
+     */
+    private final double accuracy;
+
+    /**
+     * The base of the logarithmic buckets.
+     */
+    private final double gamma;
+
+    /**
+     * The natural logarithm of {@link #gamma}.
+     */
+    private final double logGamma;
+
+    /**
+     * The counts of the buckets.
+     */
+    private final long[] counts = new long[BUCKETS];
+
+    /**
+     * The number of scores not greater than 0.
+     */
+    private long zeros;
+
+    /**
+     * The number of scores in the sketch.
+     */
+    private long size;
+
+    /**
+     * Constructs a QuantileSketch with the {@link #DEFAULT_ACCURACY}.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_ACCURACY);
+    }
+
+    /**
+     * Constructs a QuantileSketch.
+     *
+     * @param accuracy The relative accuracy of the quantiles, between 0 and 1.
+     */
+    public QuantileSketch(double accuracy) {
+        if (!(accuracy > 0 && accuracy < 1))
+            throw new IllegalArgumentException("Invalid accuracy " + accuracy);
+        this.accuracy = accuracy;
+        this.gamma = (1 + accuracy) / (1 - accuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * Adds a score.
+     *
+     * @param score The score.
+     */
+    public void add(long score) {
+        if (score <= 0)
+            zeros++;
+        else
+            counts[bucket(score)]++;
+        size++;
+    }
+
+    /**
+     * Adds the scores of another sketch to this one.
+     *
+     * @param other The sketch to merge, having the same accuracy.
+     * @throws IllegalArgumentException if the accuracies differ.
+     */
+    public void merge(QuantileSketch other) {
+        if (other.accuracy != accuracy)
+            throw new IllegalArgumentException("Sketches of different accuracies can not be merged");
+        for (int i = 0; i < BUCKETS; i++)
+            counts[i] += other.counts[i];
+        zeros += other.zeros;
+        size += other.size;
+    }
+
+    /**
+     * Returns the approximate score at the given quantile.
+     *
+     * @param quantile The quantile between 0 (the best score) and 1 (the worst score).
+     * @return the approximate score, 0 if the sketch is empty.
+     */
+    public double quantile(double quantile) {
+        if (quantile < 0 || quantile > 1)
+            throw new IllegalArgumentException("Invalid quantile " + quantile);
+        if (size == 0)
+            return 0;
+        long rank = (long) (quantile * (size - 1));
+        long seen = zeros;
+        if (rank < seen)
+            return 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (rank < seen)
+                return value(i);
+        }
+        return value(BUCKETS - 1);
+    }
+
+    /**
+     * Returns the approximate percentage of the scores, which are not worse than the given one.
+     *
+     * @param score The score.
+     * @return the percentage between 0 and 100, 100 if the sketch is empty.
+     */
+    public double topPercent(long score) {
+        if (size == 0)
+            return 100;
+        long result = zeros;
+        if (score > 0) {
+            int last = bucket(score);
+            for (int i = 0; i <= last; i++)
+                result += counts[i];
+        }
+        return 100.0 * result / size;
+    }
+
+    public final long size() {
+        return size;
+    }
+
+    public final double getAccuracy() {
+        return accuracy;
+    }
+
+    /**
+     * Returns the bucket of a positive score.
+     *
+     * @param score The score.
+     * @return the index of the bucket.
+     */
+    private int bucket(long score) {
+        return (int) Math.min(BUCKETS - 1, Math.ceil(Math.log(score) / logGamma));
+    }
+
+    /**
+     * Returns the value representing the scores of a bucket, within the relative accuracy of each of them.
+     *
+     * @param bucket The index of the bucket.
+     * @return the representative value.
+     */
+    private double value(int bucket) {
+        return 2 * Math.pow(gamma, bucket) / (gamma + 1);
+    }
+}
@@ -0,0 +1,215 @@
+package Model.Scores;
+
+import java.util.Arrays;
+
+/**
+ * Order-statistics index over every recorded score, answering rank and percentile queries in O(log n).
+ * <p>
+ * Scores are counted in a Fenwick tree indexed by the score itself, so the index takes 4 bytes per possible score
+ * value instead of an object per result: the default range of about 12 days of game time takes 4 MB for any number
+ * of results. Scores above the range are counted as the largest score of the range. Lower scores rank higher, rank 1
+ * is the best score. The class is not thread-safe.
+ */
+public class RankIndex {
+
+    /**
+     * The default largest score kept apart from the ones above it.
+     */
+    public static final int DEFAULT_MAX_SCORE = (1 << 20) - 1;
+
+    /**
+     * The Fenwick tree of the counts, indexed by score + 1.
+     */
+    private final int[] tree;
+
+    /**
+     * The largest score kept apart from the ones above it.
+     */
+    private final int maxScore;
+
+    /**
+     * The highest power of 2 not greater than the length of the tree, where the descent starts.
+     */
+    private final int topBit;
+
+    /**
+     * The number of scores in the index.
+     */
+    private long size;
+
+    /**
+     * Constructs a RankIndex for scores up to {@link #DEFAULT_MAX_SCORE}.
+     */
+    public RankIndex() {
+        this(DEFAULT_MAX_SCORE);
+    }
+
+    /**
+     * Constructs a RankIndex.
+     *
+     * @param maxScore The largest score kept apart from the ones above it.
+     */
+    public RankIndex(int maxScore) {
+        if (maxScore < 0 || maxScore == Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid score range " + maxScore);
+        this.maxScore = maxScore;
+        this.tree = new int[maxScore + 2];
+        this.topBit = Integer.highestOneBit(maxScore + 1);
+    }
+
+    /**
+     * Adds a score.
+     *
+     * @param score The score, negative scores are counted as 0.
+     */
+    public void add(long score) {
+        update(clamp(score), 1);
+        size++;
+    }
+
+    /**
+     * Removes a previously added score.
+     *
+     * @param score The score to remove.
+     * @throws IllegalArgumentException if the score is not in the index.
+     */
+    public void remove(long score) {
+        int index = clamp(score);
+        if (countBelow(index + 1) == countBelow(index))
+            throw new IllegalArgumentException("Score " + score + " is not in the index");
+        update(index, -1);
+        size--;
+    }
+
+    /**
+     * Returns the rank a score would have: one more than the number of strictly better scores.
+     *
+     * @param score The score.
+     * @return the rank, 1 for the best score.
+     */
+    public long rankOf(long score) {
+        return countBelow(clamp(score)) + 1;
+    }
+
+    /**
+     * Returns the percentage of the scores, which are not worse than the given one, the "top X%" of a player.
+     *
+     * @param score The score.
+     * @return the percentage between 0 and 100, 100 if the index is empty.
+     */
+    public double topPercent(long score) {
+        return size == 0 ? 100 : 100.0 * countBelow(clamp(score) + 1) / size;
+    }
+
+    /**
+     * Returns the score at the given rank.
+     *
+     * @param rank The rank, between 1 and {@link #size()}.
+     * @return the score of the rank.
+     * @throws IndexOutOfBoundsException if there is no such rank.
+     */
+    public long scoreAt(long rank) {
+        if (rank < 1 || rank > size)
+            throw new IndexOutOfBoundsException("Rank " + rank + " of " + size);
+        int position = 0;
+        long remaining = rank;
+        for (int step = topBit; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Reads a page of consecutive ranks.
+     *
+     * @param fromRank The first rank of the page.
+     * @param count    The most scores to read.
+     * @return the scores of the ranks, shorter than the count at the end of the index.
+     */
+    public long[] range(long fromRank, int count) {
+        if (fromRank < 1)
+            throw new IndexOutOfBoundsException("Rank " + fromRank);
+        int length = (int) Math.max(0, Math.min(count, size - fromRank + 1));
+        long[] result = new long[length];
+        if (length == 0)
+            return result;
+        long score = 0;
+        long left = 0;
+        for (int i = 0; i < length; i++) {
+            if (left == 0) {
+                score = scoreAt(fromRank + i);
+                left = countBelow((int) score + 1) - (fromRank + i) + 1;
+            }
+            result[i] = score;
+            left--;
+        }
+        return result;
+    }
+
+    /**
+     * Adds every score of another index. The tree is a sum of counts, so the trees are merged by adding them.
+     *
+     * @param other The other index, with the same maximum score.
+     */
+    public void merge(RankIndex other) {
+        if (other.maxScore != maxScore)
+            throw new IllegalArgumentException("Rank indexes of different score ranges can not be merged");
+        for (int i = 0; i < tree.length; i++)
+            tree[i] += other.tree[i];
+        size += other.size;
+    }
+
+    /**
+     * Removes every score.
+     */
+    public void clear() {
+        Arrays.fill(tree, 0);
+        size = 0;
+    }
+
+    public final long size() {
+        return size;
+    }
+
+    public final int getMaxScore() {
+        return maxScore;
+    }
+
+    /**
+     * Maps a score into the range of the index.
+     *
+     * @param score The score.
+     * @return the score limited to [0, {@link #maxScore}].
+     */
+    private int clamp(long score) {
+        return (int) Math.max(0, Math.min(score, maxScore));
+    }
+
+    /**
+     * Adds to the count of a score.
+     *
+     * @param score The score.
+     * @param delta The change of the count.
+     */
+    private void update(int score, int delta) {
+        for (int i = score + 1; i < tree.length; i += i & -i)
+            tree[i] += delta;
+    }
+
+    /**
+     * Counts the scores lower than the given one.
+     *
+     * @param score The score.
+     * @return the number of strictly lower scores.
+     */
+    private long countBelow(int score) {
+        long result = 0;
+        for (int i = score; i > 0; i -= i & -i)
+            result += tree[i];
+        return result;
+    }
+}
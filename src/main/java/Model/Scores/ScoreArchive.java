@@ -0,0 +1,297 @@
+package Model.Scores;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Reads a score archive written by {@link ScoreArchiveWriter}.
+ * <p>
+ * Opening reads only the trailer, the dictionary and the block index. A scan then reads the blocks one at a time,
+ * skipping the blocks whose minimum and maximum do not overlap the queried range, and unpacking only the columns the
+ * scan needs: {@link #scanScores(LongConsumer)} never touches the names and the timestamps. The class is not
+ * thread-safe.
+ */
+public class ScoreArchive implements Closeable {
+
+    /**
+     * The file read.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The distinct names, in the order of their ids.
+     */
+    private final String[] dictionary;
+
+    /**
+     * The index of the blocks.
+     */
+    private final ScoreArchiveWriter.BlockInfo[] blocks;
+
+    /**
+     * The number of entries in the archive.
+     */
+    private final long size;
+
+    /**
+     * Reused buffer of the block being decoded, followed by at least 16 spare bytes.
+     */
+    private byte[] buffer = new byte[1 << 16];
+
+    /**
+     * Little-endian view of the {@link #buffer}, reading whole words of the packed columns.
+     */
+    private ByteBuffer words = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The bit widths of the name, score and timestamp columns of the current block.
+     */
+    private int nameBits, scoreBits, timeBits;
+
+    /**
+     * The positions of the name, score and timestamp columns of the current block, in bits.
+     */
+    private int names, scores, times;
+
+    /**
+     * Opens an archive.
+     *
+     * @param file The archive.
+     * @throws IOException if the file can not be read, or it is not a score archive.
+     */
+    public ScoreArchive(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (length < 16 || readHeader() != ScoreArchiveWriter.MAGIC)
+                throw new StreamCorruptedException("Not a score archive " + file);
+            ByteBuffer trailer = ByteBuffer.allocate(12);
+            readFully(trailer, length - 12);
+            long dictionaryOffset = trailer.getLong(0);
+            if (trailer.getInt(8) != ScoreArchiveWriter.MAGIC || dictionaryOffset < 4 || dictionaryOffset > length - 12)
+                throw new StreamCorruptedException("Truncated score archive " + file);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(
+                    Channels.newInputStream(channel.position(dictionaryOffset)), 1 << 16));
+            int nameCount = input.readInt();
+            if (nameCount < 0)
+                throw new StreamCorruptedException("Invalid dictionary size " + nameCount);
+            dictionary = new String[nameCount];
+            for (int i = 0; i < nameCount; i++)
+                dictionary[i] = input.readUTF();
+            int blockCount = input.readInt();
+            if (blockCount < 0 || blockCount > length / 4)
+                throw new StreamCorruptedException("Invalid block count " + blockCount);
+            blocks = new ScoreArchiveWriter.BlockInfo[blockCount];
+            long total = 0;
+            for (int i = 0; i < blockCount; i++) {
+                blocks[i] = new ScoreArchiveWriter.BlockInfo(input.readLong(), input.readInt(), input.readInt(),
+                        input.readLong(), input.readLong(), input.readLong(), input.readLong());
+                if (blocks[i].offset < 4 || blocks[i].length < 0
+                        || blocks[i].offset + blocks[i].length > dictionaryOffset)
+                    throw new StreamCorruptedException("Invalid block " + i);
+                total += blocks[i].count;
+            }
+            size = total;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether a file starts with the magic number of an archive.
+     *
+     * @param file The file.
+     * @return true, if the file looks like a score archive.
+     * @throws IOException if the file can not be read.
+     */
+    public static boolean isArchive(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            DataInputStream data = new DataInputStream(input);
+            return data.readInt() == ScoreArchiveWriter.MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads every entry.
+     *
+     * @param consumer Receives the entries, in the order they were written.
+     * @throws IOException if the archive can not be read, or it is corrupted.
+     */
+    public void scan(Consumer<ScoreEntry> consumer) throws IOException {
+        scan(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Reads the entries within a score and a time range, skipping the blocks outside of the ranges.
+     *
+     * @param minScore The smallest score read.
+     * @param maxScore The largest score read.
+     * @param fromTime The earliest timestamp read.
+     * @param toTime   The latest timestamp read, inclusive.
+     * @param consumer Receives the entries, in the order they were written.
+     * @throws IOException if the archive can not be read, or it is corrupted.
+     */
+    public void scan(long minScore, long maxScore, long fromTime, long toTime, Consumer<ScoreEntry> consumer)
+            throws IOException {
+        for (ScoreArchiveWriter.BlockInfo block : blocks) {
+            if (block.maxScore < minScore || block.minScore > maxScore || block.maxTime < fromTime
+                    || block.minTime > toTime)
+                continue;
+            readBlock(block);
+            long time = block.minTime;
+            for (int i = 0; i < block.count; i++) {
+                long zigzag = unpack(times + i * timeBits, timeBits);
+                time += zigzag >>> 1 ^ -(zigzag & 1);
+                long score = block.minScore + unpack(scores + i * scoreBits, scoreBits);
+                if (score < minScore || score > maxScore || time < fromTime || time > toTime)
+                    continue;
+                long id = unpack(names + i * nameBits, nameBits);
+                if (id >= dictionary.length)
+                    throw new StreamCorruptedException("Invalid name id " + id);
+                consumer.accept(new ScoreEntry(dictionary[(int) id], score, time));
+            }
+        }
+    }
+
+    /**
+     * Reads the scores only, for rebuilding a {@link RankIndex} or a {@link QuantileSketch}.
+     *
+     * @param consumer Receives the scores, in the order they were written.
+     * @throws IOException if the archive can not be read, or it is corrupted.
+     */
+    public void scanScores(LongConsumer consumer) throws IOException {
+        for (ScoreArchiveWriter.BlockInfo block : blocks) {
+            readBlock(block);
+            for (int i = 0; i < block.count; i++)
+                consumer.accept(block.minScore + unpack(scores + i * scoreBits, scoreBits));
+        }
+    }
+
+    public final long size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of blocks.
+     *
+     * @return the number of blocks in the archive.
+     */
+    public int blockCount() {
+        return blocks.length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads a block into the buffer, and locates its columns.
+     *
+     * @param block The index entry of the block.
+     * @throws IOException if the block can not be read, or its header does not match the index.
+     */
+    private void readBlock(ScoreArchiveWriter.BlockInfo block) throws IOException {
+        if (buffer.length < block.length + 16) {
+            buffer = new byte[Math.max(block.length + 16, buffer.length * 2)];
+            words = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        readFully(ByteBuffer.wrap(buffer, 0, block.length), block.offset);
+        int cursor = 0;
+        long count = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (cursor >= block.length || shift > 28)
+                throw new StreamCorruptedException("Invalid block header");
+            byte b = buffer[cursor++];
+            count |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                break;
+        }
+        if (count != block.count || cursor + 3 > block.length)
+            throw new StreamCorruptedException("Block header does not match the index");
+        nameBits = buffer[cursor++];
+        scoreBits = buffer[cursor++];
+        timeBits = buffer[cursor++];
+        if (nameBits < 0 || nameBits > 64 || scoreBits < 0 || scoreBits > 64 || timeBits < 0 || timeBits > 64)
+            throw new StreamCorruptedException("Invalid column width");
+        names = cursor * 8;
+        scores = names + columnBytes(block.count, nameBits) * 8;
+        times = scores + columnBytes(block.count, scoreBits) * 8;
+        if (times / 8 + columnBytes(block.count, timeBits) != block.length)
+            throw new StreamCorruptedException("Block length does not match its columns");
+    }
+
+    /**
+     * Returns the number of bytes of a packed column.
+     *
+     * @param count The number of values.
+     * @param bits  The number of bits of each value.
+     * @return the length of the column.
+     */
+    private static int columnBytes(int count, int bits) {
+        return (int) (((long) count * bits + 7) / 8);
+    }
+
+    /**
+     * Unpacks a value of a column of the current block.
+     *
+     * @param position The position of the value in the buffer, in bits.
+     * @param bits     The number of bits of the value.
+     * @return the value.
+     */
+    private long unpack(int position, int bits) {
+        if (bits == 0)
+            return 0;
+        int index = position >>> 3;
+        int shift = position & 7;
+        long word = words.getLong(index) >>> shift;
+        if (shift + bits > 64)
+            word |= (buffer[index + 8] & 0xFFL) << (64 - shift);
+        return bits == 64 ? word : word & (1L << bits) - 1;
+    }
+
+    /**
+     * Reads the first four bytes of the file.
+     *
+     * @return the magic number.
+     * @throws IOException if the file can not be read.
+     */
+    private int readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(4);
+        readFully(header, 0);
+        return header.getInt(0);
+    }
+
+    /**
+     * Fills a buffer from the given position of the file.
+     *
+     * @param target   The buffer.
+     * @param position The position in the file.
+     * @throws IOException if the file ends before the buffer is full.
+     */
+    private void readFully(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position);
+            if (read < 0)
+                throw new EOFException("Truncated score archive");
+            position += read;
+        }
+    }
+}
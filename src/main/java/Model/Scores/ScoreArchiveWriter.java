@@ -0,0 +1,357 @@
+package Model.Scores;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the score history into a columnar, compressed archive, read back by {@link ScoreArchive}.
+ * <p>
+ * The entries are grouped into blocks, and each block stores its columns one after the other, every column bit-packed
+ * with the fewest bits its largest value of the block needs: the names as ids into a dictionary of the distinct
+ * names, the scores relative to the smallest score of the block, and the timestamps as zigzag encoded differences to
+ * the previous one. The block starts with the entry count and the bit width of each column, so a reader can compute
+ * where each column starts and skip the columns it does not need. After the blocks come the dictionary, the index of
+ * the blocks with the minimum and maximum score and timestamp of each block, and a trailer with the position of the
+ * dictionary and the {@link #MAGIC} number. A typical result takes about 4 bytes, a column of equal values none.
+ */
+public class ScoreArchiveWriter implements Closeable {
+
+    /**
+     * The magic number at the start and the end of the archive.
+     */
+    static final int MAGIC = 0x53434132;
+
+    /**
+     * The default number of entries of a block.
+     */
+    public static final int DEFAULT_BLOCK = 4096;
+
+    /**
+     * The stream written.
+     */
+    private final DataOutputStream output;
+
+    /**
+     * The number of entries of a block.
+     */
+    private final int blockSize;
+
+    /**
+     * The ids of the names in the dictionary.
+     */
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * The distinct names, in the order of their ids.
+     */
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * The index of the written blocks.
+     */
+    private final List<BlockInfo> blocks = new ArrayList<>();
+
+    /**
+     * The name ids of the current block.
+     */
+    private long[] nameIds;
+
+    /**
+     * The scores of the current block.
+     */
+    private long[] scores;
+
+    /**
+     * The timestamps of the current block.
+     */
+    private long[] timestamps;
+
+    /**
+     * The number of entries in the current block.
+     */
+    private int count;
+
+    /**
+     * Reused buffer of the encoded columns.
+     */
+    private byte[] buffer = new byte[1 << 16];
+
+    /**
+     * The number of bytes written so far.
+     */
+    private long position;
+
+    /**
+     * Constructs a ScoreArchiveWriter with blocks of {@link #DEFAULT_BLOCK} entries.
+     *
+     * @param output The stream to write, it is closed with the writer.
+     * @throws IOException if the stream can not be written.
+     */
+    public ScoreArchiveWriter(OutputStream output) throws IOException {
+        this(output, DEFAULT_BLOCK);
+    }
+
+    /**
+     * Constructs a ScoreArchiveWriter, writing the magic number.
+     *
+     * @param output    The stream to write, it is closed with the writer.
+     * @param blockSize The number of entries of a block.
+     * @throws IOException if the stream can not be written.
+     */
+    public ScoreArchiveWriter(OutputStream output, int blockSize) throws IOException {
+        if (blockSize < 1)
+            throw new IllegalArgumentException("Blocks must hold at least one entry");
+        this.output = new DataOutputStream(new BufferedOutputStream(output, 1 << 16));
+        this.blockSize = blockSize;
+        nameIds = new long[blockSize];
+        scores = new long[blockSize];
+        timestamps = new long[blockSize];
+        this.output.writeInt(MAGIC);
+        position = 4;
+    }
+
+    /**
+     * Converts a JSON score file into an archive, streaming the records.
+     *
+     * @param json    The JSON score file, see {@link ScoreJsonLoader}.
+     * @param archive The archive to write.
+     * @return the number of entries converted.
+     * @throws IOException if the file can not be read, it is not a score file, or the archive can not be written.
+     */
+    public static long convert(Path json, Path archive) throws IOException {
+        try (Reader reader = Files.newBufferedReader(json);
+             ScoreArchiveWriter writer = new ScoreArchiveWriter(Files.newOutputStream(archive))) {
+            return new ScoreJsonLoader().load(reader, entry -> {
+                try {
+                    writer.write(entry);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Adds an entry, writing the current block when it becomes full.
+     *
+     * @param entry The entry.
+     * @throws IOException if the stream can not be written.
+     */
+    public void write(ScoreEntry entry) throws IOException {
+        String name = entry.getName() == null ? "" : entry.getName();
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        nameIds[count] = id;
+        scores[count] = entry.getScore();
+        timestamps[count] = entry.getTimestamp();
+        if (++count == blockSize)
+            writeBlock();
+    }
+
+    /**
+     * Writes the last block, the dictionary, the index and the trailer, and closes the stream.
+     *
+     * @throws IOException if the stream can not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (count > 0)
+            writeBlock();
+        long dictionary = position;
+        output.writeInt(names.size());
+        for (String name : names)
+            output.writeUTF(name);
+        output.writeInt(blocks.size());
+        for (BlockInfo block : blocks) {
+            output.writeLong(block.offset);
+            output.writeInt(block.length);
+            output.writeInt(block.count);
+            output.writeLong(block.minScore);
+            output.writeLong(block.maxScore);
+            output.writeLong(block.minTime);
+            output.writeLong(block.maxTime);
+        }
+        output.writeLong(dictionary);
+        output.writeInt(MAGIC);
+        output.close();
+    }
+
+    /**
+     * Encodes and writes the current block.
+     *
+     * @throws IOException if the stream can not be written.
+     */
+    private void writeBlock() throws IOException {
+        long maxId = 0;
+        long minScore = Long.MAX_VALUE;
+        long maxScore = Long.MIN_VALUE;
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            maxId = Math.max(maxId, nameIds[i]);
+            minScore = Math.min(minScore, scores[i]);
+            maxScore = Math.max(maxScore, scores[i]);
+            minTime = Math.min(minTime, timestamps[i]);
+            maxTime = Math.max(maxTime, timestamps[i]);
+        }
+        long scoreRange = 0;
+        long previous = minTime;
+        long timeRange = 0;
+        for (int i = 0; i < count; i++) {
+            scores[i] -= minScore;
+            scoreRange |= scores[i];
+            long delta = timestamps[i] - previous;
+            previous = timestamps[i];
+            timestamps[i] = delta << 1 ^ delta >> 63;
+            timeRange |= timestamps[i];
+        }
+        int nameBits = 64 - Long.numberOfLeadingZeros(maxId);
+        int scoreBits = 64 - Long.numberOfLeadingZeros(scoreRange);
+        int timeBits = 64 - Long.numberOfLeadingZeros(timeRange);
+        ensure(count * 24 + 16);
+        int length = putVarint(buffer, 0, count);
+        buffer[length++] = (byte) nameBits;
+        buffer[length++] = (byte) scoreBits;
+        buffer[length++] = (byte) timeBits;
+        length = pack(length, nameIds, nameBits);
+        length = pack(length, scores, scoreBits);
+        length = pack(length, timestamps, timeBits);
+        output.write(buffer, 0, length);
+        blocks.add(new BlockInfo(position, length, count, minScore, maxScore, minTime, maxTime));
+        position += length;
+        count = 0;
+    }
+
+    /**
+     * Bit-packs a column of the current block into the buffer, starting at a byte boundary.
+     *
+     * @param position The position of the first byte.
+     * @param values   The values of the column, each fitting into the given number of bits.
+     * @param bits     The number of bits of each value.
+     * @return the position after the last byte of the column.
+     */
+    private int pack(int position, long[] values, int bits) {
+        long word = 0;
+        int filled = 0;
+        for (int i = 0; i < count && bits > 0; i++) {
+            word |= values[i] << filled;
+            filled += bits;
+            if (filled >= 64) {
+                for (int b = 0; b < 64; b += 8)
+                    buffer[position++] = (byte) (word >>> b);
+                filled -= 64;
+                word = filled == 0 ? 0 : values[i] >>> (bits - filled);
+            }
+        }
+        for (int b = 0; b < filled; b += 8)
+            buffer[position++] = (byte) (word >>> b);
+        return position;
+    }
+
+    /**
+     * Grows the buffer to hold the given number of bytes.
+     *
+     * @param bytes The number of bytes.
+     */
+    private void ensure(int bytes) {
+        if (buffer.length < bytes)
+            buffer = Arrays.copyOf(buffer, Math.max(bytes, buffer.length * 2));
+    }
+
+    /**
+     * Stores an unsigned varint.
+     *
+     * @param bytes    The buffer.
+     * @param position The position of the first byte.
+     * @param value    The value.
+     * @return the position after the last byte.
+     */
+    private static int putVarint(byte[] bytes, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[position++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * The index entry of a block.
+     */
+    static final class BlockInfo {
+
+        /**
+         * The position of the block in the archive.
+         */
+        final long offset;
+
+        /**
+         * The length of the block in bytes.
+         */
+        final int length;
+
+        /**
+         * The number of entries of the block.
+         */
+        final int count;
+
+        /**
+         * The smallest score of the block.
+         */
+        final long minScore;
+
+        /**
+         * The largest score of the block.
+         */
+        final long maxScore;
+
+        /**
+         * The earliest timestamp of the block.
+         */
+        final long minTime;
+
+        /**
+         * The latest timestamp of the block.
+         */
+        final long maxTime;
+
+        /**
+         * Constructs a BlockInfo.
+         *
+         * @param offset   The position of the block in the archive.
+         * @param length   The length of the block in bytes.
+         * @param count    The number of entries of the block.
+         * @param minScore The smallest score of the block.
+         * @param maxScore The largest score of the block.
+         * @param minTime  The earliest timestamp of the block.
+         * @param maxTime  The latest timestamp of the block.
+         */
+        BlockInfo(long offset, int length, int count, long minScore, long maxScore, long minTime, long maxTime) {
+            this.offset = offset;
+            this.length = length;
+            this.count = count;
+            this.minScore = minScore;
+            this.maxScore = maxScore;
+            this.minTime = minTime;
+            this.maxTime = maxTime;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package Model.Scores;
+
+import java.util.Objects;
+
+/**
+ * An immutable result of a player. Scores are game times in seconds, so a lower score is a better one.
+ */
+public final class ScoreEntry {
+
+    /**
+     * The name of the player.
+     */
+    private final String name;
+
+    /**
+     * The score achieved by the player.
+     */
+    private final long score;
+
+    /**
+     * The time the score was achieved, in milliseconds since the epoch, 0 if it is unknown.
+     */
+    private final long timestamp;
+
+    /**
+     * Constructs a ScoreEntry, achieved at an unknown time.
+     *
+     * @param name  The name of the player.
+     * @param score The score achieved by the player.
+     */
+    public ScoreEntry(String name, long score) {
+        this(name, score, 0);
+    }
+
+    /**
+     * Constructs a ScoreEntry.
+     *
+     * @param name      The name of the player.
+     * @param score     The score achieved by the player.
+     * @param timestamp The time the score was achieved, in milliseconds since the epoch.
+     */
+    public ScoreEntry(String name, long score, long timestamp) {
+        this.name = name;
+        this.score = score;
+        this.timestamp = timestamp;
+    }
+
+    public final String getName() {
+        return name;
+    }
+
+    public final long getScore() {
+        return score;
+    }
+
+    public final long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ScoreEntry))
+            return false;
+        ScoreEntry other = (ScoreEntry) o;
+        return score == other.score && timestamp == other.timestamp && Objects.equals(name, other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, score, timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + score;
+    }
+}
@@ -0,0 +1,262 @@
+package Model.Scores;
+
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * Remembers how far a JSON score file has been parsed, so the records appended to it later can be parsed alone.
+ * <p>
+ * The parsed part of the file is everything up to its last record, without the whitespace and the closing bracket of
+ * its array after it, identified by its length and its CRC-32. When the file changes, {@link #loadAppended(Consumer)}
+ * checks whether that part is still the same, and parses only the records after it. Rewriting an earlier record
+ * changes the checksum, and then the file has to be loaded again with {@link #load(Consumer)}. Records written by the
+ * owner of the file are added with {@link #append(List)}, which marks them as parsed. The class is not thread-safe.
+ */
+public class ScoreFileTail {
+
+    /**
+     * The size of the read buffers.
+     */
+    private static final int BUFFER = 1 << 16;
+
+    /**
+     * The bytes read from the end of the file, looking for the closing bracket.
+     */
+    private static final int TRAILER = 4096;
+
+    /**
+     * The JSON score file.
+     */
+    private final Path file;
+
+    /**
+     * The end of the parsed content, -1 before the first load.
+     */
+    private long parsed = -1;
+
+    /**
+     * The CRC-32 of the bytes before {@link #parsed}.
+     */
+    private long checksum;
+
+    /**
+     * Whether the parsed array has no records.
+     */
+    private boolean empty;
+
+    /**
+     * Constructs a ScoreFileTail, nothing is read until the first load.
+     *
+     * @param file The JSON score file.
+     */
+    public ScoreFileTail(Path file) {
+        if (file == null)
+            throw new IllegalArgumentException("ScoreFileTail cannot be instantiated, without a file");
+        this.file = file;
+    }
+
+    /**
+     * Parses every record of the file.
+     *
+     * @param consumer Receives the records in the order of the file.
+     * @return the number of records.
+     * @throws IOException if the file can not be read, or it is not a score array. The remembered state is kept.
+     */
+    public long load(Consumer<ScoreEntry> consumer) throws IOException {
+        long end = contentEnd();
+        CRC32 crc = new CRC32();
+        long records;
+        try (InputStream input = new CheckedInputStream(new ScoreJsonLoader.BoundedInputStream(
+                new BufferedInputStream(Files.newInputStream(file), BUFFER), end), crc);
+             Reader reader = new InputStreamReader(new SequenceInputStream(input,
+                     new ByteArrayInputStream(new byte[]{']'})), StandardCharsets.UTF_8)) {
+            records = new ScoreJsonLoader().load(reader, consumer);
+            byte[] rest = new byte[BUFFER];
+            while (input.read(rest) >= 0)
+                ;
+        }
+        parsed = end;
+        checksum = crc.getValue();
+        empty = records == 0;
+        return records;
+    }
+
+    /**
+     * Parses the records appended since the last load, if the parsed part of the file did not change.
+     *
+     * @param consumer Receives the appended records in the order of the file, it may receive some of them even if
+     *                 parsing fails later.
+     * @return true, if only records were appended, false if the file has to be loaded again.
+     * @throws IOException if the file can not be read, or the appended part is not a list of score records.
+     */
+    public boolean loadAppended(Consumer<ScoreEntry> consumer) throws IOException {
+        if (parsed < 0)
+            return false;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() <= parsed)
+                return false;
+            CRC32 crc = new CRC32();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER);
+            for (long position = 0; position < parsed; ) {
+                buffer.clear().limit((int) Math.min(BUFFER, parsed - position));
+                int read = channel.read(buffer, position);
+                if (read < 0)
+                    return false;
+                crc.update(buffer.array(), 0, read);
+                position += read;
+            }
+            if (crc.getValue() != checksum)
+                return false;
+            long end = contentEnd(channel);
+            if (end < parsed || end - parsed > Integer.MAX_VALUE - 2)
+                return false;
+            byte[] tail = new byte[(int) (end - parsed)];
+            ByteBuffer target = ByteBuffer.wrap(tail);
+            while (target.hasRemaining())
+                if (channel.read(target, parsed + target.position()) < 0)
+                    return false;
+            int start = 0;
+            while (start < tail.length && Character.isWhitespace(tail[start]))
+                start++;
+            if (start < tail.length && tail[start] == ',' && !empty)
+                start++;
+            InputStream records = new SequenceInputStream(new ByteArrayInputStream(new byte[]{'['}),
+                    new SequenceInputStream(new ByteArrayInputStream(tail, start, tail.length - start),
+                            new ByteArrayInputStream(new byte[]{']'})));
+            long count = new ScoreJsonLoader().load(new InputStreamReader(records, StandardCharsets.UTF_8), consumer);
+            crc.update(tail);
+            parsed = end;
+            checksum = crc.getValue();
+            empty &= count == 0;
+            return true;
+        }
+    }
+
+    /**
+     * Appends records to the parsed array, replacing the file atomically. The appended records count as parsed, so
+     * {@link #loadAppended(Consumer)} does not return them again.
+     *
+     * @param entries The records to append.
+     * @throws IOException if the file can not be written, or its parsed part changed since the last load.
+     */
+    public void append(List<ScoreEntry> entries) throws IOException {
+        if (parsed < 0)
+            throw new IllegalStateException("The file has to be loaded before appending");
+        if (entries.isEmpty())
+            return;
+        StringBuilder text = new StringBuilder();
+        boolean first = empty;
+        for (ScoreEntry entry : entries) {
+            text.append(first ? "\n  " : ",\n  ").append(toJson(entry));
+            first = false;
+        }
+        byte[] appended = text.toString().getBytes(StandardCharsets.UTF_8);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (InputStream source = new BufferedInputStream(Files.newInputStream(file), BUFFER);
+             OutputStream output = Files.newOutputStream(temporary)) {
+            InputStream input = new CheckedInputStream(new ScoreJsonLoader.BoundedInputStream(source, parsed), crc);
+            byte[] buffer = new byte[BUFFER];
+            long copied = 0;
+            for (int read; (read = input.read(buffer)) >= 0; copied += read)
+                output.write(buffer, 0, read);
+            int brackets = 0;
+            for (int b; (b = source.read()) >= 0; )
+                if (b == ']')
+                    brackets++;
+                else if (!Character.isWhitespace(b))
+                    brackets = 2;
+            if (copied != parsed || crc.getValue() != checksum || brackets != 1)
+                throw new IOException(file + " changed since it was parsed");
+            output.write(appended);
+            output.write("\n]\n".getBytes(StandardCharsets.UTF_8));
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        crc.update(appended);
+        parsed += appended.length;
+        checksum = crc.getValue();
+        empty = false;
+    }
+
+    public final Path getFile() {
+        return file;
+    }
+
+    /**
+     * Formats a record on a single line, in the format read by {@link ScoreJsonLoader}.
+     *
+     * @param entry The record.
+     * @return the JSON object.
+     * @throws IOException never, the record is written to memory.
+     */
+    private static String toJson(ScoreEntry entry) throws IOException {
+        StringWriter result = new StringWriter();
+        JsonWriter writer = new JsonWriter(result);
+        writer.beginObject().name("name").value(entry.getName()).name("score").value(entry.getScore());
+        if (entry.getTimestamp() != 0)
+            writer.name("timestamp").value(entry.getTimestamp());
+        writer.endObject().flush();
+        return result.toString();
+    }
+
+    /**
+     * Finds the end of the content of the array of the file.
+     *
+     * @return the position after the last character before the closing bracket, which is not whitespace.
+     * @throws IOException if the file can not be read, or it does not end with a closing bracket.
+     */
+    private long contentEnd() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return contentEnd(channel);
+        }
+    }
+
+    /**
+     * Finds the end of the content of the array of the file. The closing bracket has to be the last character other
+     * than whitespace, and it has to be within the last {@link #TRAILER} bytes together with the content before it.
+     *
+     * @param channel The opened file.
+     * @return the position after the last character before the closing bracket, which is not whitespace.
+     * @throws IOException if the file can not be read, or it does not end with a closing bracket.
+     */
+    private long contentEnd(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int length = (int) Math.min(size, TRAILER);
+        ByteBuffer trailer = ByteBuffer.allocate(length);
+        while (trailer.hasRemaining())
+            if (channel.read(trailer, size - length + trailer.position()) < 0)
+                throw new MalformedJsonException(file + " was truncated while reading");
+        boolean closed = false;
+        for (int i = length - 1; i >= 0; i--) {
+            byte b = trailer.get(i);
+            if (closed && !Character.isWhitespace(b))
+                return size - length + i + 1;
+            if (b == ']' && !closed)
+                closed = true;
+            else if (!Character.isWhitespace(b))
+                break;
+        }
+        throw new MalformedJsonException(file + " does not end with a closing bracket");
+    }
+}
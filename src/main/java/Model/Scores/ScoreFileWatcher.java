@@ -0,0 +1,193 @@
+package Model.Scores;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a single score file with a {@link WatchService}, and calls back when its content may have changed.
+ * <p>
+ * The service watches the directory of the file, the events of other files are ignored. Editors and exporters
+ * often touch a file several times while writing it, so the events are collected for a short settle time, and the
+ * callback only runs if the size or the modification time of the file differs from the last call.
+ */
+public class ScoreFileWatcher implements Closeable {
+
+    /**
+     * The default time in milliseconds the events are collected for, before calling back.
+     */
+    public static final long DEFAULT_SETTLE_MILLIS = 50;
+
+    /**
+     * The watched file.
+     */
+    private final Path file;
+
+    /**
+     * Called when the file changed.
+     */
+    private final Runnable onChange;
+
+    /**
+     * The time the events are collected for, in milliseconds.
+     */
+    private final long settleMillis;
+
+    /**
+     * The service delivering the events of the directory.
+     */
+    private final WatchService service;
+
+    /**
+     * The thread waiting for the events.
+     */
+    private final Thread thread;
+
+    /**
+     * The size of the file at the last call back, -1 if it did not exist, guarded by this.
+     */
+    private long lastSize;
+
+    /**
+     * The modification time of the file at the last call back, guarded by this.
+     */
+    private long lastModified;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a ScoreFileWatcher with the {@link #DEFAULT_SETTLE_MILLIS}, and starts watching.
+     *
+     * @param file     The watched file, its directory must exist.
+     * @param onChange Called on the watcher thread, when the file changed.
+     * @throws IOException if the directory can not be watched.
+     */
+    public ScoreFileWatcher(Path file, Runnable onChange) throws IOException {
+        this(file, onChange, DEFAULT_SETTLE_MILLIS);
+    }
+
+    /**
+     * Constructs a ScoreFileWatcher, and starts watching.
+     *
+     * @param file         The watched file, its directory must exist.
+     * @param onChange     Called on the watcher thread, when the file changed.
+     * @param settleMillis The time the events are collected for, before calling back.
+     * @throws IOException if the directory can not be watched.
+     */
+    public ScoreFileWatcher(Path file, Runnable onChange, long settleMillis) throws IOException {
+        if (file == null || onChange == null)
+            throw new IllegalArgumentException("ScoreFileWatcher cannot be instantiated, without a file and a"
+                    + " callback");
+        this.file = file.toAbsolutePath();
+        this.onChange = onChange;
+        this.settleMillis = settleMillis;
+        remember();
+        service = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        thread = new Thread(this::run, "score-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching.
+     *
+     * @throws IOException if the service can not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        service.close();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Takes the current size and modification time of the file as seen, so a change made by the owner of the file
+     * does not call back.
+     */
+    public void acknowledge() {
+        remember();
+    }
+
+    public final Path getFile() {
+        return file;
+    }
+
+    /**
+     * The loop of the watcher thread.
+     */
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean relevant = collect(key);
+                for (WatchKey next; (next = service.poll(settleMillis, TimeUnit.MILLISECONDS)) != null; )
+                    relevant |= collect(next);
+                if (relevant && remember()) {
+                    logger.info("{} changed", file);
+                    try {
+                        onChange.run();
+                    } catch (RuntimeException e) {
+                        logger.error("Handling the change of {} failed: {}", file, e.toString());
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            logger.debug("Stopped watching {}", file);
+        }
+    }
+
+    /**
+     * Takes the events of a key, and resets it.
+     *
+     * @param key The signalled key.
+     * @return true, if any of the events is about the watched file, or events were lost.
+     */
+    private boolean collect(WatchKey key) {
+        boolean result = false;
+        for (WatchEvent<?> event : key.pollEvents())
+            result |= event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context());
+        key.reset();
+        return result;
+    }
+
+    /**
+     * Records the size and the modification time of the file.
+     *
+     * @return true, if either of them differs from the recorded ones.
+     */
+    private synchronized boolean remember() {
+        long size = -1;
+        long modified = 0;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            size = attributes.size();
+            modified = attributes.lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            logger.debug("{} can not be read: {}", file, e.toString());
+        }
+        boolean changed = size != lastSize || modified != lastModified;
+        lastSize = size;
+        lastModified = modified;
+        return changed;
+    }
+}
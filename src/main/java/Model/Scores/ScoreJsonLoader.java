@@ -0,0 +1,390 @@
+package Model.Scores;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Streams the results of a JSON score file, in the format of the {@code top.json} resource: an array of objects
+ * with a {@code name}, a {@code score} and an optional {@code timestamp}.
+ * <p>
+ * The records are parsed one at a time with Gson's {@link JsonReader} and handed to the caller, so loading takes
+ * constant memory regardless of the size of the file. Large files are split into chunks at the commas between the
+ * records of the array: a single scan over the bytes, which only tracks strings and nesting, finds the split points,
+ * and the chunks are parsed in parallel, each wrapped into an array of its own and collected separately.
+ */
+public class ScoreJsonLoader {
+
+    /**
+     * The default smallest chunk in bytes, smaller files are parsed sequentially.
+     */
+    public static final int DEFAULT_MIN_CHUNK = 1 << 20;
+
+    /**
+     * The size of the read buffers.
+     */
+    private static final int BUFFER = 1 << 16;
+
+    /**
+     * The pool parsing the chunks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The smallest chunk in bytes.
+     */
+    private final int minChunk;
+
+    /**
+     * The number of records parsed by the last load.
+     */
+    private final AtomicLong records = new AtomicLong();
+
+    /**
+     * The number of bytes parsed by the last load.
+     */
+    private long bytes;
+
+    /**
+     * The duration of the last load in nanoseconds.
+     */
+    private long elapsedNanos;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a ScoreJsonLoader running on the common {@link ForkJoinPool}.
+     */
+    public ScoreJsonLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MIN_CHUNK);
+    }
+
+    /**
+     * Constructs a ScoreJsonLoader.
+     *
+     * @param pool     The pool parsing the chunks.
+     * @param minChunk The smallest chunk in bytes.
+     */
+    public ScoreJsonLoader(ForkJoinPool pool, int minChunk) {
+        if (pool == null)
+            throw new IllegalArgumentException("ScoreJsonLoader cannot be instantiated, without a pool");
+        if (minChunk < 1)
+            throw new IllegalArgumentException("Chunks must be at least one byte long");
+        this.pool = pool;
+        this.minChunk = minChunk;
+    }
+
+    /**
+     * Streams the records of a JSON score document sequentially.
+     *
+     * @param reader   The document, it is not closed.
+     * @param consumer Receives the records in the order of the document.
+     * @return the number of records.
+     * @throws IOException if the document can not be read, or it is not a score array.
+     */
+    public long load(Reader reader, Consumer<ScoreEntry> consumer) throws IOException {
+        long start = System.nanoTime();
+        records.set(0);
+        bytes = 0;
+        parse(reader, consumer);
+        finish(start);
+        return records.get();
+    }
+
+    /**
+     * Collects the records of a JSON score file, parsing large files in parallel chunks. The chunks are collected
+     * separately and combined in the order of the file.
+     *
+     * @param file      The file.
+     * @param collector Collects the records, its accumulator is only used by a single chunk at a time.
+     * @param <A>       The accumulator type of the collector.
+     * @param <R>       The result type of the collector.
+     * @return the result of the collector.
+     * @throws IOException if the file can not be read, or it is not a score array.
+     */
+    public <A, R> R load(Path file, Collector<ScoreEntry, A, R> collector) throws IOException {
+        long start = System.nanoTime();
+        records.set(0);
+        bytes = Files.size(file);
+        int chunks = (int) Math.max(1, Math.min(pool.getParallelism(), bytes / minChunk));
+        List<Long> splits = chunks == 1 ? Collections.emptyList() : findSplits(file, chunks);
+        BiConsumer<A, ScoreEntry> accumulator = collector.accumulator();
+        BinaryOperator<A> combiner = collector.combiner();
+        List<ForkJoinTask<A>> tasks = new ArrayList<>(splits.size() + 1);
+        for (int i = 0; i <= splits.size(); i++) {
+            long from = i == 0 ? 0 : splits.get(i - 1) + 1;
+            long to = i == splits.size() ? bytes : splits.get(i);
+            boolean first = i == 0;
+            boolean last = i == splits.size();
+            tasks.add(pool.submit(() -> {
+                A container = collector.supplier().get();
+                try (InputStream input = chunk(file, from, to, first, last)) {
+                    parse(new InputStreamReader(input, StandardCharsets.UTF_8), entry -> accumulator.accept(container,
+                            entry));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return container;
+            }));
+        }
+        A result = null;
+        try {
+            for (ForkJoinTask<A> task : tasks)
+                result = result == null ? task.join() : combiner.apply(result, task.join());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        finish(start);
+        return collector.finisher().apply(result);
+    }
+
+    /**
+     * Returns the number of records parsed by the last load.
+     *
+     * @return the number of records.
+     */
+    public long getRecords() {
+        return records.get();
+    }
+
+    /**
+     * Returns the number of bytes parsed by the last load of a file, 0 for a reader.
+     *
+     * @return the number of bytes.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the duration of the last load.
+     *
+     * @return the duration in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the throughput of the last load.
+     *
+     * @return the records parsed per second.
+     */
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : records.get() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Parses a score array.
+     *
+     * @param reader   The document.
+     * @param consumer Receives the records.
+     * @throws IOException if the document can not be read, or it is not a score array.
+     */
+    private void parse(Reader reader, Consumer<ScoreEntry> consumer) throws IOException {
+        try {
+            parseArray(new JsonReader(reader), consumer);
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new MalformedJsonException(e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a score array with the given reader.
+     *
+     * @param json     The reader of the document.
+     * @param consumer Receives the records.
+     * @throws IOException if the document can not be read.
+     */
+    private void parseArray(JsonReader json, Consumer<ScoreEntry> consumer) throws IOException {
+        if (json.peek() == JsonToken.NULL)
+            return;
+        json.beginArray();
+        long count = 0;
+        while (json.hasNext()) {
+            String name = null;
+            long score = 0;
+            long timestamp = 0;
+            json.beginObject();
+            while (json.hasNext()) {
+                String field = json.nextName();
+                if (json.peek() == JsonToken.NULL) {
+                    json.skipValue();
+                    continue;
+                }
+                switch (field) {
+                    case "name":
+                        name = json.nextString();
+                        break;
+                    case "score":
+                        score = json.nextLong();
+                        break;
+                    case "timestamp":
+                        timestamp = json.nextLong();
+                        break;
+                    default:
+                        json.skipValue();
+                }
+            }
+            json.endObject();
+            consumer.accept(new ScoreEntry(name, score, timestamp));
+            count++;
+        }
+        json.endArray();
+        records.addAndGet(count);
+    }
+
+    /**
+     * Records the duration of a load and logs its throughput.
+     *
+     * @param start The start of the load, see {@link System#nanoTime()}.
+     */
+    private void finish(long start) {
+        elapsedNanos = Math.max(1, System.nanoTime() - start);
+        logger.info("Loaded {} scores ({} bytes) in {} ms, {} scores/s", records.get(), bytes,
+                elapsedNanos / 1_000_000, (long) getRecordsPerSecond());
+    }
+
+    /**
+     * Finds the commas between the records of the top level array, nearest after the even split points.
+     *
+     * @param file   The file.
+     * @param chunks The number of chunks wanted.
+     * @return the positions of the splitting commas, in increasing order.
+     * @throws IOException if the file can not be read.
+     */
+    private List<Long> findSplits(Path file, int chunks) throws IOException {
+        List<Long> result = new ArrayList<>(chunks - 1);
+        long size = Files.size(file);
+        long target = size / chunks;
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        byte[] buffer = new byte[BUFFER];
+        long position = 0;
+        try (InputStream input = Files.newInputStream(file)) {
+            for (int read; (read = input.read(buffer)) > 0; position += read)
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (inString) {
+                        if (escaped)
+                            escaped = false;
+                        else if (b == '\\')
+                            escaped = true;
+                        else if (b == '"')
+                            inString = false;
+                    } else if (b == '"')
+                        inString = true;
+                    else if (b == '[' || b == '{')
+                        depth++;
+                    else if (b == ']' || b == '}')
+                        depth--;
+                    else if (b == ',' && depth == 1 && position + i >= target) {
+                        result.add(position + i);
+                        if (result.size() == chunks - 1)
+                            return result;
+                        target = size * (result.size() + 1) / chunks;
+                    }
+                }
+        }
+        return result;
+    }
+
+    /**
+     * Opens a chunk of the file as a complete array.
+     *
+     * @param file  The file.
+     * @param from  The first byte of the chunk.
+     * @param to    The end of the chunk, exclusive.
+     * @param first Whether the chunk starts the file, so it already opens the array.
+     * @param last  Whether the chunk ends the file, so it already closes the array.
+     * @return the stream of the chunk.
+     * @throws IOException if the file can not be read.
+     */
+    private static InputStream chunk(Path file, long from, long to, boolean first, boolean last) throws IOException {
+        InputStream input = Files.newInputStream(file);
+        try {
+            for (long skipped = 0; skipped < from; )
+                skipped += input.skip(from - skipped);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+        InputStream result = new BufferedInputStream(new BoundedInputStream(input, to - from), BUFFER);
+        if (!first)
+            result = new SequenceInputStream(new ByteArrayInputStream(new byte[]{'['}), result);
+        if (!last)
+            result = new SequenceInputStream(result, new ByteArrayInputStream(new byte[]{']'}));
+        return result;
+    }
+
+    /**
+     * Stream ending after a given number of bytes of the underlying stream.
+     */
+    static final class BoundedInputStream extends FilterInputStream {
+
+        /**
+         * The number of bytes still readable.
+         */
+        private long remaining;
+
+        /**
+         * Constructs a BoundedInputStream.
+         *
+         * @param input     The underlying stream, it is closed with this stream.
+         * @param remaining The number of bytes readable.
+         */
+        BoundedInputStream(InputStream input, long remaining) {
+            super(input);
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0)
+                return -1;
+            int result = in.read();
+            if (result >= 0)
+                remaining--;
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0)
+                return -1;
+            int result = in.read(b, off, (int) Math.min(len, remaining));
+            if (result > 0)
+                remaining -= result;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package Model.Scores;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Crash-safe, append-only storage of every {@link ScoreEntry}.
+ * <p>
+ * Each result is appended to the current log file as a record of its payload length, the CRC32 of the payload and
+ * the payload itself, so an append costs a single write regardless of the history. On recovery the logs are replayed
+ * up to the last valid record, and a record torn by a crash is cut off. Once the current log grows beyond a
+ * threshold, a new log is started, and the sealed logs are compacted in the background into a snapshot, which is
+ * written to a temporary file and atomically renamed. The snapshot remembers the generation of the last log it
+ * contains, so logs surviving a crash after the rename are never replayed twice.
+ */
+public class ScoreLog implements Closeable {
+
+    /**
+     * The default size of the current log in bytes, which starts a compaction.
+     */
+    public static final long DEFAULT_COMPACT_BYTES = 1 << 20;
+
+    /**
+     * The magic number at the start of the snapshot.
+     */
+    static final int MAGIC = 0x53434C31;
+
+    /**
+     * The name of the snapshot file.
+     */
+    static final String SNAPSHOT = "scores.snapshot";
+
+    /**
+     * The most bytes a record payload may contain.
+     */
+    private static final int MAX_PAYLOAD = 1 << 12;
+
+    /**
+     * The bytes of the payload before the name: the score and the timestamp.
+     */
+    private static final int FIXED_PAYLOAD = 16;
+
+    /**
+     * The directory of the snapshot and the logs.
+     */
+    private final Path directory;
+
+    /**
+     * The size of the current log in bytes, which starts a compaction.
+     */
+    private final long compactBytes;
+
+    /**
+     * Whether each append is forced to the storage device before returning.
+     */
+    private final boolean durable;
+
+    /**
+     * The single background thread compacting the sealed logs.
+     */
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "score-log-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Reused buffer of the records being appended, grown for large batches.
+     */
+    private ByteBuffer buffer = ByteBuffer.allocate(8 + MAX_PAYLOAD);
+
+    /**
+     * Reused checksum of the record being appended.
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * The current log, null before the recovery and after closing.
+     */
+    private FileChannel log;
+
+    /**
+     * The generation of the current log.
+     */
+    private long generation;
+
+    /**
+     * The size of the current log in bytes.
+     */
+    private long logSize;
+
+    /**
+     * The last compaction started, null if none.
+     */
+    private Future<?> compaction;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a ScoreLog compacting after {@link #DEFAULT_COMPACT_BYTES}, without forcing each append.
+     *
+     * @param directory The directory of the snapshot and the logs, it is created when recovering.
+     */
+    public ScoreLog(Path directory) {
+        this(directory, DEFAULT_COMPACT_BYTES, false);
+    }
+
+    /**
+     * Constructs a ScoreLog.
+     *
+     * @param directory    The directory of the snapshot and the logs, it is created when recovering.
+     * @param compactBytes The size of the current log in bytes, which starts a compaction.
+     * @param durable      Whether each append is forced to the storage device, surviving even a crash of the
+     *                     operating system.
+     */
+    public ScoreLog(Path directory, long compactBytes, boolean durable) {
+        if (directory == null)
+            throw new IllegalArgumentException("ScoreLog cannot be instantiated, without a directory");
+        if (compactBytes <= 0)
+            throw new IllegalArgumentException("Compaction threshold must be positive");
+        this.directory = directory;
+        this.compactBytes = compactBytes;
+        this.durable = durable;
+    }
+
+    /**
+     * Replays the snapshot and the logs, cutting off a torn record at the end, and opens the log for appending. It
+     * must be called once, before the first append.
+     *
+     * @param consumer Receives the stored entries, in the order they were appended.
+     * @return the number of entries replayed.
+     * @throws IOException if the files can not be read, or the snapshot is corrupted.
+     */
+    public synchronized long recover(Consumer<ScoreEntry> consumer) throws IOException {
+        if (log != null)
+            throw new IllegalStateException("ScoreLog is already recovered");
+        Files.createDirectories(directory);
+        long[] count = new long[1];
+        Consumer<ScoreEntry> counting = entry -> {
+            count[0]++;
+            consumer.accept(entry);
+        };
+        long covered = readSnapshot(counting);
+        generation = covered + 1;
+        for (long logGeneration : logGenerations()) {
+            Path path = logPath(logGeneration);
+            if (logGeneration <= covered) {
+                Files.deleteIfExists(path);
+                continue;
+            }
+            long valid;
+            try (InputStream input = Files.newInputStream(path)) {
+                valid = readRecords(input, counting);
+            }
+            if (valid < Files.size(path)) {
+                logger.warn("Cutting off {} invalid bytes of {}", Files.size(path) - valid, path);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                    channel.force(true);
+                }
+            }
+            generation = logGeneration;
+        }
+        log = FileChannel.open(logPath(generation), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        logSize = log.size();
+        log.position(logSize);
+        logger.info("Recovered {} scores from {}", count[0], directory);
+        return count[0];
+    }
+
+    /**
+     * Appends an entry to the current log, starting a compaction when the log becomes too large.
+     *
+     * @param entry The entry to store.
+     * @throws IOException if the log can not be written.
+     * @throws IllegalArgumentException if the name of the entry is too long.
+     */
+    public void append(ScoreEntry entry) throws IOException {
+        appendAll(Collections.singletonList(entry));
+    }
+
+    /**
+     * Appends a batch of entries to the current log with a single write, and a single force if the log is durable,
+     * starting a compaction when the log becomes too large. Either every entry is written, or none of them.
+     *
+     * @param entries The entries to store.
+     * @throws IOException if the log can not be written.
+     * @throws IllegalArgumentException if the name of an entry is too long.
+     */
+    public synchronized void appendAll(List<ScoreEntry> entries) throws IOException {
+        if (log == null)
+            throw new IllegalStateException("ScoreLog is not recovered or already closed");
+        if (entries.isEmpty())
+            return;
+        List<byte[]> names = new ArrayList<>(entries.size());
+        int total = 0;
+        for (ScoreEntry entry : entries) {
+            byte[] name = entry.getName() == null ? new byte[0] : entry.getName().getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_PAYLOAD - FIXED_PAYLOAD)
+                throw new IllegalArgumentException("Player name is too long");
+            names.add(name);
+            total += 8 + FIXED_PAYLOAD + name.length;
+        }
+        if (buffer.capacity() < total)
+            buffer = ByteBuffer.allocate(Math.max(total, buffer.capacity() * 2));
+        buffer.clear();
+        for (int i = 0; i < names.size(); i++) {
+            ScoreEntry entry = entries.get(i);
+            byte[] name = names.get(i);
+            int start = buffer.position();
+            buffer.putInt(FIXED_PAYLOAD + name.length).putInt(0);
+            buffer.putLong(entry.getScore()).putLong(entry.getTimestamp()).put(name);
+            crc.reset();
+            crc.update(buffer.array(), start + 8, FIXED_PAYLOAD + name.length);
+            buffer.putInt(start + 4, (int) crc.getValue());
+        }
+        buffer.flip();
+        while (buffer.hasRemaining())
+            logSize += log.write(buffer);
+        if (durable)
+            log.force(false);
+        if (logSize >= compactBytes && (compaction == null || compaction.isDone()))
+            compaction = rotate();
+    }
+
+    /**
+     * Seals the current log, and compacts every sealed log into the snapshot.
+     *
+     * @throws IOException if the files can not be written.
+     */
+    public void compact() throws IOException {
+        Future<?> future;
+        synchronized (this) {
+            if (log == null)
+                throw new IllegalStateException("ScoreLog is not recovered or already closed");
+            future = rotate();
+        }
+        await(future);
+    }
+
+    /**
+     * Waits for the running compaction and closes the current log.
+     *
+     * @throws IOException if the compaction failed, or the log can not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        Future<?> future;
+        synchronized (this) {
+            future = compaction;
+            compactor.shutdown();
+        }
+        try {
+            if (future != null)
+                await(future);
+        } finally {
+            synchronized (this) {
+                if (log != null) {
+                    log.force(true);
+                    log.close();
+                    log = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the generation of the current log.
+     *
+     * @return the generation.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public final Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Starts a new log and submits the compaction of the sealed ones.
+     *
+     * @return the compaction.
+     * @throws IOException if the new log can not be created.
+     */
+    private Future<?> rotate() throws IOException {
+        log.force(true);
+        log.close();
+        long sealed = generation++;
+        log = FileChannel.open(logPath(generation), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        logSize = 0;
+        compaction = compactor.submit(() -> {
+            compactUpTo(sealed);
+            return null;
+        });
+        return compaction;
+    }
+
+    /**
+     * Writes a new snapshot containing the current snapshot and the logs up to the given generation, then deletes
+     * those logs. It only runs on the compactor thread.
+     *
+     * @param sealed The last generation contained by the new snapshot.
+     * @throws IOException if the files can not be read or written.
+     */
+    private void compactUpTo(long sealed) throws IOException {
+        Path temporary = directory.resolve(SNAPSHOT + ".tmp");
+        List<Long> compacted = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel),
+                    1 << 16));
+            output.writeInt(MAGIC);
+            output.writeLong(sealed);
+            CRC32 checksum = new CRC32();
+            IOException[] failure = new IOException[1];
+            Consumer<ScoreEntry> writer = entry -> {
+                try {
+                    writeRecord(output, checksum, entry);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            };
+            long covered = readSnapshot(writer);
+            for (long logGeneration : logGenerations())
+                if (logGeneration > covered && logGeneration <= sealed) {
+                    try (InputStream input = Files.newInputStream(logPath(logGeneration))) {
+                        readRecords(input, writer);
+                    }
+                    compacted.add(logGeneration);
+                }
+            if (failure[0] != null)
+                throw failure[0];
+            output.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(SNAPSHOT), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        for (long logGeneration : compacted)
+            Files.deleteIfExists(logPath(logGeneration));
+        logger.info("Compacted {} logs into the snapshot up to generation {}", compacted.size(), sealed);
+    }
+
+    /**
+     * Replays the snapshot, if there is one.
+     *
+     * @param consumer Receives the entries of the snapshot.
+     * @return the generation of the last log contained by the snapshot, 0 if there is no snapshot.
+     * @throws IOException if the snapshot can not be read, or it is corrupted.
+     */
+    private long readSnapshot(Consumer<ScoreEntry> consumer) throws IOException {
+        Path path = directory.resolve(SNAPSHOT);
+        if (Files.notExists(path))
+            return 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path),
+                1 << 16))) {
+            if (input.readInt() != MAGIC)
+                throw new StreamCorruptedException("Not a score snapshot " + path);
+            long covered = input.readLong();
+            if (12 + readRecords(input, consumer) < Files.size(path))
+                throw new StreamCorruptedException("Corrupted score snapshot " + path);
+            return covered;
+        }
+    }
+
+    /**
+     * Returns the generations of the log files in the directory.
+     *
+     * @return the generations in increasing order.
+     * @throws IOException if the directory can not be listed.
+     */
+    private List<Long> logGenerations() throws IOException {
+        List<Long> result = new ArrayList<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "scores-*.log")) {
+            for (Path path : paths) {
+                String name = path.getFileName().toString();
+                try {
+                    result.add(Long.parseLong(name.substring(7, name.length() - 4)));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring {}", path);
+                }
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the path of the log of the given generation.
+     *
+     * @param logGeneration The generation.
+     * @return the path of the log.
+     */
+    private Path logPath(long logGeneration) {
+        return directory.resolve(String.format("scores-%019d.log", logGeneration));
+    }
+
+    /**
+     * Writes a single record.
+     *
+     * @param output   The stream written.
+     * @param checksum The reused checksum.
+     * @param entry    The entry.
+     * @throws IOException if the stream can not be written.
+     */
+    private static void writeRecord(DataOutputStream output, CRC32 checksum, ScoreEntry entry) throws IOException {
+        byte[] name = entry.getName() == null ? new byte[0] : entry.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] payload = ByteBuffer.allocate(FIXED_PAYLOAD + name.length).putLong(entry.getScore())
+                .putLong(entry.getTimestamp()).put(name).array();
+        checksum.reset();
+        checksum.update(payload);
+        output.writeInt(payload.length);
+        output.writeInt((int) checksum.getValue());
+        output.write(payload);
+    }
+
+    /**
+     * Reads records until the end of the stream, or the first truncated or corrupted record.
+     *
+     * @param input    The stream read.
+     * @param consumer Receives the entries of the valid records.
+     * @return the number of bytes of the valid records.
+     * @throws IOException if the stream can not be read.
+     */
+    static long readRecords(InputStream input, Consumer<ScoreEntry> consumer) throws IOException {
+        DataInputStream data = input instanceof DataInputStream ? (DataInputStream) input
+                : new DataInputStream(new BufferedInputStream(input, 1 << 16));
+        byte[] payload = new byte[MAX_PAYLOAD];
+        CRC32 checksum = new CRC32();
+        long valid = 0;
+        try {
+            while (true) {
+                int length = data.readInt();
+                int expected = data.readInt();
+                if (length < FIXED_PAYLOAD || length > MAX_PAYLOAD)
+                    return valid;
+                data.readFully(payload, 0, length);
+                checksum.reset();
+                checksum.update(payload, 0, length);
+                if ((int) checksum.getValue() != expected)
+                    return valid;
+                ByteBuffer record = ByteBuffer.wrap(payload, 0, length);
+                long score = record.getLong();
+                long timestamp = record.getLong();
+                String name = new String(payload, FIXED_PAYLOAD, length - FIXED_PAYLOAD, StandardCharsets.UTF_8);
+                consumer.accept(new ScoreEntry(name, score, timestamp));
+                valid += 8 + length;
+            }
+        } catch (EOFException e) {
+            return valid;
+        }
+    }
+
+    /**
+     * Waits for a compaction.
+     *
+     * @param future The compaction.
+     * @throws IOException if the compaction failed.
+     */
+    private static void await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compacting", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+    }
+}
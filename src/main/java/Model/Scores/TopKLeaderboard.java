@@ -0,0 +1,172 @@
+package Model.Scores;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Bounded leaderboard keeping the K best {@link ScoreEntry scores} offered to it, lower scores first.
+ * <p>
+ * The entries are kept in a sorted tree, ties are ordered by arrival, so an earlier result stays ahead of a later
+ * one with the same score. Every result is a separate entry, a player can hold several places. Offering a result
+ * costs O(log K), and a result which can not enter the board is rejected with a single comparison. The class is not
+ * thread-safe.
+ */
+public class TopKLeaderboard implements Iterable<ScoreEntry> {
+
+    /**
+     * The default number of places.
+     */
+    public static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The number of places.
+     */
+    private final int capacity;
+
+    /**
+     * The entries on the board, the best first.
+     */
+    private final TreeSet<Node> entries = new TreeSet<>();
+
+    /**
+     * The arrival number of the next offered result.
+     */
+    private long sequence;
+
+    /**
+     * Constructs a TopKLeaderboard with {@link #DEFAULT_CAPACITY} places.
+     */
+    public TopKLeaderboard() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a TopKLeaderboard.
+     *
+     * @param capacity The number of places.
+     */
+    public TopKLeaderboard(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Leaderboard needs at least one place");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Offers a result to the board.
+     *
+     * @param entry The result.
+     * @return true, if the result got onto the board.
+     */
+    public boolean offer(ScoreEntry entry) {
+        long arrival = sequence++;
+        if (entries.size() == capacity) {
+            if (entry.getScore() >= entries.last().entry.getScore())
+                return false;
+            entries.pollLast();
+        }
+        entries.add(new Node(entry, arrival));
+        return true;
+    }
+
+    /**
+     * Offers a result to the board.
+     *
+     * @param name  The name of the player.
+     * @param score The score achieved by the player.
+     * @return true, if the result got onto the board.
+     */
+    public boolean offer(String name, long score) {
+        if (entries.size() == capacity && score >= entries.last().entry.getScore()) {
+            sequence++;
+            return false;
+        }
+        return offer(new ScoreEntry(name, score));
+    }
+
+    /**
+     * Offers every entry of another board, as if they arrived after the results of this board.
+     *
+     * @param other The other board.
+     */
+    public void merge(TopKLeaderboard other) {
+        for (Node node : other.entries)
+            if (!offer(node.entry))
+                break;
+    }
+
+    /**
+     * Returns the entries on the board, the best first.
+     *
+     * @return a new list of the entries.
+     */
+    public List<ScoreEntry> top() {
+        List<ScoreEntry> result = new ArrayList<>(entries.size());
+        for (Node node : entries)
+            result.add(node.entry);
+        return result;
+    }
+
+    /**
+     * Returns the score a result has to beat to get onto a full board.
+     *
+     * @return the worst score on the board, or {@link Long#MAX_VALUE} if the board is not full.
+     */
+    public long threshold() {
+        return entries.size() < capacity ? Long.MAX_VALUE : entries.last().entry.getScore();
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public final int size() {
+        return entries.size();
+    }
+
+    public final int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public Iterator<ScoreEntry> iterator() {
+        return top().iterator();
+    }
+
+    /**
+     * An entry of the tree, ordered by score and arrival.
+     */
+    private static final class Node implements Comparable<Node> {
+
+        /**
+         * The result.
+         */
+        private final ScoreEntry entry;
+
+        /**
+         * The arrival number of the result.
+         */
+        private final long arrival;
+
+        /**
+         * Constructs a Node.
+         *
+         * @param entry   The result.
+         * @param arrival The arrival number of the result.
+         */
+        Node(ScoreEntry entry, long arrival) {
+            this.entry = entry;
+            this.arrival = arrival;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int result = Long.compare(entry.getScore(), other.entry.getScore());
+            return result != 0 ? result : Long.compare(arrival, other.arrival);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package Model.Scores;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persists results to a {@link ScoreLog} on a background thread, so finishing a game never waits for the disk.
+ * <p>
+ * Submitted results wait in a bounded queue. The writer takes the first waiting result, then keeps collecting until
+ * the batch is full or the coalescing window has passed since the first one, and appends the whole batch with a
+ * single write, and a single force when the log is durable (group commit). When the writer falls behind and the
+ * queue fills up, submitting blocks until there is room again, so the memory used stays bounded. Closing writes
+ * every result submitted before.
+ */
+public class WriteBehindPersister implements Closeable {
+
+    /**
+     * The default number of results, which can wait in the queue.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The default largest batch.
+     */
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    /**
+     * The default coalescing window in milliseconds.
+     */
+    public static final long DEFAULT_WINDOW_MILLIS = 10;
+
+    /**
+     * Marks the end of the queue, placed by {@link #close()}.
+     */
+    private static final ScoreEntry STOP = new ScoreEntry(null, 0);
+
+    /**
+     * The log written.
+     */
+    private final ScoreLog log;
+
+    /**
+     * The results waiting to be written.
+     */
+    private final BlockingQueue<ScoreEntry> queue;
+
+    /**
+     * The largest batch.
+     */
+    private final int maxBatch;
+
+    /**
+     * The coalescing window in nanoseconds.
+     */
+    private final long windowNanos;
+
+    /**
+     * Held for reading by {@link #submit(ScoreEntry)} from the check of {@link #closed} until the result is queued, and
+     * for writing by {@link #close()} while closing, so no result can be queued after the end marker.
+     */
+    private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+
+    /**
+     * The background thread writing the batches.
+     */
+    private final Thread writer;
+
+    /**
+     * The number of results submitted, guarded by this.
+     */
+    private long submitted;
+
+    /**
+     * The number of results written or dropped after a failed write, guarded by this.
+     */
+    private long completed;
+
+    /**
+     * The number of results, which could not be written, guarded by this.
+     */
+    private long failed;
+
+    /**
+     * The number of batches written, guarded by this.
+     */
+    private long batches;
+
+    /**
+     * Whether the persister is closed, guarded by this.
+     */
+    private boolean closed;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a WriteBehindPersister with the default queue, batch and window.
+     *
+     * @param log The recovered log to write.
+     */
+    public WriteBehindPersister(ScoreLog log) {
+        this(log, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH, DEFAULT_WINDOW_MILLIS);
+    }
+
+    /**
+     * Constructs a WriteBehindPersister, and starts its writer thread.
+     *
+     * @param log          The recovered log to write, forcing each batch if it is durable.
+     * @param capacity     The number of results, which can wait in the queue.
+     * @param maxBatch     The largest batch.
+     * @param windowMillis The coalescing window in milliseconds, 0 to write whatever is waiting at once.
+     */
+    public WriteBehindPersister(ScoreLog log, int capacity, int maxBatch, long windowMillis) {
+        if (log == null)
+            throw new IllegalArgumentException("WriteBehindPersister cannot be instantiated, without a log");
+        if (capacity < 1 || maxBatch < 1 || windowMillis < 0)
+            throw new IllegalArgumentException("Invalid queue capacity, batch size or window");
+        this.log = log;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = maxBatch;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        writer = new Thread(this::run, "score-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Submits a result to be written, blocking while the queue is full.
+     *
+     * @param entry The result.
+     * @throws InterruptedException if the thread is interrupted while waiting for room in the queue.
+     * @throws IllegalStateException if the persister is closed.
+     */
+    public void submit(ScoreEntry entry) throws InterruptedException {
+        submitLock.readLock().lockInterruptibly();
+        try {
+            synchronized (this) {
+                if (closed)
+                    throw new IllegalStateException("WriteBehindPersister is closed");
+                submitted++;
+            }
+            try {
+                queue.put(entry);
+            } catch (InterruptedException e) {
+                synchronized (this) {
+                    submitted--;
+                    notifyAll();
+                }
+                throw e;
+            }
+        } finally {
+            submitLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits until every result submitted before is written.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public synchronized void flush() throws InterruptedException {
+        long target = submitted;
+        while (completed < target && writer.isAlive())
+            wait();
+    }
+
+    /**
+     * Writes every submitted result, and stops the writer thread. The log is not closed.
+     */
+    @Override
+    public void close() {
+        submitLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                if (closed)
+                    return;
+                closed = true;
+            }
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(STOP);
+                writer.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        logger.info("Score writer stopped after {} batches, {} results failed", getBatches(), getFailed());
+    }
+
+    public final synchronized long getBatches() {
+        return batches;
+    }
+
+    public final synchronized long getFailed() {
+        return failed;
+    }
+
+    /**
+     * The loop of the writer thread.
+     */
+    private void run() {
+        List<ScoreEntry> batch = new ArrayList<>(maxBatch);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                ScoreEntry first = queue.take();
+                if (first == STOP)
+                    return;
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    ScoreEntry next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null)
+                        break;
+                    if (next == STOP) {
+                        stopping = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Appends a batch to the log, and wakes the threads waiting for it.
+     *
+     * @param batch The batch, possibly empty.
+     */
+    private void write(List<ScoreEntry> batch) {
+        boolean written = false;
+        if (!batch.isEmpty())
+            try {
+                log.appendAll(batch);
+                written = true;
+            } catch (IOException | RuntimeException e) {
+                logger.error("Writing {} results failed: {}", batch.size(), e.toString());
+            }
+        synchronized (this) {
+            completed += batch.size();
+            if (written)
+                batches++;
+            else
+                failed += batch.size();
+            notifyAll();
+        }
+    }
+}
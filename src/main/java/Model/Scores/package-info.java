@@ -0,0 +1,5 @@
+/**
+ * Package which contains the data structures ranking, storing and loading the scores of the players, used by the
+ * {@link Model.GameComponents.ScoreBoard}.
+ */
+package Model.Scores;
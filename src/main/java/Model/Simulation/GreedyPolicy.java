@@ -0,0 +1,55 @@
+package Model.Simulation;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import Model.GameComponents.RegionAnalysis;
+
+import java.util.SplittableRandom;
+
+/**
+ * Policy looking one placement ahead: it avoids positions which can no longer be won, and prefers the placements
+ * leaving the most legal placements. Ties are broken randomly.
+ */
+public class GreedyPolicy implements MovePolicy {
+
+    /**
+     * The score of a placement leading to a position, which can no longer be won.
+     */
+    private static final int DEAD = -1;
+
+    @Override
+    public int choose(Board board, SplittableRandom random) {
+        long empty = board.getEmptyMask();
+        int best = -1;
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int move = board.nextLegalMove(0); move >= 0; move = board.nextLegalMove(move + 1)) {
+            int score = score(empty & ~Placements.mask(move));
+            if (score > bestScore) {
+                best = move;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Scores the position after a placement.
+     *
+     * @param empty The bitboard of the empty cells.
+     * @return the number of legal placements, or {@link #DEAD}.
+     */
+    private static int score(long empty) {
+        if (RegionAnalysis.isDead(empty))
+            return DEAD;
+        return Long.bitCount(Placements.legalHorizontal(empty)) + Long.bitCount(Placements.legalVertical(empty));
+    }
+
+    @Override
+    public String toString() {
+        return "greedy";
+    }
+}
@@ -0,0 +1,23 @@
+package Model.Simulation;
+
+import Model.GameComponents.Board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Strategy choosing the next placement of a simulated game.
+ * <p>
+ * A policy is shared by the threads of a {@link SimulationRunner}, so it should not keep mutable state, every random
+ * choice has to use the given generator, which keeps the simulations reproducible.
+ */
+public interface MovePolicy {
+
+    /**
+     * Chooses the next placement.
+     *
+     * @param board  The current position, having at least one legal placement, it must not be modified.
+     * @param random The random generator of the simulating thread.
+     * @return the move id of a legal placement, see {@link Model.GameComponents.Placements}.
+     */
+    int choose(Board board, SplittableRandom random);
+}
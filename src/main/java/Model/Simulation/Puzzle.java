@@ -0,0 +1,75 @@
+package Model.Simulation;
+
+import Model.GameComponents.Board;
+
+/**
+ * A generated puzzle: a board with obstacle cells, which can be won, along with its difficulty rating.
+ */
+public class Puzzle {
+
+    /**
+     * The seed the puzzle was generated from.
+     */
+    private final long seed;
+
+    /**
+     * The bitboard of the obstacle cells.
+     */
+    private final long blocked;
+
+    /**
+     * The ratio of the rollouts, which won the puzzle.
+     */
+    private final double winRate;
+
+    /**
+     * Constructs a Puzzle.
+     *
+     * @param seed    The seed the puzzle was generated from.
+     * @param blocked The bitboard of the obstacle cells.
+     * @param winRate The ratio of the rollouts, which won the puzzle.
+     */
+    Puzzle(long seed, long blocked, double winRate) {
+        this.seed = seed;
+        this.blocked = blocked;
+        this.winRate = winRate;
+    }
+
+    /**
+     * Creates a new {@link Board} set up with the obstacles of the puzzle, the dots are drawn from the seed of the
+     * puzzle.
+     *
+     * @return the board of the puzzle.
+     */
+    public Board toBoard() {
+        Board board = new Board(seed);
+        board.block(blocked);
+        return board;
+    }
+
+    public final long getSeed() {
+        return seed;
+    }
+
+    public final long getBlocked() {
+        return blocked;
+    }
+
+    public final double getWinRate() {
+        return winRate;
+    }
+
+    /**
+     * Returns the difficulty of the puzzle, the ratio of the rollouts which did not win it.
+     *
+     * @return the difficulty between 0 (every rollout wins) and 1 (no rollout wins).
+     */
+    public final double getDifficulty() {
+        return 1 - winRate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Puzzle{seed=%d, blocked=%016x, difficulty=%.4f}", seed, blocked, getDifficulty());
+    }
+}
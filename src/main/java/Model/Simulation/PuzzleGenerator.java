@@ -0,0 +1,156 @@
+package Model.Simulation;
+
+import Model.Analysis.Solver;
+import Model.GameComponents.Board;
+import Model.GameComponents.RegionAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Generates puzzles, boards with obstacle cells which are guaranteed to be winnable, and rates their difficulty.
+ * <p>
+ * The obstacles are drawn randomly, keeping the number of free cells one more than a multiple of 3, and the draw is
+ * repeated until the {@link Solver} proves the board winnable. The difficulty is rated with Monte Carlo rollouts of
+ * the {@link GreedyPolicy}, which breaks its ties randomly: plain random play almost never wins, so it could not
+ * tell the puzzles apart. Every puzzle is generated from its own seed, so a pool of puzzles is reproducible, and
+ * the puzzles of a pool are generated in parallel, each with a sequential solver of its own thread.
+ */
+public class PuzzleGenerator {
+
+    /**
+     * The default number of rollouts rating a puzzle.
+     */
+    public static final int DEFAULT_ROLLOUTS = 256;
+
+    /**
+     * The fewest obstacle cells of a puzzle.
+     */
+    private static final int MIN_BLOCKED = 3;
+
+    /**
+     * The most obstacle cells of a puzzle.
+     */
+    private static final int MAX_BLOCKED = 12;
+
+    /**
+     * The solvers of the generating threads, each of them searches sequentially.
+     */
+    private static final ThreadLocal<Solver> SOLVERS = ThreadLocal.withInitial(() ->
+            new Solver(ForkJoinPool.commonPool(), 0));
+
+    /**
+     * The number of rollouts rating a puzzle.
+     */
+    private final int rollouts;
+
+    /**
+     * Plays the rating rollouts.
+     */
+    private final SimulationRunner runner = new SimulationRunner(new GreedyPolicy());
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a PuzzleGenerator rating with {@link #DEFAULT_ROLLOUTS} rollouts.
+     */
+    public PuzzleGenerator() {
+        this(DEFAULT_ROLLOUTS);
+    }
+
+    /**
+     * Constructs a PuzzleGenerator.
+     *
+     * @param rollouts The number of rollouts rating a puzzle.
+     */
+    public PuzzleGenerator(int rollouts) {
+        if (rollouts < 1)
+            throw new IllegalArgumentException("PuzzleGenerator needs at least one rollout");
+        this.rollouts = rollouts;
+    }
+
+    /**
+     * Generates a pool of puzzles in parallel.
+     *
+     * @param count The number of puzzles.
+     * @param seed  The seed of the pool, the same seed gives the same puzzles.
+     * @return the rated puzzles.
+     */
+    public Puzzle[] generatePool(int count, long seed) {
+        long start = System.nanoTime();
+        SplittableRandom root = new SplittableRandom(seed);
+        long[] seeds = new long[count];
+        for (int i = 0; i < count; i++)
+            seeds[i] = root.nextLong();
+        Puzzle[] result = IntStream.range(0, count).parallel()
+                .mapToObj(i -> generate(seeds[i]))
+                .toArray(Puzzle[]::new);
+        logger.info("generated {} puzzles in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * Generates a single puzzle.
+     *
+     * @param seed The seed of the puzzle, the same seed gives the same puzzle.
+     * @return the rated puzzle.
+     */
+    public Puzzle generate(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long blocked = obstacles(random);
+        return new Puzzle(seed, blocked, rate(blocked, random));
+    }
+
+    /**
+     * Regenerates the obstacles of a puzzle without rating it, to check the obstacles a game claims to be played on.
+     *
+     * @param seed The seed of the puzzle.
+     * @return the bitboard of the obstacle cells, the same as {@link Puzzle#getBlocked()} of {@link #generate(long)}.
+     */
+    public static long obstacles(long seed) {
+        return obstacles(new SplittableRandom(seed));
+    }
+
+    /**
+     * Draws obstacles until the rest of the board can be won.
+     *
+     * @param random The random generator of the puzzle.
+     * @return the bitboard of the obstacle cells.
+     */
+    private static long obstacles(SplittableRandom random) {
+        Solver solver = SOLVERS.get();
+        long blocked;
+        do {
+            int count = MIN_BLOCKED + 3 * random.nextInt((MAX_BLOCKED - MIN_BLOCKED) / 3 + 1);
+            blocked = 0;
+            while (Long.bitCount(blocked) < count)
+                blocked |= 1L << random.nextInt(64);
+        } while (RegionAnalysis.isDead(~blocked) || !solver.solve(~blocked).isSolvable());
+        return blocked;
+    }
+
+    /**
+     * Rates a board by playing greedy games with random tie-breaks on it.
+     *
+     * @param blocked The bitboard of the obstacle cells.
+     * @param random  The random generator of the rollouts.
+     * @return the ratio of the won rollouts.
+     */
+    private double rate(long blocked, SplittableRandom random) {
+        Board board = new Board(random.nextLong());
+        board.block(blocked);
+        int wins = 0;
+        for (int i = 0; i < rollouts; i++) {
+            runner.playGame(board, random);
+            if (board.isVictory())
+                wins++;
+        }
+        return (double) wins / rollouts;
+    }
+}
@@ -0,0 +1,21 @@
+package Model.Simulation;
+
+import Model.GameComponents.Board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Policy choosing uniformly from the legal placements.
+ */
+public class RandomPolicy implements MovePolicy {
+
+    @Override
+    public int choose(Board board, SplittableRandom random) {
+        return board.legalMove(random.nextInt(board.getNumOfLegalMoves()));
+    }
+
+    @Override
+    public String toString() {
+        return "random";
+    }
+}
@@ -0,0 +1,113 @@
+package Model.Simulation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The aggregated statistics of the games played by a {@link SimulationRunner}.
+ */
+public class SimulationReport {
+
+    /**
+     * The most dominos, which can be placed in a game.
+     */
+    public static final int MAX_PIECES = 21;
+
+    /**
+     * The number of games ending with the given number of placed dominos, indexed by the number of dominos.
+     */
+    private final long[] pieces;
+
+    /**
+     * The time spent playing the games, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a SimulationReport.
+     *
+     * @param pieces       The number of games ending with the given number of placed dominos.
+     * @param elapsedNanos The time spent playing the games, in nanoseconds.
+     */
+    SimulationReport(long[] pieces, long elapsedNanos) {
+        this.pieces = pieces.clone();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of games played.
+     *
+     * @return the number of games.
+     */
+    public long getGames() {
+        long games = 0;
+        for (long count : pieces)
+            games += count;
+        return games;
+    }
+
+    /**
+     * Returns the number of won games, where all 21 dominos were placed.
+     *
+     * @return the number of victories.
+     */
+    public long getWins() {
+        return pieces[MAX_PIECES];
+    }
+
+    /**
+     * Returns the ratio of the won games.
+     *
+     * @return the win rate, between 0 and 1.
+     */
+    public double getWinRate() {
+        long games = getGames();
+        return games == 0 ? 0 : (double) getWins() / games;
+    }
+
+    /**
+     * Returns the number of games ending with the given number of placed dominos.
+     *
+     * @param placed The number of placed dominos, between 0 and {@link #MAX_PIECES}.
+     * @return the number of games.
+     */
+    public long getGamesWithPieces(int placed) {
+        return pieces[placed];
+    }
+
+    /**
+     * Returns the average number of dominos placed in a game.
+     *
+     * @return the mean of the placed dominos.
+     */
+    public double getMeanPieces() {
+        long games = getGames();
+        long total = 0;
+        for (int placed = 0; placed < pieces.length; placed++)
+            total += placed * pieces[placed];
+        return games == 0 ? 0 : (double) total / games;
+    }
+
+    /**
+     * Returns the number of games played in a second.
+     *
+     * @return the throughput of the simulation.
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getGames() * 1e9 / elapsedNanos;
+    }
+
+    public final long getElapsedMillis() {
+        return TimeUnit.MILLISECONDS.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("games: %d, wins: %d (%.4f%%), mean pieces: %.3f, %.0f games/s%n", getGames(),
+                getWins(), 100 * getWinRate(), getMeanPieces(), getGamesPerSecond()));
+        for (int placed = 0; placed < pieces.length; placed++)
+            if (pieces[placed] > 0)
+                result.append(String.format("%2d pieces: %d%n", placed, pieces[placed]));
+        return result.toString();
+    }
+}
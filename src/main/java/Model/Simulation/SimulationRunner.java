@@ -0,0 +1,169 @@
+package Model.Simulation;
+
+import Model.GameComponents.Board;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays games headlessly with a {@link MovePolicy}, on all cores of the machine.
+ * <p>
+ * The games are split into fixed-size batches, each batch reuses a single {@link Board} and gets its own random
+ * generator, split off the seed in batch order. The result therefore only depends on the seed and the number of
+ * games, not on the number of threads. Boards are driven through their move ids, so no console output is written
+ * and nothing is logged while the games are played.
+ */
+public class SimulationRunner {
+
+    /**
+     * The number of games played by a single task.
+     */
+    private static final int BATCH = 4096;
+
+    /**
+     * The policy choosing the placements.
+     */
+    private final MovePolicy policy;
+
+    /**
+     * The pool running the batches.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Constructs a SimulationRunner running on the common {@link ForkJoinPool}.
+     *
+     * @param policy The policy choosing the placements.
+     */
+    public SimulationRunner(MovePolicy policy) {
+        this(policy, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a SimulationRunner.
+     *
+     * @param policy The policy choosing the placements.
+     * @param pool   The pool running the batches.
+     */
+    public SimulationRunner(MovePolicy policy, ForkJoinPool pool) {
+        if (policy == null || pool == null)
+            throw new IllegalArgumentException("SimulationRunner cannot be instantiated, without a policy and a pool");
+        this.policy = policy;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays the given number of games.
+     *
+     * @param games The number of games to play.
+     * @param seed  The seed of the random choices.
+     * @return the statistics of the games.
+     */
+    public SimulationReport run(long games, long seed) {
+        logger.info("simulating {} games with the {} policy", games, policy);
+        int batches = (int) ((games + BATCH - 1) / BATCH);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[batches];
+        for (int i = 0; i < batches; i++)
+            randoms[i] = root.split();
+        long start = System.nanoTime();
+        long[] pieces = pool.invoke(new BatchTask(randoms, 0, batches, games));
+        SimulationReport report = new SimulationReport(pieces, System.nanoTime() - start);
+        logger.info("simulation finished: {}", report);
+        return report;
+    }
+
+    /**
+     * Plays a single game to its end.
+     *
+     * @param board  The board to play on, it is cleared first.
+     * @param random The random generator of the policy.
+     * @return the number of placed dominos.
+     */
+    int playGame(Board board, SplittableRandom random) {
+        board.clear();
+        int placed = 0;
+        while (board.hasLegalMove()) {
+            board.place(policy.choose(board, random));
+            placed++;
+        }
+        return placed;
+    }
+
+    /**
+     * Task playing a range of batches, splitting it in halves until a single batch is left.
+     */
+    private final class BatchTask extends RecursiveTask<long[]> {
+
+        /**
+         * The version of the serialized form, tasks are never serialized.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The random generators of all batches.
+         */
+        private final SplittableRandom[] randoms;
+
+        /**
+         * The first batch of the range.
+         */
+        private final int from;
+
+        /**
+         * The batch after the last one of the range.
+         */
+        private final int to;
+
+        /**
+         * The total number of games, the last batch may be shorter than the others.
+         */
+        private final long games;
+
+        /**
+         * Constructs a BatchTask.
+         *
+         * @param randoms The random generators of all batches.
+         * @param from    The first batch of the range.
+         * @param to      The batch after the last one of the range.
+         * @param games   The total number of games.
+         */
+        BatchTask(SplittableRandom[] randoms, int from, int to, long games) {
+            this.randoms = randoms;
+            this.from = from;
+            this.to = to;
+            this.games = games;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                BatchTask left = new BatchTask(randoms, from, middle, games);
+                left.fork();
+                long[] result = new BatchTask(randoms, middle, to, games).compute();
+                long[] other = left.join();
+                for (int i = 0; i < result.length; i++)
+                    result[i] += other[i];
+                return result;
+            }
+            long[] pieces = new long[SimulationReport.MAX_PIECES + 1];
+            if (from == to)
+                return pieces;
+            Board board = new Board();
+            SplittableRandom random = randoms[from];
+            long count = Math.min(BATCH, games - (long) from * BATCH);
+            for (long i = 0; i < count; i++)
+                pieces[playGame(board, random)]++;
+            return pieces;
+        }
+    }
+}
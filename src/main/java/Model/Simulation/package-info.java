@@ -0,0 +1,5 @@
+/**
+ * Package which contains the headless tools playing many games on the {@link Model.GameComponents.Board}, without
+ * any user interaction.
+ */
+package Model.Simulation;
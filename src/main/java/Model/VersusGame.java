@@ -0,0 +1,108 @@
+package Model;
+
+import Model.Analysis.GrundySolver;
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Scanner;
+
+/**
+ * Two-player variant of the {@link Game}, where the user and the computer take turns placing dominos, and the player
+ * who can not place a domino loses. The computer plays with a {@link GrundySolver}.
+ */
+public class VersusGame extends Game {
+
+    /**
+     * The engine choosing the moves of the computer, its cache is kept during the whole game.
+     */
+    private final GrundySolver solver = new GrundySolver();
+
+    /**
+     * The {@link org.slf4j.Logger logger} used in this class.
+     */
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Construct the two-player game with the given {@link Board} representation of the game.
+     *
+     * @param board The representation of the game.
+     * @throws InstantiationError if the given representation is {@link java.lang.ref.ReferenceQueue Null}.
+     */
+    public VersusGame(Board board) {
+        super(board);
+    }
+
+    /**
+     * Starts the game loop, the user moves first.
+     */
+    @Override
+    public void play() {
+        logger.info("starting versus game loop");
+        Board board = getBoard();
+        Scanner scan = new Scanner(System.in);
+        boolean userToMove = true;
+        while (!board.isGoal()) {
+            if (userToMove) {
+                display();
+                setNextDominoDirection(scan);
+                displayPossibilities();
+                setAndPlaceNextDomino(scan);
+            } else {
+                int move = solver.bestMove(board.getEmptyMask());
+                board.place(move);
+                System.out.println("The computer placed a " + describe(move));
+            }
+            userToMove = !userToMove;
+        }
+        display();
+        if (userToMove)
+            System.out.println("Game over!\nThere is no space left for your domino, the computer won.");
+        else
+            System.out.println("Congratulations! The computer can not place another domino, you won.");
+    }
+
+    /**
+     * Shows the placement, which the computer would choose in the place of the user.
+     */
+    @Override
+    public void displayHint() {
+        int move = solver.bestMove(getBoard().getEmptyMask());
+        if (move >= 0)
+            System.out.println("Hint: place a " + describe(move));
+        else
+            System.out.println("Hint: there is no space left for another domino");
+    }
+
+    /**
+     * Placements can not be taken back against the computer.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean undo() {
+        return false;
+    }
+
+    /**
+     * Placements can not be taken back against the computer.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean redo() {
+        return false;
+    }
+
+    /**
+     * Describes a placement for the user.
+     *
+     * @param move The move id of the placement, see {@link Placements}.
+     * @return the direction and the boundary cells of the placement.
+     */
+    private static String describe(int move) {
+        return Placements.direction(move).toString().toLowerCase() + " domino from cell " + Placements.first(move)
+                + " to cell " + Placements.last(move);
+    }
+}
@@ -0,0 +1,76 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import Model.GameComponents.RegionAnalysis;
+import Model.Simulation.RandomPolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+class BoardBatchTest {
+
+    private Board mock;
+
+    @Test
+    public void testEvaluateMatchesBoard() {
+        SplittableRandom random = new SplittableRandom(5);
+        RandomPolicy policy = new RandomPolicy();
+        List<Board> boards = new ArrayList<>();
+        BoardBatch batch = new BoardBatch(16);
+        for (int i = 0; i < 16; i++) {
+            mock = new Board();
+            for (int moves = random.nextInt(18); moves > 0 && mock.hasLegalMove(); moves--)
+                mock.place(policy.choose(mock, random));
+            boards.add(mock);
+            Assertions.assertEquals(i, batch.add(mock));
+        }
+        batch.evaluate();
+        boolean[] dead = new boolean[batch.size()];
+        batch.evaluateDead(dead);
+        for (int i = 0; i < batch.size(); i++) {
+            mock = boards.get(i);
+            for (int x = 0; x < mock.getBoardSize(); x++)
+                for (int y = 0; y < mock.getBoardSize(); y++) {
+                    boolean center = mock.isEmptyCell(x * 8 + y);
+                    Assertions.assertEquals(center && mock.areHorizontalNeighborsEmpty(x, y),
+                            (batch.getHorizontalCenters(i) >>> (x * 8 + y) & 1) != 0);
+                    Assertions.assertEquals(center && mock.areVerticalNeighborsEmpty(x, y),
+                            (batch.getVerticalCenters(i) >>> (x * 8 + y) & 1) != 0);
+                }
+            Assertions.assertEquals(mock.getNumOfLegalMoves(), batch.getNumOfLegalMoves(i));
+            Assertions.assertEquals(Placements.legalHorizontal(mock.getEmptyMask()), batch.getLegalHorizontal(i));
+            Assertions.assertEquals(Placements.legalVertical(mock.getEmptyMask()), batch.getLegalVertical(i));
+            Assertions.assertEquals(mock.hasLegalMove() ? RegionAnalysis.isDead(mock.getEmptyMask())
+                    : !mock.isVictory(), dead[i]);
+        }
+    }
+
+    @Test
+    public void testCapacity() {
+        BoardBatch batch = new BoardBatch(1);
+        batch.add(-1L);
+        Assertions.assertThrows(IllegalStateException.class, () -> batch.add(0L));
+        batch.clear();
+        Assertions.assertEquals(0, batch.add(0L));
+        batch.evaluate();
+        Assertions.assertEquals(0, batch.getNumOfLegalMoves(0));
+    }
+
+    @Test
+    public void testEvaluateDeadWithoutEvaluate() {
+        BoardBatch batch = new BoardBatch(2);
+        batch.add(1L);
+        batch.evaluate();
+        batch.clear();
+        batch.add(-1L);
+        batch.add(1L << 5);
+        boolean[] dead = new boolean[2];
+        batch.evaluateDead(dead);
+        Assertions.assertFalse(dead[0]);
+        Assertions.assertFalse(dead[1]);
+    }
+}
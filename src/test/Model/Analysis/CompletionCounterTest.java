@@ -0,0 +1,49 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CompletionCounterTest {
+
+    private final CompletionCounter counter = new CompletionCounter();
+
+    @Test
+    public void testCountEmptyBoard() {
+        Board mock = new Board();
+        Assertions.assertEquals(enumerate(mock.getEmptyMask(), true), counter.count(mock));
+    }
+
+    @Test
+    public void testCountMidGame() {
+        Board mock = new Board();
+        mock.place(0);
+        mock.place(Placements.HORIZONTAL_COUNT + 20);
+        mock.place(33);
+        Assertions.assertEquals(enumerate(mock.getEmptyMask(), true), counter.count(mock));
+        mock.place(Placements.HORIZONTAL_COUNT);
+        Assertions.assertEquals(0, counter.count(mock));
+        Assertions.assertEquals(1, counter.count(1L << 17));
+        Assertions.assertEquals(2, counter.count(0xFL));
+        Assertions.assertEquals(0, counter.count(0));
+    }
+
+    private long enumerate(long undecided, boolean hole) {
+        if (undecided == 0)
+            return hole ? 0 : 1;
+        int cell = Long.numberOfTrailingZeros(undecided);
+        long bit = 1L << cell;
+        long result = 0;
+        if (hole)
+            result += enumerate(undecided & ~bit, false);
+        long vertical = bit * 7;
+        if (cell % 8 < 6 && (undecided & vertical) == vertical)
+            result += enumerate(undecided & ~vertical, hole);
+        long horizontal = bit | bit << 8 | bit << 16;
+        if (cell / 8 < 6 && (undecided & horizontal) == horizontal)
+            result += enumerate(undecided & ~horizontal, hole);
+        return result;
+    }
+
+}
@@ -0,0 +1,66 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.ScoringMode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+class DotScoreOptimizerTest {
+
+    private final DotScoreOptimizer optimizer = new DotScoreOptimizer();
+
+    @Test
+    public void testBestCoveredDots() {
+        for (int round = 0; round < 5; round++) {
+            Board mock = halfFilledBoard();
+            int expected = mock.getCoveredDots() + enumerate(mock.getEmptyMask(), mock.getDots());
+            Assertions.assertEquals(expected, optimizer.bestScore(mock, ScoringMode.COVERED_DOTS));
+            Assertions.assertEquals(expected, new DotScoreOptimizer(ForkJoinPool.commonPool(), 0)
+                    .bestScore(mock, ScoringMode.COVERED_DOTS));
+        }
+    }
+
+    @Test
+    public void testBestHoleDots() {
+        Board mock = new Board();
+        int best = optimizer.bestScore(mock, ScoringMode.HOLE_DOTS);
+        int expected = 0;
+        for (int cell : new int[]{18, 21, 42, 45})
+            expected = Math.max(expected, mock.getNumOfDots(cell));
+        Assertions.assertEquals(expected, best);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> optimizer.bestScore(mock, ScoringMode.TIME));
+    }
+
+    private Board halfFilledBoard() {
+        Board board = new Board();
+        for (int y = 0; y < 6; y++)
+            for (int x = 1; x < 6; x += 3)
+                board.setHorizontalDomino(x, y);
+        return board;
+    }
+
+    private int enumerate(long undecided, int[] dots) {
+        if (undecided == 0)
+            return 0;
+        int cell = Long.numberOfTrailingZeros(undecided);
+        long bit = 1L << cell;
+        int result = enumerate(undecided & ~bit, dots);
+        long vertical = bit * 7;
+        if (cell % 8 < 6 && (undecided & vertical) == vertical)
+            result = Math.max(result, sum(vertical, dots) + enumerate(undecided & ~vertical, dots));
+        long horizontal = bit | bit << 8 | bit << 16;
+        if (cell / 8 < 6 && (undecided & horizontal) == horizontal)
+            result = Math.max(result, sum(horizontal, dots) + enumerate(undecided & ~horizontal, dots));
+        return result;
+    }
+
+    private int sum(long cells, int[] dots) {
+        int result = 0;
+        for (long rest = cells; rest != 0; rest &= rest - 1)
+            result += dots[Long.numberOfTrailingZeros(rest)];
+        return result;
+    }
+
+}
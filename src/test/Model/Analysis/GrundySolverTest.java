@@ -0,0 +1,76 @@
+package Model.Analysis;
+
+import Model.GameComponents.Placements;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+class GrundySolverTest {
+
+    private static boolean bruteForceWins(long empty) {
+        for (int move = 0; move < Placements.COUNT; move++) {
+            long mask = Placements.mask(move);
+            if ((empty & mask) == mask && !bruteForceWins(empty & ~mask))
+                return true;
+        }
+        return false;
+    }
+
+    @Test
+    public void testIsLostMatchesBruteForce() {
+        GrundySolver solver = new GrundySolver();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 200; i++) {
+            long empty = random.nextLong() & random.nextLong() & random.nextLong();
+            empty &= 0x0F0F0F0F0F0FL | 0xF0F0F0F0F0F0L << 16;
+            Assertions.assertEquals(!bruteForceWins(empty), solver.isLost(empty));
+        }
+    }
+
+    @Test
+    public void testBestMoveWins() {
+        GrundySolver solver = new GrundySolver();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 50; i++) {
+            long empty = (random.nextLong() | random.nextLong()) & 0x0F0F0F0F0F0FL;
+            if (!bruteForceWins(empty))
+                continue;
+            int move = solver.bestMove(empty);
+            Assertions.assertTrue(move >= 0);
+            Assertions.assertTrue(solver.isLost(empty & ~Placements.mask(move)));
+        }
+        Assertions.assertTrue(solver.cacheSize() > 0);
+    }
+
+    @Test
+    public void testBestMoveWithinBudget() {
+        GrundySolver solver = new GrundySolver();
+        long start = System.nanoTime();
+        int move = solver.bestMove(-1L);
+        Assertions.assertTrue(System.nanoTime() - start < Duration.ofMillis(300).toNanos());
+        Assertions.assertTrue(move >= 0 && move < Placements.COUNT);
+        Assertions.assertEquals(-1, solver.bestMove(0L));
+        GrundySolver hurried = new GrundySolver(Duration.ZERO, GrundySolver.DEFAULT_CACHE_SIZE);
+        Assertions.assertThrows(IllegalStateException.class, () -> hurried.isLost(-1L));
+    }
+
+    @Test
+    public void testCacheLimit() {
+        GrundySolver solver = new GrundySolver(Duration.ofSeconds(10), 20);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 100; i++) {
+            long empty = random.nextLong() & (random.nextLong() | random.nextLong()) & 0x0F0F0F0F0F0FL;
+            Assertions.assertEquals(!bruteForceWins(empty), solver.isLost(empty));
+        }
+        Assertions.assertEquals(20, solver.cacheSize());
+    }
+
+    @Test
+    public void testNormalize() {
+        long region = 0x07L;
+        Assertions.assertEquals(GrundySolver.normalize(region), GrundySolver.normalize(region << 20));
+        Assertions.assertEquals(GrundySolver.normalize(region), GrundySolver.normalize(0x010101L << 3));
+    }
+}
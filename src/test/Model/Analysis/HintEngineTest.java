@@ -0,0 +1,46 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+
+class HintEngineTest {
+
+    @Test
+    public void testSuggestWithinBudget() {
+        try (HintEngine engine = new HintEngine()) {
+            Board mock = new Board();
+            long start = System.nanoTime();
+            OptionalInt move = engine.suggest(mock.getEmptyMask(), Duration.ofMillis(50));
+            Assertions.assertTrue(System.nanoTime() - start < Duration.ofMillis(500).toNanos());
+            Assertions.assertTrue(move.isPresent());
+            Assertions.assertTrue(mock.isLegal(move.getAsInt()));
+        }
+    }
+
+    @Test
+    public void testSuggestKeepsWinnable() {
+        Solver solver = new Solver(ForkJoinPool.commonPool(), 0);
+        Board mock = new Board();
+        int[] moves = solver.solve(mock).getMoves();
+        for (int i = 0; i < moves.length - 3; i++)
+            mock.place(moves[i]);
+        try (HintEngine engine = new HintEngine()) {
+            while (!mock.isGoal()) {
+                OptionalInt move = engine.suggest(mock.getEmptyMask(), Duration.ofSeconds(5));
+                Assertions.assertTrue(move.isPresent());
+                mock.place(move.getAsInt());
+            }
+        }
+        Assertions.assertTrue(mock.isVictory());
+        try (HintEngine engine = new HintEngine()) {
+            Assertions.assertFalse(engine.suggest(Placements.mask(0) & ~1L, Duration.ZERO).isPresent());
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package Model.Analysis;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Direction;
+import Model.GameComponents.Placements;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+class SolverTest {
+
+    private Board mock;
+
+    @Test
+    public void testSolveEmptyBoard() {
+        mock = new Board();
+        Solution solution = new Solver().solve(mock);
+        Assertions.assertTrue(solution.isSolvable());
+        Assertions.assertEquals(21, solution.getMoves().length);
+        for (int move : solution.getMoves()) {
+            Assertions.assertTrue(mock.isLegal(move));
+            mock.place(move);
+        }
+        Assertions.assertTrue(mock.isVictory());
+    }
+
+    @Test
+    public void testSolveUnsolvable() {
+        mock = new Board();
+        mock.setVerticalDomino(0, 3);
+        mock.setHorizontalDomino(2, 0);
+        mock.setHorizontalDomino(2, 1);
+        Assertions.assertFalse(new Solver().solve(mock).isSolvable());
+        Assertions.assertFalse(new Solver(ForkJoinPool.commonPool(), 0).solve(mock).isSolvable());
+    }
+
+    @Test
+    public void testSolveSequential() {
+        mock = new Board();
+        mock.place(Placements.of(Direction.VERTICAL, 0, 1));
+        Solution solution = new Solver(ForkJoinPool.commonPool(), 0).solve(mock);
+        Assertions.assertTrue(solution.isSolvable());
+        Assertions.assertEquals(20, solution.getMoves().length);
+    }
+
+}
@@ -0,0 +1,85 @@
+package Model.Analysis;
+
+import Model.GameComponents.Placements;
+import Model.GameComponents.PositionHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.OptionalInt;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+class TablebaseTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testBuildAndProbe() throws IOException {
+        Path file = directory.resolve("endgame.tb");
+        new TablebaseBuilder(4).build(file);
+        Solver solver = new Solver(ForkJoinPool.commonPool(), 0);
+        try (Tablebase tablebase = new Tablebase(file)) {
+            Assertions.assertTrue(tablebase.size() > 0);
+            long line = Placements.mask(Placements.HORIZONTAL_COUNT);
+            int result = tablebase.probe(line | 1L << 40);
+            Assertions.assertTrue(Tablebase.isWin(result));
+            Assertions.assertEquals(1, Tablebase.distance(result));
+            Assertions.assertEquals(result, tablebase.probe(PositionHash.transform(line | 1L << 40, 6)));
+            result = tablebase.probe(Placements.mask(0) | 1L << 8 * 3);
+            Assertions.assertTrue(Tablebase.isWin(result));
+            result = tablebase.probe(Placements.mask(Placements.HORIZONTAL_COUNT) | 1L << 3);
+            Assertions.assertTrue(Tablebase.isWin(result));
+            Assertions.assertEquals(Tablebase.UNKNOWN, tablebase.probe(-1L));
+            Assertions.assertEquals(0, tablebase.probe(1L | 1L << 20 | 1L << 40 | 1L << 63));
+            SplittableRandom random = new SplittableRandom(7);
+            for (int i = 0; i < 200; i++) {
+                long position = Placements.mask(random.nextInt(Placements.COUNT));
+                while (Long.bitCount(position) < 4)
+                    position |= 1L << random.nextInt(64);
+                Assertions.assertEquals(solver.solve(position).isSolvable(),
+                        Tablebase.isWin(tablebase.probe(position)));
+            }
+        }
+    }
+
+    @Test
+    public void testSolverAndHints() throws IOException {
+        Path file = directory.resolve("endgame.tb");
+        new TablebaseBuilder(7).build(file);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TablebaseBuilder(8));
+        Solver searching = new Solver(ForkJoinPool.commonPool(), 0, new TranspositionTable(1 << 10), null);
+        try (Tablebase tablebase = new Tablebase(file);
+             HintEngine engine = new HintEngine(tablebase)) {
+            Solver solver = new Solver(ForkJoinPool.commonPool(), 2, new TranspositionTable(1 << 10), tablebase);
+            SplittableRandom random = new SplittableRandom(8);
+            for (int i = 0; i < 300; i++) {
+                long position = Placements.mask(random.nextInt(Placements.COUNT))
+                        | Placements.mask(random.nextInt(Placements.COUNT));
+                while (Long.bitCount(position) % 3 != 1)
+                    position |= 1L << random.nextInt(64);
+                Solution solution = solver.solve(position);
+                Assertions.assertEquals(searching.solve(position).isSolvable(), solution.isSolvable());
+                if (!solution.isSolvable())
+                    continue;
+                long empty = position;
+                for (int move : solution.getMoves()) {
+                    Assertions.assertEquals(Placements.mask(move), empty & Placements.mask(move));
+                    empty &= ~Placements.mask(move);
+                }
+                Assertions.assertEquals(1, Long.bitCount(empty));
+
+                empty = position;
+                while (Long.bitCount(empty) > 1) {
+                    OptionalInt move = engine.suggest(empty, Duration.ofSeconds(5));
+                    Assertions.assertTrue(move.isPresent());
+                    empty &= ~Placements.mask(move.getAsInt());
+                }
+            }
+        }
+    }
+}
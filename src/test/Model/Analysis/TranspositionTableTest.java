@@ -0,0 +1,40 @@
+package Model.Analysis;
+
+import Model.GameComponents.Placements;
+import Model.GameComponents.PositionHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TranspositionTableTest {
+
+    @Test
+    public void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1000);
+        Assertions.assertEquals(1024, table.capacity());
+        long position = ~Placements.mask(3);
+        Assertions.assertEquals(TranspositionTable.MISS, table.probe(position));
+        table.store(position, 42, 7);
+        long entry = table.probe(PositionHash.transform(position, 5));
+        Assertions.assertNotEquals(TranspositionTable.MISS, entry);
+        Assertions.assertEquals(42, TranspositionTable.value(entry));
+        Assertions.assertEquals(7, TranspositionTable.depth(entry));
+        table.clear();
+        Assertions.assertEquals(TranspositionTable.MISS, table.probe(position));
+    }
+
+    @Test
+    public void testReplacement() {
+        TranspositionTable table = new TranspositionTable(1);
+        long deep = ~Placements.mask(3);
+        long shallow = ~Placements.mask(40);
+        table.store(deep, 1, 10);
+        table.store(shallow, 2, 5);
+        Assertions.assertEquals(1, TranspositionTable.value(table.probe(deep)));
+        Assertions.assertEquals(TranspositionTable.MISS, table.probe(shallow));
+        table.newGeneration();
+        table.store(shallow, 2, 5);
+        Assertions.assertEquals(2, TranspositionTable.value(table.probe(shallow)));
+        Assertions.assertEquals(TranspositionTable.MISS, table.probe(deep));
+    }
+
+}
@@ -0,0 +1,45 @@
+package Model.GameComponents;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+class BoardPoolTest {
+
+    private Board mock;
+
+    @Test
+    public void testAcquireReusesReleasedBoard() {
+        BoardPool pool = new BoardPool(2);
+        mock = pool.acquire(1);
+        mock.setVerticalDomino(0, 1);
+        pool.release(mock);
+        Assertions.assertEquals(1, pool.available());
+        Board again = pool.acquire(2);
+        Assertions.assertSame(mock, again);
+        Assertions.assertEquals(-1L, again.getEmptyMask());
+        Assertions.assertArrayEquals(new Board(2).getDots(), again.getDots());
+        Assertions.assertEquals(0, pool.available());
+        pool.release(new Board());
+        pool.release(new Board());
+        pool.release(new Board());
+        Assertions.assertEquals(2, pool.available());
+    }
+
+    @Test
+    public void testConcurrentUse() {
+        BoardPool pool = new BoardPool(8);
+        Set<Board> inUse = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 20_000).parallel().forEach(i -> {
+            Board board = pool.acquire(i);
+            Assertions.assertTrue(inUse.add(board));
+            Assertions.assertEquals(i, board.getSeed());
+            inUse.remove(board);
+            pool.release(board);
+        });
+        Assertions.assertTrue(pool.available() > 0);
+    }
+}
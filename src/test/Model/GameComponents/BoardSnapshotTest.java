@@ -0,0 +1,47 @@
+package Model.GameComponents;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BoardSnapshotTest {
+
+    private Board mock;
+
+    @Test
+    public void testSnapshotAndRestore() {
+        mock = new Board(3);
+        mock.block(1L << 63);
+        BoardSnapshot start = mock.snapshot();
+        mock.setVerticalDomino(0, 1);
+        mock.setHorizontalDomino(2, 4);
+        BoardSnapshot middle = mock.snapshot();
+        Assertions.assertEquals(mock.getEmptyMask(), middle.getEmptyMask());
+        Assertions.assertEquals(mock.getZobristKey(), middle.getZobristKey());
+        mock.getCells();
+        mock.restore(start);
+        Assertions.assertEquals(~(1L << 63), mock.getEmptyMask());
+        Assertions.assertEquals(State.EMPTY, mock.getCells()[0][1].getState());
+        Assertions.assertEquals(State.BLOCKED, mock.getCells()[7][7].getState());
+        Assertions.assertEquals(new Board(3).getNumOfLegalMoves() - 2, mock.getNumOfLegalMoves());
+        mock.restore(middle);
+        Assertions.assertEquals(middle.getEmptyMask(), mock.getEmptyMask());
+        Assertions.assertEquals(State.DOMINO, mock.getCells()[0][1].getState());
+        Assertions.assertEquals(PositionHash.zobrist(mock.getEmptyMask()), mock.getZobristKey());
+    }
+
+    @Test
+    public void testForkIsIndependent() {
+        mock = new Board(5);
+        int[] dots = mock.getDots();
+        BoardSnapshot snapshot = mock.snapshot();
+        Board fork = snapshot.fork();
+        fork.setVerticalDomino(3, 3);
+        Assertions.assertEquals(-1L, mock.getEmptyMask());
+        Assertions.assertTrue(mock.isLegal(Placements.of(Direction.VERTICAL, 3, 3)));
+        Assertions.assertFalse(fork.isLegal(Placements.of(Direction.VERTICAL, 3, 3)));
+        mock.reset(6);
+        Assertions.assertEquals(dots[10], snapshot.getNumOfDots(10));
+        Assertions.assertArrayEquals(dots, fork.getDots());
+        Assertions.assertArrayEquals(new Board(6).getDots(), mock.getDots());
+    }
+}
@@ -3,6 +3,10 @@ package Model.GameComponents;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+
 class BoardTest {
 
     private Board mock;
@@ -46,6 +50,46 @@ class BoardTest {
         Assertions.assertFalse(mock.isGoal());
     }
 
+    @Test
+    public void testIsDeadPosition() {
+        mock = new Board();
+        Assertions.assertFalse(mock.isDeadPosition());
+        mock.setVerticalDomino(0, 3);
+        Assertions.assertFalse(mock.isDeadPosition());
+        mock.setHorizontalDomino(2, 0);
+        mock.setHorizontalDomino(2, 1);
+        Assertions.assertTrue(mock.isDeadPosition());
+        Assertions.assertFalse(mock.isGoal());
+        mock.undo(Placements.of(Direction.HORIZONTAL, 2, 1));
+        Assertions.assertFalse(mock.isDeadPosition());
+        mock = new Board();
+        mock.setHorizontalDomino(2, 0);
+        mock.setVerticalDomino(0, 2);
+        Assertions.assertFalse(mock.isDeadPosition());
+        mock.setVerticalDomino(7, 5);
+        mock.setHorizontalDomino(5, 7);
+        Assertions.assertTrue(mock.isDeadPosition());
+    }
+
+    @Test
+    public void testIsDeadPositionIncremental() {
+        SplittableRandom random = new SplittableRandom(12);
+        for (int game = 0; game < 200; game++) {
+            mock = new Board(game);
+            Deque<Integer> placed = new ArrayDeque<>();
+            while (mock.hasLegalMove()) {
+                if (!placed.isEmpty() && random.nextInt(4) == 0)
+                    mock.undo(placed.pop());
+                else {
+                    int move = mock.legalMove(random.nextInt(mock.getNumOfLegalMoves()));
+                    mock.place(move);
+                    placed.push(move);
+                }
+                Assertions.assertEquals(RegionAnalysis.isDead(mock.getEmptyMask()), mock.isDeadPosition());
+            }
+        }
+    }
+
     @Test
     public void testAreHorizontalNeighborsEmpty() {
         mock = new Board();
@@ -86,6 +130,45 @@ class BoardTest {
         Assertions.assertEquals(5, mock.findCellBoardPosition(cells[5][6]).getKey());
     }
 
+    @Test
+    public void testGetCells() {
+        mock = new Board();
+        mock.setHorizontalDomino(1, 0);
+        Cell[][] cells = mock.getCells();
+        Assertions.assertEquals(State.DOMINO, cells[0][0].getState());
+        Assertions.assertEquals(State.DOMINO, cells[2][0].getState());
+        Assertions.assertEquals(State.EMPTY, cells[3][0].getState());
+        mock.setVerticalDomino(4, 4);
+        Assertions.assertEquals(State.DOMINO, cells[4][3].getState());
+        Assertions.assertEquals(State.DOMINO, cells[4][5].getState());
+        Assertions.assertEquals(State.EMPTY, cells[5][4].getState());
+        Assertions.assertSame(cells, mock.getCells());
+    }
+
+    @Test
+    public void testPlaceAndUndo() {
+        mock = new Board();
+        Assertions.assertEquals(Placements.COUNT, mock.getNumOfLegalMoves());
+        int first = Placements.of(Direction.HORIZONTAL, 1, 0);
+        int second = Placements.of(Direction.VERTICAL, 4, 4);
+        mock.place(first);
+        mock.place(second);
+        Assertions.assertFalse(mock.isLegal(first));
+        Assertions.assertFalse(mock.isLegal(Placements.of(Direction.VERTICAL, 0, 1)));
+        Assertions.assertFalse(mock.isLegal(Placements.of(Direction.HORIZONTAL, 4, 3)));
+        Assertions.assertTrue(mock.isLegal(Placements.of(Direction.HORIZONTAL, 4, 2)));
+        int count = 0;
+        for (int m = mock.nextLegalMove(0); m >= 0; m = mock.nextLegalMove(m + 1)) {
+            Assertions.assertEquals(Placements.mask(m), mock.getEmptyMask() & Placements.mask(m));
+            count++;
+        }
+        Assertions.assertEquals(mock.getNumOfLegalMoves(), count);
+        mock.undo(second);
+        mock.undo(first);
+        Assertions.assertEquals(-1L, mock.getEmptyMask());
+        Assertions.assertEquals(Placements.COUNT, mock.getNumOfLegalMoves());
+    }
+
     @Test
     public void testIsPlaceable() {
         mock = new Board();
@@ -114,4 +197,26 @@ class BoardTest {
 
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testSeededBoard() {
+        mock = new Board(42);
+        Board same = new Board(42);
+        Assertions.assertArrayEquals(mock.getDots(), same.getDots());
+        Assertions.assertEquals(42, mock.getSeed());
+        for (int dots : mock.getDots())
+            Assertions.assertTrue(dots >= 1 && dots <= 6);
+        int[] dots = mock.getDots();
+        mock.block(0x7L);
+        mock.setVerticalDomino(1, 1);
+        mock.getCells();
+        mock.reset(7);
+        Assertions.assertEquals(-1L, mock.getEmptyMask());
+        Assertions.assertEquals(0, mock.getBlockedMask());
+        Assertions.assertArrayEquals(new Board(7).getDots(), mock.getDots());
+        Assertions.assertEquals(mock.getNumOfDots(9), mock.getCells()[1][1].getNumOfDots());
+        Assertions.assertFalse(mock.isDeadPosition());
+        mock.reset(42);
+        Assertions.assertArrayEquals(dots, mock.getDots());
+    }
+}
@@ -0,0 +1,52 @@
+package Model.GameComponents;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PlacementsTest {
+
+    @Test
+    public void testMasks() {
+        long all = 0;
+        for (int i = 0; i < Placements.COUNT; i++) {
+            Assertions.assertEquals(3, Long.bitCount(Placements.mask(i)));
+            Assertions.assertTrue((Placements.mask(i) >>> Placements.center(i) & 1) != 0);
+            all |= Placements.mask(i);
+        }
+        Assertions.assertEquals(-1L, all);
+        Assertions.assertEquals(0, Placements.first(0));
+        Assertions.assertEquals(16, Placements.last(0));
+        Assertions.assertEquals(0, Placements.first(Placements.HORIZONTAL_COUNT));
+        Assertions.assertEquals(2, Placements.last(Placements.HORIZONTAL_COUNT));
+    }
+
+    @Test
+    public void testOf() {
+        for (int i = 0; i < Placements.COUNT; i++) {
+            int center = Placements.center(i);
+            Assertions.assertEquals(i, Placements.of(Placements.direction(i), center / 8, center % 8));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Placements.of(Direction.HORIZONTAL, 0, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Placements.of(Direction.VERTICAL, 3, 7));
+        for (int i = 0; i < Placements.COUNT; i++)
+            Assertions.assertEquals(i, Placements.ofMask(Placements.mask(i)));
+        Assertions.assertEquals(-1, Placements.ofMask(0L));
+        Assertions.assertEquals(-1, Placements.ofMask(0x7L << 6));
+        Assertions.assertEquals(-1, Placements.ofMask(0x3L));
+    }
+
+    @Test
+    public void testLegalSets() {
+        Assertions.assertEquals(Placements.HORIZONTAL_COUNT, Long.bitCount(Placements.legalHorizontal(-1L)));
+        Assertions.assertEquals(Placements.COUNT - Placements.HORIZONTAL_COUNT,
+                Long.bitCount(Placements.legalVertical(-1L)));
+        long empty = ~Placements.mask(10);
+        for (int i = 0; i < Placements.COUNT; i++) {
+            boolean legal = (empty & Placements.mask(i)) == Placements.mask(i);
+            long set = i < Placements.HORIZONTAL_COUNT ? Placements.legalHorizontal(empty) >>> i
+                    : Placements.legalVertical(empty) >>> (i - Placements.HORIZONTAL_COUNT);
+            Assertions.assertEquals(legal, (set & 1) != 0);
+        }
+    }
+
+}
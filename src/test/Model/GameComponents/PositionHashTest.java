@@ -0,0 +1,54 @@
+package Model.GameComponents;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+class PositionHashTest {
+
+    @Test
+    public void testZobrist() {
+        Board mock = new Board();
+        Assertions.assertEquals(0, mock.getZobristKey());
+        mock.setHorizontalDomino(3, 3);
+        mock.setVerticalDomino(6, 5);
+        Assertions.assertEquals(PositionHash.zobrist(mock.getEmptyMask()), mock.getZobristKey());
+        mock.undo(Placements.of(Direction.VERTICAL, 6, 5));
+        Assertions.assertEquals(PositionHash.zobrist(mock.getEmptyMask()), mock.getZobristKey());
+    }
+
+    @Test
+    public void testTransform() {
+        for (int cell = 0; cell < 64; cell++) {
+            int x = cell / 8;
+            int y = cell % 8;
+            Set<Long> images = new HashSet<>();
+            for (int symmetry = 0; symmetry < PositionHash.SYMMETRIES; symmetry++) {
+                long image = PositionHash.transform(1L << cell, symmetry);
+                Assertions.assertEquals(1, Long.bitCount(image));
+                int other = Long.numberOfTrailingZeros(image);
+                int a = (symmetry & 4) != 0 ? y : x;
+                int b = (symmetry & 4) != 0 ? x : y;
+                a = (symmetry & 2) != 0 ? 7 - a : a;
+                b = (symmetry & 1) != 0 ? 7 - b : b;
+                Assertions.assertEquals(a * 8 + b, other);
+                images.add(image);
+            }
+            Assertions.assertTrue(images.size() >= 4);
+        }
+    }
+
+    @Test
+    public void testCanonical() {
+        long position = ~(Placements.mask(5) | Placements.mask(70));
+        long canonical = PositionHash.canonical(position);
+        for (int symmetry = 0; symmetry < PositionHash.SYMMETRIES; symmetry++) {
+            long image = PositionHash.transform(position, symmetry);
+            Assertions.assertEquals(canonical, PositionHash.canonical(image));
+            Assertions.assertTrue(canonical <= image);
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package Model.GameComponents;
+
+import Model.Scores.RankIndex;
+import Model.Scores.ScoreEntry;
+import Model.Scores.ScoreJsonLoader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+class ScoreBoardTest {
+
+    @TempDir
+    Path directory;
+
+    private static final String FILED = "[\n  {\"name\": \"f1\", \"score\": 10},\n"
+            + "  {\"name\": \"f2\", \"score\": 30},\n  {\"name\": \"f3\", \"score\": 50}\n]\n";
+
+    private List<ScoreEntry> readFile() throws IOException {
+        List<ScoreEntry> result = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(directory.resolve("top.json"))) {
+            new ScoreJsonLoader().load(reader, result::add);
+        }
+        return result;
+    }
+
+    private static String names(List<ScoreEntry> entries) {
+        return entries.stream().map(e -> e.getName() + " " + e.getScore()).collect(Collectors.joining(", "));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 200 && !condition.getAsBoolean(); i++)
+            Thread.sleep(25);
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void testMergedQueries() throws IOException {
+        Files.writeString(directory.resolve("top.json"), FILED);
+        ScoreBoard board = new ScoreBoard(3, directory);
+        board.addResult("a", 20L);
+        board.addResult("b", 40L);
+        board.addResult("c", 5L);
+        board.close();
+
+        Assertions.assertEquals("c 5, f1 10, a 20", names(board.topResults()));
+        Assertions.assertEquals(6, board.getNumOfResults());
+        RankIndex all = new RankIndex();
+        for (long score : new long[]{10, 30, 50, 20, 40, 5})
+            all.add(score);
+        for (long score : new long[]{0, 5, 10, 25, 30, 50, 60}) {
+            Assertions.assertEquals(all.rankOf(score), board.rankOf(score));
+            Assertions.assertEquals(all.topPercent(score), board.topPercent(score), 1e-9);
+        }
+        Assertions.assertEquals(4, board.rankOf(25));
+    }
+
+    @Test
+    public void testExport() throws IOException {
+        Files.writeString(directory.resolve("top.json"), FILED);
+        ScoreBoard board = new ScoreBoard(3, directory);
+        board.updateResults("a", 20L);
+        board.updateResults("b", 5L);
+        board.close();
+        Assertions.assertEquals("f1 10, f2 30, f3 50, a 20, b 5", names(readFile()));
+
+        ScoreBoard reopened = new ScoreBoard(3, directory);
+        Assertions.assertEquals(5, reopened.getNumOfResults());
+        Assertions.assertEquals("b 5, f1 10, a 20", names(reopened.topResults()));
+        reopened.updateResults("c", 1L);
+        reopened.close();
+        Assertions.assertEquals("f1 10, f2 30, f3 50, a 20, b 5, c 1", names(readFile()));
+    }
+
+    @Test
+    public void testCreatesFile() throws IOException {
+        ScoreBoard board = new ScoreBoard(3, directory);
+        long resources = board.getNumOfResults();
+        board.updateResults("a", 1L);
+        board.close();
+        List<ScoreEntry> filed = readFile();
+        Assertions.assertEquals(resources + 1, filed.size());
+        Assertions.assertEquals("a 1", names(filed.subList(filed.size() - 1, filed.size())));
+    }
+
+    @Test
+    public void testReload() throws IOException, InterruptedException {
+        Path file = directory.resolve("top.json");
+        Files.writeString(file, FILED);
+        ScoreBoard board = new ScoreBoard(3, directory);
+        try {
+            board.updateResults("a", 20L);
+            Files.writeString(file, FILED.replace("\n]\n", ",\n  {\"name\": \"g\", \"score\": 7}\n]\n"));
+            await(() -> board.getNumOfResults() == 5);
+            Assertions.assertEquals("g 7, f1 10, a 20", names(board.topResults()));
+
+            Files.writeString(file, "[{\"name\": \"h\", \"score\": 15}]");
+            await(() -> board.getNumOfResults() == 2);
+            Assertions.assertEquals("h 15, a 20", names(board.topResults()));
+        } finally {
+            board.close();
+        }
+        Assertions.assertEquals("h 15, a 20", names(readFile()));
+        Assertions.assertEquals(2, board.getNumOfResults());
+    }
+}
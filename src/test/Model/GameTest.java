@@ -0,0 +1,84 @@
+package Model;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import Model.Record.GameRecord;
+import Model.Record.ReplayVerifier;
+import Model.Record.Verdict;
+import Model.Simulation.RandomPolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Scanner;
+import java.util.SplittableRandom;
+
+class GameTest {
+
+    private Board mock;
+
+    @Test
+    public void testUndoRedo() {
+        mock = new Board(1);
+        Game game = new Game(mock);
+        Assertions.assertFalse(game.undo());
+        Assertions.assertEquals(-1L, game.snapshot().getEmptyMask());
+        game.setAndPlaceNextDomino(new Scanner("0 16"));
+        long first = mock.getEmptyMask();
+        Assertions.assertEquals(first, game.snapshot().getEmptyMask());
+        game.setAndPlaceNextDomino(new Scanner("1 17"));
+        long second = mock.getEmptyMask();
+        Assertions.assertTrue(game.undo());
+        Assertions.assertEquals(first, mock.getEmptyMask());
+        Assertions.assertEquals(first, game.snapshot().getEmptyMask());
+        Assertions.assertTrue(game.undo());
+        Assertions.assertEquals(-1L, mock.getEmptyMask());
+        Assertions.assertFalse(game.undo());
+        Assertions.assertTrue(game.redo());
+        Assertions.assertTrue(game.redo());
+        Assertions.assertEquals(second, mock.getEmptyMask());
+        Assertions.assertEquals(second, game.snapshot().getEmptyMask());
+        Assertions.assertFalse(game.redo());
+        game.undo();
+        game.setAndPlaceNextDomino(new Scanner("2 18"));
+        Assertions.assertFalse(game.redo());
+    }
+
+    @Test
+    public void testRecordKeepsUndoneTime() throws InterruptedException {
+        mock = new Board(4);
+        Game game = new Game(mock);
+        SplittableRandom random = new SplittableRandom(4);
+        place(game, new RandomPolicy().choose(mock, random));
+        Thread.sleep(2100);
+        place(game, new RandomPolicy().choose(mock, random));
+        Assertions.assertTrue(game.undo());
+        Assertions.assertTrue(game.redo());
+        while (mock.hasLegalMove())
+            place(game, new RandomPolicy().choose(mock, random));
+        Assertions.assertTrue(mock.isGoal());
+        GameRecord record = game.getRecord();
+        Assertions.assertTrue(record.getDelay(1) >= 2100);
+        Assertions.assertEquals(Verdict.VALID, new ReplayVerifier(0).verify(record));
+    }
+
+    private void place(Game game, int move) {
+        mock.setDirection(Placements.direction(move));
+        game.setAndPlaceNextDomino(new Scanner(Placements.first(move) + " " + Placements.last(move)));
+    }
+
+    @Test
+    public void testGetRecord() {
+        mock = new Board(2);
+        Game game = new Game(mock);
+        game.setAndPlaceNextDomino(new Scanner("0 16"));
+        game.setAndPlaceNextDomino(new Scanner("1 17"));
+        game.undo();
+        game.setAndPlaceNextDomino(new Scanner("2 18"));
+        GameRecord record = game.getRecord();
+        Assertions.assertEquals(2, record.getSeed());
+        Assertions.assertEquals(2, record.size());
+        Assertions.assertEquals(0, record.getMove(0));
+        Assertions.assertEquals(2, record.getMove(1));
+        Assertions.assertEquals(Verdict.NOT_FINISHED, new ReplayVerifier(0).verify(record));
+    }
+}
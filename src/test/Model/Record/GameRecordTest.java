@@ -0,0 +1,55 @@
+package Model.Record;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+
+class GameRecordTest {
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        GameRecord plain = new GameRecord(-5, 0, new byte[]{0, 95, 48}, new long[]{1500, 0, 1L << 40}, false, 7);
+        GameRecord.Builder builder = new GameRecord.Builder(9, 0x8000000000000007L);
+        builder.add(10, 300);
+        builder.add(11, 400);
+        builder.removeLast();
+        GameRecord blocked = builder.build(true, 0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+            writer.write(plain);
+            writer.write(blocked);
+        }
+        Assertions.assertEquals(4 + (1 + 8 + 1 + 3 + 2 + 1 + 6 + 1) + (1 + 16 + 1 + 1 + 2 + 1), bytes.size());
+        try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Assertions.assertEquals(plain, reader.next());
+            GameRecord read = reader.next();
+            Assertions.assertEquals(blocked, read);
+            Assertions.assertEquals(1, read.size());
+            Assertions.assertEquals(300, read.getDuration());
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testCorruptedStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+            writer.write(new GameRecord(1, 0, new byte[]{3}, new long[]{1000}, false, 1));
+        }
+        byte[] data = bytes.toByteArray();
+        GameRecordReader truncated = new GameRecordReader(
+                new ByteArrayInputStream(Arrays.copyOf(data, data.length - 1)));
+        Assertions.assertThrows(EOFException.class, truncated::next);
+        data[4 + 1 + 8 + 1] = 100;
+        GameRecordReader invalid = new GameRecordReader(new ByteArrayInputStream(data));
+        Assertions.assertThrows(StreamCorruptedException.class, invalid::next);
+        Assertions.assertThrows(StreamCorruptedException.class,
+                () -> new GameRecordReader(new ByteArrayInputStream(new byte[]{1, 2, 3, 4})));
+    }
+}
@@ -0,0 +1,145 @@
+package Model.Record;
+
+import Model.GameComponents.Board;
+import Model.GameComponents.Placements;
+import Model.Simulation.Puzzle;
+import Model.Simulation.PuzzleGenerator;
+import Model.Simulation.RandomPolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+class ReplayVerifierTest {
+
+    private Board mock;
+
+    private GameRecord play(long seed, SplittableRandom random) {
+        mock = new Board(seed);
+        GameRecord.Builder builder = new GameRecord.Builder(seed, 0);
+        long duration = 0;
+        while (mock.hasLegalMove()) {
+            int move = new RandomPolicy().choose(mock, random);
+            long delay = 1000 + random.nextInt(5000);
+            mock.place(move);
+            builder.add(move, delay);
+            duration += delay;
+        }
+        return builder.build(mock.isVictory(), duration / 1000);
+    }
+
+    @Test
+    public void testVerify() {
+        ReplayVerifier verifier = new ReplayVerifier();
+        SplittableRandom random = new SplittableRandom(8);
+        GameRecord record = play(1, random);
+        Assertions.assertEquals(Verdict.VALID, verifier.verify(record));
+        byte[] moves = new byte[record.size()];
+        long[] delays = new long[record.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = (byte) record.getMove(i);
+            delays[i] = record.getDelay(i);
+        }
+        Assertions.assertEquals(Verdict.FALSE_VICTORY, verifier.verify(new GameRecord(1, 0, moves, delays,
+                !record.isVictory(), record.getScore())));
+        Assertions.assertEquals(Verdict.FALSE_TIME, verifier.verify(new GameRecord(1, 0, moves, delays,
+                record.isVictory(), record.getScore() / 2)));
+        Assertions.assertEquals(Verdict.ILLEGAL_MOVE, verifier.verify(new GameRecord(2, 0,
+                new byte[]{0, 0}, new long[]{1000, 1000}, false, 2)));
+        Assertions.assertEquals(Verdict.NOT_FINISHED, verifier.verify(new GameRecord(2, 0,
+                new byte[]{0}, new long[]{1000}, false, 1)));
+        delays[0] = 10;
+        Assertions.assertEquals(Verdict.TOO_FAST, verifier.verify(new GameRecord(1, 0, moves, delays,
+                record.isVictory(), record.getScore())));
+    }
+
+    private GameRecord playPuzzle(long seed, long blocked, SplittableRandom random) {
+        mock = new Board(seed);
+        mock.block(blocked);
+        GameRecord.Builder builder = new GameRecord.Builder(seed, blocked);
+        long duration = 0;
+        while (mock.hasLegalMove()) {
+            int move = new RandomPolicy().choose(mock, random);
+            mock.place(move);
+            builder.add(move, 1000);
+            duration += 1000;
+        }
+        return builder.build(mock.isVictory(), duration / 1000);
+    }
+
+    @Test
+    public void testObstacles() {
+        ReplayVerifier verifier = new ReplayVerifier();
+        long domino = 1L | 1L << 8 | 1L << 16;
+        Assertions.assertEquals(Verdict.FALSE_OBSTACLES, verifier.verify(new GameRecord(5, ~domino,
+                new byte[]{(byte) Placements.ofMask(domino)}, new long[]{1000}, true, 1)));
+
+        Puzzle puzzle = new PuzzleGenerator(1).generate(6);
+        Assertions.assertEquals(puzzle.getBlocked(), PuzzleGenerator.obstacles(6));
+        GameRecord record = playPuzzle(6, puzzle.getBlocked(), new SplittableRandom(10));
+        Assertions.assertEquals(puzzle.getBlocked(), record.getBlocked());
+        Assertions.assertEquals(Verdict.VALID, verifier.verify(record));
+        Assertions.assertEquals(Verdict.VALID, verifier.verify(record));
+    }
+
+    @Test
+    public void testPuzzleThroughput() {
+        SplittableRandom random = new SplittableRandom(12);
+        long[] blocked = new long[10];
+        for (int seed = 0; seed < blocked.length; seed++)
+            blocked[seed] = PuzzleGenerator.obstacles(seed);
+        List<GameRecord> records = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            records.add(playPuzzle(i % 10, blocked[i % 10], random));
+        ReplayVerifier verifier = new ReplayVerifier();
+        for (GameRecord record : records)
+            Assertions.assertEquals(Verdict.VALID, verifier.verify(record));
+        long start = System.nanoTime();
+        for (int round = 0; round < 100; round++)
+            for (GameRecord record : records)
+                verifier.verify(record);
+        Assertions.assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    public void testUndo() {
+        mock = new Board(3);
+        SplittableRandom random = new SplittableRandom(11);
+        GameRecord.Builder builder = new GameRecord.Builder(3, 0);
+        long duration = 0;
+        while (mock.hasLegalMove()) {
+            int move = new RandomPolicy().choose(mock, random);
+            builder.add(move, 3000);
+            builder.removeLast();
+            mock.place(move);
+            builder.add(move, 50);
+            duration += 3050;
+        }
+        GameRecord record = builder.build(mock.isVictory(), duration / 1000);
+        Assertions.assertEquals(3050, record.getDelay(0));
+        Assertions.assertEquals(Verdict.VALID, new ReplayVerifier().verify(record));
+    }
+
+    @Test
+    public void testVerifyAll() throws IOException {
+        SplittableRandom random = new SplittableRandom(9);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+            for (int i = 0; i < 1000; i++)
+                writer.write(play(i, random));
+            writer.write(new GameRecord(0, 0, new byte[]{0}, new long[]{1000}, true, 1));
+        }
+        try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Map<Verdict, Long> verdicts = new ReplayVerifier().verifyAll(reader);
+            Assertions.assertEquals(1000, verdicts.get(Verdict.VALID));
+            Assertions.assertEquals(1, verdicts.get(Verdict.NOT_FINISHED));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package Model.Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+class ConcurrentScoreIngesterTest {
+
+    @Test
+    public void testConcurrentAdds() throws InterruptedException {
+        int threads = 8;
+        int perThread = 20_000;
+        try (ConcurrentScoreIngester ingester = new ConcurrentScoreIngester(10, 1 << 16, 1)) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                Thread worker = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perThread; i++)
+                        ingester.add(new ScoreEntry("t" + offset, 100 + (i * threads + offset) % 50_000));
+                });
+                workers.add(worker);
+                worker.start();
+            }
+            start.countDown();
+            long lastVersion = -1;
+            long lastSize = -1;
+            for (Thread worker : workers) {
+                while (worker.isAlive()) {
+                    LeaderboardSnapshot snapshot = ingester.snapshot();
+                    Assertions.assertTrue(snapshot.getVersion() >= lastVersion);
+                    Assertions.assertTrue(snapshot.size() >= lastSize);
+                    lastVersion = snapshot.getVersion();
+                    lastSize = snapshot.size();
+                    worker.join(1);
+                }
+            }
+            ingester.flush();
+            LeaderboardSnapshot snapshot = ingester.snapshot();
+            Assertions.assertEquals((long) threads * perThread, snapshot.size());
+            Assertions.assertEquals(10, snapshot.getTop().size());
+            for (int i = 0; i < 10; i++)
+                Assertions.assertEquals(100 + i / 4, snapshot.getTop().get(i).getScore());
+            Assertions.assertEquals(1, ingester.rankOf(100));
+            Assertions.assertEquals(4 * 5 + 1, ingester.rankOf(105));
+        }
+    }
+
+    @Test
+    public void testFlushAndMerge() {
+        ConcurrentScoreIngester ingester = new ConcurrentScoreIngester(3, 1000, 0);
+        ingester.add(new ScoreEntry("a", 30));
+        Assertions.assertEquals(0, ingester.snapshot().size());
+        ingester.flush();
+        Assertions.assertEquals(1, ingester.snapshot().size());
+        TopKLeaderboard top = new TopKLeaderboard(3);
+        RankIndex index = new RankIndex(1000);
+        for (int score : new int[]{10, 20, 40}) {
+            top.offer("b", score);
+            index.add(score);
+        }
+        ingester.merge(top, index);
+        Assertions.assertEquals(4, ingester.snapshot().size());
+        Assertions.assertEquals(List.of(10L, 20L, 30L), scores(ingester.snapshot()));
+        Assertions.assertEquals(50.0, ingester.topPercent(20));
+        ingester.close();
+    }
+
+    private static List<Long> scores(LeaderboardSnapshot snapshot) {
+        List<Long> result = new ArrayList<>();
+        for (ScoreEntry entry : snapshot)
+            result.add(entry.getScore());
+        return result;
+    }
+}
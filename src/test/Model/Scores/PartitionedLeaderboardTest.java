@@ -0,0 +1,76 @@
+package Model.Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+class PartitionedLeaderboardTest {
+
+    private static final long DAY = PartitionedLeaderboard.DEFAULT_SEGMENT_MILLIS;
+
+    @TempDir
+    Path directory;
+
+    private static List<Long> scores(List<ScoreEntry> entries) {
+        return entries.stream().map(ScoreEntry::getScore).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testRangeQueriesMatchBruteForce() {
+        PartitionedLeaderboard partitions = new PartitionedLeaderboard(10);
+        SplittableRandom random = new SplittableRandom(24);
+        List<ScoreEntry> all = new ArrayList<>();
+        for (int day = 0; day < 30; day++)
+            for (int i = 0; i < 200; i++) {
+                ScoreEntry entry = new ScoreEntry("p" + i, random.nextInt(5000), day * DAY + random.nextLong(DAY));
+                partitions.offer(entry);
+                all.add(entry);
+            }
+        Assertions.assertEquals(30, partitions.segmentCount());
+        for (int from = 0; from < 30; from += 4)
+            for (int to = from + 1; to <= 30; to += 5) {
+                long start = from * DAY;
+                long end = to * DAY;
+                List<Long> expected = all.stream().filter(e -> e.getTimestamp() >= start && e.getTimestamp() < end)
+                        .map(ScoreEntry::getScore).sorted(Comparator.naturalOrder()).limit(10)
+                        .collect(Collectors.toList());
+                Assertions.assertEquals(expected, scores(partitions.top(start, end, 10)));
+            }
+        Assertions.assertEquals(3, partitions.top(0, 30 * DAY, 3).size());
+        Assertions.assertTrue(partitions.top(40 * DAY, 50 * DAY, 10).isEmpty());
+    }
+
+    @Test
+    public void testSealedSegmentsArePersisted() {
+        PartitionedLeaderboard partitions = new PartitionedLeaderboard(3, DAY, directory);
+        for (int day = 0; day < 5; day++)
+            for (int score = 10; score > 0; score--)
+                partitions.offer(new ScoreEntry("d" + day, day * 100 + score, day * DAY + score));
+        Assertions.assertTrue(partitions.isSealed(2 * DAY));
+        Assertions.assertFalse(partitions.isSealed(3 * DAY));
+        Assertions.assertFalse(partitions.offer(new ScoreEntry("late", 0, 2 * DAY)));
+        Assertions.assertTrue(partitions.offer(new ScoreEntry("late", 0, 3 * DAY)));
+        Assertions.assertEquals(List.of(101L, 102L, 103L), scores(partitions.top(DAY, 2 * DAY, 10)));
+
+        PartitionedLeaderboard reloaded = new PartitionedLeaderboard(3, DAY, directory);
+        Assertions.assertEquals(3, reloaded.segmentCount());
+        Assertions.assertEquals(partitions.top(0, 3 * DAY, 3), reloaded.top(0, 3 * DAY, 3));
+        Assertions.assertFalse(reloaded.offer(new ScoreEntry("late", 0, DAY)));
+        Assertions.assertTrue(reloaded.offer(new ScoreEntry("new", 1, 3 * DAY)));
+    }
+
+    @Test
+    public void testPeriodStart() {
+        long now = 10 * DAY + 5;
+        Assertions.assertEquals(10 * DAY, LeaderboardPeriod.DAY.start(now));
+        Assertions.assertEquals(4 * DAY, LeaderboardPeriod.WEEK.start(now));
+        Assertions.assertEquals(Long.MIN_VALUE, LeaderboardPeriod.ALL_TIME.start(now));
+    }
+}
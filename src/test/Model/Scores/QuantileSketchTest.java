@@ -0,0 +1,54 @@
+package Model.Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+class QuantileSketchTest {
+
+    private static double percentNotWorse(long[] sorted, double score) {
+        int count = 0;
+        while (count < sorted.length && sorted[count] <= score)
+            count++;
+        return 100.0 * count / sorted.length;
+    }
+
+    @Test
+    public void testQuantilesWithinAccuracy() {
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        SplittableRandom random = new SplittableRandom(7);
+        long[] scores = new long[100_000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = 1 + (long) Math.exp(random.nextDouble() * 12);
+            (i % 2 == 0 ? first : second).add(scores[i]);
+        }
+        first.merge(second);
+        Assertions.assertEquals(scores.length, first.size());
+        Arrays.sort(scores);
+        for (double q = 0; q <= 1; q += 0.05) {
+            long exact = scores[(int) (q * (scores.length - 1))];
+            Assertions.assertEquals(exact, first.quantile(q), exact * first.getAccuracy() + 1e-9);
+        }
+        long score = scores[scores.length / 10];
+        double top = first.topPercent(score);
+        Assertions.assertTrue(top >= percentNotWorse(scores, score * (1 - 2 * first.getAccuracy()))
+                && top <= percentNotWorse(scores, score * (1 + 2 * first.getAccuracy())), "top " + top);
+    }
+
+    @Test
+    public void testEdgeCases() {
+        QuantileSketch sketch = new QuantileSketch(0.05);
+        Assertions.assertEquals(0, sketch.quantile(0.5));
+        Assertions.assertEquals(100, sketch.topPercent(10));
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(100);
+        Assertions.assertEquals(0, sketch.quantile(0.5));
+        Assertions.assertEquals(100, sketch.quantile(1), 5);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sketch.merge(new QuantileSketch()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sketch.quantile(2));
+    }
+}
@@ -0,0 +1,52 @@
+package Model.Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+class RankIndexTest {
+
+    @Test
+    public void testMatchesSortedScores() {
+        RankIndex index = new RankIndex(5000);
+        SplittableRandom random = new SplittableRandom(6);
+        long[] scores = new long[20_000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(4000);
+            index.add(scores[i]);
+        }
+        Arrays.sort(scores);
+        for (int rank = 1; rank <= scores.length; rank += 37)
+            Assertions.assertEquals(scores[rank - 1], index.scoreAt(rank));
+        for (int score = 0; score < 4100; score += 13) {
+            int below = 0;
+            while (below < scores.length && scores[below] < score)
+                below++;
+            Assertions.assertEquals(below + 1, index.rankOf(score));
+        }
+        Assertions.assertArrayEquals(Arrays.copyOfRange(scores, 99, 199), index.range(100, 100));
+        Assertions.assertArrayEquals(Arrays.copyOfRange(scores, 19_990, 20_000), index.range(19_991, 100));
+        Assertions.assertEquals(100.0, index.topPercent(scores[scores.length - 1]));
+    }
+
+    @Test
+    public void testRemoveAndClamp() {
+        RankIndex index = new RankIndex(100);
+        index.add(10);
+        index.add(10);
+        index.add(500);
+        Assertions.assertEquals(3, index.size());
+        Assertions.assertEquals(100, index.scoreAt(3));
+        Assertions.assertEquals(1, index.rankOf(10));
+        Assertions.assertEquals(3, index.rankOf(50));
+        index.remove(10);
+        Assertions.assertEquals(2, index.rankOf(50));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.remove(20));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> index.scoreAt(3));
+        index.clear();
+        Assertions.assertEquals(0, index.size());
+        Assertions.assertEquals(0, index.range(1, 10).length);
+    }
+}
@@ -0,0 +1,145 @@
+package Model.Scores;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+class ScoreArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private List<ScoreEntry> entries(int count) {
+        Random random = new Random(7);
+        List<ScoreEntry> result = new ArrayList<>();
+        long time = 1_600_000_000_000L;
+        for (int i = 0; i < count; i++) {
+            time += random.nextInt(2000) - 200;
+            String name = i % 11 == 0 ? "ümläut " + i % 3 : "player" + random.nextInt(50);
+            result.add(new ScoreEntry(name, i % 997 == 0 ? 1L << 40 : random.nextInt(600) + i / 100, time));
+        }
+        return result;
+    }
+
+    private Path write(List<ScoreEntry> entries, int blockSize) throws IOException {
+        Path file = directory.resolve("scores.archive");
+        try (ScoreArchiveWriter writer = new ScoreArchiveWriter(Files.newOutputStream(file), blockSize)) {
+            for (ScoreEntry entry : entries)
+                writer.write(entry);
+        }
+        return file;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<ScoreEntry> expected = entries(10_000);
+        Path file = write(expected, 300);
+        try (ScoreArchive archive = new ScoreArchive(file)) {
+            Assertions.assertEquals(10_000, archive.size());
+            Assertions.assertEquals(34, archive.blockCount());
+            List<ScoreEntry> actual = new ArrayList<>();
+            archive.scan(actual::add);
+            Assertions.assertEquals(expected, actual);
+            List<Long> scores = new ArrayList<>();
+            archive.scanScores(scores::add);
+            Assertions.assertEquals(expected.stream().map(ScoreEntry::getScore).collect(Collectors.toList()), scores);
+        }
+        Assertions.assertTrue(Files.size(file) < 10_000 * 8);
+    }
+
+    @Test
+    public void testRangeScan() throws IOException {
+        List<ScoreEntry> expected = entries(10_000);
+        Path file = write(expected, 256);
+        long from = expected.get(4000).getTimestamp();
+        long to = expected.get(4500).getTimestamp();
+        try (ScoreArchive archive = new ScoreArchive(file)) {
+            List<ScoreEntry> actual = new ArrayList<>();
+            archive.scan(100, 200, from, to, actual::add);
+            Assertions.assertEquals(expected.stream()
+                    .filter(e -> e.getScore() >= 100 && e.getScore() <= 200)
+                    .filter(e -> e.getTimestamp() >= from && e.getTimestamp() <= to)
+                    .collect(Collectors.toList()), actual);
+            Assertions.assertFalse(actual.isEmpty());
+
+            List<ScoreEntry> none = new ArrayList<>();
+            archive.scan(-10, -1, Long.MIN_VALUE, Long.MAX_VALUE, none::add);
+            Assertions.assertTrue(none.isEmpty());
+        }
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        Path file = write(List.of(), 16);
+        try (ScoreArchive archive = new ScoreArchive(file)) {
+            Assertions.assertEquals(0, archive.size());
+            Assertions.assertEquals(0, archive.blockCount());
+            archive.scan(entry -> Assertions.fail("No entries expected"));
+        }
+    }
+
+    @Test
+    public void testConvert() throws IOException {
+        List<Map<String, Object>> records = new ArrayList<>();
+        List<ScoreEntry> expected = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("name", "player" + i % 40);
+            record.put("score", i * 13 % 500);
+            record.put("timestamp", 1_600_000_000_000L + i * 1000);
+            records.add(record);
+            expected.add(new ScoreEntry("player" + i % 40, i * 13 % 500, 1_600_000_000_000L + i * 1000));
+        }
+        Path json = directory.resolve("scores.json");
+        Files.writeString(json, new Gson().toJson(records));
+        Path file = directory.resolve("scores.archive");
+
+        Assertions.assertEquals(3000, ScoreArchiveWriter.convert(json, file));
+        Assertions.assertTrue(ScoreArchive.isArchive(file));
+        Assertions.assertFalse(ScoreArchive.isArchive(json));
+        try (ScoreArchive archive = new ScoreArchive(file)) {
+            List<ScoreEntry> actual = new ArrayList<>();
+            archive.scan(actual::add);
+            Assertions.assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testCorrupted() throws IOException {
+        Path file = write(entries(1000), 100);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = directory.resolve("truncated.archive");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 5));
+        Assertions.assertThrows(IOException.class, () -> new ScoreArchive(truncated));
+
+        Path other = directory.resolve("other.archive");
+        Files.writeString(other, "[{\"name\":\"a\",\"score\":1}]");
+        Assertions.assertThrows(IOException.class, () -> new ScoreArchive(other));
+
+        for (int position = 4; position < 6; position++)
+            for (int value : new int[]{bytes[position] ^ 0x7F, bytes[position] + 1, 70, 0xFF}) {
+                byte[] damagedBytes = bytes.clone();
+                damagedBytes[position] = (byte) value;
+                Path damaged = directory.resolve("damaged.archive");
+                Files.write(damaged, damagedBytes);
+                try (ScoreArchive archive = new ScoreArchive(damaged)) {
+                    Assertions.assertThrows(StreamCorruptedException.class, () -> archive.scan(entry -> { }));
+                    Assertions.assertThrows(StreamCorruptedException.class, () -> archive.scanScores(score -> { }));
+                }
+            }
+    }
+}
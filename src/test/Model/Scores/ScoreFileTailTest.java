@@ -0,0 +1,59 @@
+package Model.Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+class ScoreFileTailTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testLoadAppended() throws IOException {
+        Path file = directory.resolve("top.json");
+        Files.writeString(file, "[\n  {\"name\": \"a\", \"score\": 1}\n]\n");
+        ScoreFileTail tail = new ScoreFileTail(file);
+        List<ScoreEntry> entries = new ArrayList<>();
+        Assertions.assertEquals(1, tail.load(entries::add));
+
+        Files.writeString(file, "[\n  {\"name\": \"a\", \"score\": 1},\n  {\"name\": \"b\", \"score\": 2}\n]");
+        List<ScoreEntry> appended = new ArrayList<>();
+        Assertions.assertTrue(tail.loadAppended(appended::add));
+        Assertions.assertEquals(List.of(new ScoreEntry("b", 2, 0)), appended);
+
+        appended.clear();
+        Assertions.assertTrue(tail.loadAppended(appended::add));
+        Files.writeString(file, "[\n  {\"name\": \"a\", \"score\": 3},\n  {\"name\": \"b\", \"score\": 2},\n{}]");
+        Assertions.assertFalse(tail.loadAppended(appended::add));
+        Assertions.assertTrue(appended.isEmpty());
+    }
+
+    @Test
+    public void testAppend() throws IOException {
+        Path file = directory.resolve("top.json");
+        Files.writeString(file, "[ ]");
+        ScoreFileTail tail = new ScoreFileTail(file);
+        Assertions.assertEquals(0, tail.load(entry -> Assertions.fail("No entries expected")));
+        List<ScoreEntry> expected = List.of(new ScoreEntry("ä \"x\"", 4, 0), new ScoreEntry("b", 5, 1234));
+        tail.append(expected);
+        tail.append(List.of(new ScoreEntry("c", 6, 0)));
+        Assertions.assertTrue(tail.loadAppended(entry -> Assertions.fail("The appended entries are parsed")));
+
+        List<ScoreEntry> entries = new ArrayList<>();
+        new ScoreFileTail(file).load(entries::add);
+        Assertions.assertEquals(List.of(expected.get(0), expected.get(1), new ScoreEntry("c", 6, 0)), entries);
+
+        Files.writeString(file, Files.readString(file).replace("\"c\"", "\"d\""));
+        Assertions.assertThrows(IOException.class, () -> tail.append(List.of(new ScoreEntry("e", 7, 0))));
+        Files.writeString(file, Files.readString(file).replace("\"d\"", "\"c\"")
+                .replace("]", ",{\"name\":\"f\",\"score\":1}]"));
+        Assertions.assertThrows(IOException.class, () -> tail.append(List.of(new ScoreEntry("e", 7, 0))));
+    }
+}
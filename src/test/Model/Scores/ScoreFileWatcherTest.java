@@ -0,0 +1,33 @@
+package Model.Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+class ScoreFileWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testCallsBackOnChangesOfTheFile() throws IOException, InterruptedException {
+        Path file = directory.resolve("top.json");
+        Files.writeString(file, "[]");
+        Semaphore changes = new Semaphore(0);
+        try (ScoreFileWatcher watcher = new ScoreFileWatcher(file, changes::release, 20)) {
+            Assertions.assertEquals(file.toAbsolutePath(), watcher.getFile());
+            Files.writeString(directory.resolve("other.json"), "[]");
+            Assertions.assertFalse(changes.tryAcquire(300, TimeUnit.MILLISECONDS));
+            Files.writeString(file, "[{\"name\": \"a\", \"score\": 1}]");
+            Assertions.assertTrue(changes.tryAcquire(10, TimeUnit.SECONDS));
+            Files.delete(file);
+            Assertions.assertTrue(changes.tryAcquire(10, TimeUnit.SECONDS));
+        }
+    }
+}
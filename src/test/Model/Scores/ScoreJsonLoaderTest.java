@@ -0,0 +1,65 @@
+package Model.Scores;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+class ScoreJsonLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testParallelMatchesSequential() throws IOException {
+        List<Map<String, Object>> records = new ArrayList<>();
+        List<ScoreEntry> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String name = i % 7 == 0 ? "tricky \"},{\" [" + i + "]" : "player" + i;
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("name", name);
+            record.put("score", i * 31 % 977);
+            if (i % 2 == 0)
+                record.put("timestamp", 1_600_000_000_000L + i);
+            if (i % 5 == 0)
+                record.put("extra", List.of(1, 2, 3));
+            records.add(record);
+            expected.add(new ScoreEntry(name, i * 31 % 977, i % 2 == 0 ? 1_600_000_000_000L + i : 0));
+        }
+        Path file = directory.resolve("scores.json");
+        Files.writeString(file, new Gson().toJson(records));
+
+        ScoreJsonLoader loader = new ScoreJsonLoader(new ForkJoinPool(4), 1024);
+        Assertions.assertEquals(expected, loader.load(file, Collectors.toList()));
+        Assertions.assertEquals(5000, loader.getRecords());
+        Assertions.assertEquals(Files.size(file), loader.getBytes());
+        Assertions.assertTrue(loader.getRecordsPerSecond() > 0);
+
+        List<ScoreEntry> sequential = new ArrayList<>();
+        Assertions.assertEquals(5000, loader.load(Files.newBufferedReader(file), sequential::add));
+        Assertions.assertEquals(expected, sequential);
+    }
+
+    @Test
+    public void testEmptyAndMalformed() throws IOException {
+        ScoreJsonLoader loader = new ScoreJsonLoader();
+        Assertions.assertEquals(0, loader.load(new StringReader("[]"), entry -> Assertions.fail()));
+        Assertions.assertEquals(0, loader.load(new StringReader("null"), entry -> Assertions.fail()));
+        Assertions.assertThrows(IOException.class, () -> loader.load(new StringReader("{\"name\": 1}"), entry -> {
+        }));
+        Assertions.assertThrows(IOException.class, () -> loader.load(new StringReader("[{\"score\": \"x\"}]"),
+                entry -> {
+                }));
+    }
+}
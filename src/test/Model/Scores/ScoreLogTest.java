@@ -0,0 +1,108 @@
+package Model.Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+class ScoreLogTest {
+
+    @TempDir
+    Path directory;
+
+    private List<ScoreEntry> recover(ScoreLog log) throws IOException {
+        List<ScoreEntry> result = new ArrayList<>();
+        log.recover(result::add);
+        return result;
+    }
+
+    private Path currentLog() throws IOException {
+        return Files.list(directory).filter(path -> path.toString().endsWith(".log")).max(Path::compareTo).get();
+    }
+
+    @Test
+    public void testRecoverAppended() throws IOException {
+        List<ScoreEntry> expected = new ArrayList<>();
+        try (ScoreLog log = new ScoreLog(directory)) {
+            Assertions.assertTrue(recover(log).isEmpty());
+            for (int i = 0; i < 100; i++) {
+                ScoreEntry entry = new ScoreEntry("player" + i, 1000 - i, 1_600_000_000_000L + i);
+                log.append(entry);
+                expected.add(entry);
+            }
+            Assertions.assertThrows(IllegalStateException.class, () -> log.recover(entry -> {
+            }));
+        }
+        try (ScoreLog log = new ScoreLog(directory)) {
+            Assertions.assertEquals(expected, recover(log));
+        }
+    }
+
+    @Test
+    public void testTornRecordIsCutOff() throws IOException {
+        try (ScoreLog log = new ScoreLog(directory)) {
+            recover(log);
+            log.append(new ScoreEntry("first", 10));
+            log.append(new ScoreEntry("second", 20));
+        }
+        Path path = currentLog();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (ScoreLog log = new ScoreLog(directory)) {
+            Assertions.assertEquals(List.of(new ScoreEntry("first", 10)), recover(log));
+            log.append(new ScoreEntry("third", 30));
+        }
+        try (ScoreLog log = new ScoreLog(directory)) {
+            Assertions.assertEquals(List.of(new ScoreEntry("first", 10), new ScoreEntry("third", 30)), recover(log));
+        }
+    }
+
+    @Test
+    public void testCorruptedRecordStopsReplay() throws IOException {
+        try (ScoreLog log = new ScoreLog(directory)) {
+            recover(log);
+            for (int i = 0; i < 3; i++)
+                log.append(new ScoreEntry("p" + i, i));
+        }
+        Path path = currentLog();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x55;
+        Files.write(path, bytes);
+        try (ScoreLog log = new ScoreLog(directory)) {
+            Assertions.assertEquals(List.of(new ScoreEntry("p0", 0)), recover(log));
+        }
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        List<ScoreEntry> expected = new ArrayList<>();
+        try (ScoreLog log = new ScoreLog(directory, 200, true)) {
+            recover(log);
+            for (int i = 0; i < 50; i++) {
+                ScoreEntry entry = new ScoreEntry("player" + i, i * 7 % 13, i);
+                log.append(entry);
+                expected.add(entry);
+            }
+            log.compact();
+            Assertions.assertTrue(log.getGeneration() > 1);
+        }
+        Assertions.assertTrue(Files.exists(directory.resolve(ScoreLog.SNAPSHOT)));
+        Assertions.assertEquals(1, Files.list(directory).filter(path -> path.toString().endsWith(".log")).count());
+        try (ScoreLog log = new ScoreLog(directory)) {
+            Assertions.assertEquals(expected, recover(log));
+            log.append(new ScoreEntry("late", 1));
+            expected.add(new ScoreEntry("late", 1));
+        }
+        try (ScoreLog log = new ScoreLog(directory)) {
+            Assertions.assertEquals(expected, recover(log));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package Model.Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+class TopKLeaderboardTest {
+
+    @Test
+    public void testMatchesSortedOrder() {
+        TopKLeaderboard leaderboard = new TopKLeaderboard(25);
+        List<ScoreEntry> all = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < 100_000; i++) {
+            ScoreEntry entry = new ScoreEntry("Player" + random.nextInt(50), random.nextInt(10_000), i);
+            all.add(entry);
+            leaderboard.offer(entry);
+        }
+        all.sort(Comparator.comparingLong(ScoreEntry::getScore));
+        Assertions.assertEquals(all.subList(0, 25), leaderboard.top());
+        Assertions.assertEquals(all.get(24).getScore(), leaderboard.threshold());
+    }
+
+    @Test
+    public void testTiesAndDuplicateNames() {
+        TopKLeaderboard leaderboard = new TopKLeaderboard(3);
+        Assertions.assertEquals(Long.MAX_VALUE, leaderboard.threshold());
+        Assertions.assertTrue(leaderboard.offer("Player1", 60));
+        Assertions.assertTrue(leaderboard.offer("Player1", 50));
+        Assertions.assertTrue(leaderboard.offer("Player2", 60));
+        Assertions.assertFalse(leaderboard.offer("Player3", 60));
+        Assertions.assertTrue(leaderboard.offer("Player3", 10));
+        List<ScoreEntry> top = leaderboard.top();
+        Assertions.assertEquals(3, top.size());
+        Assertions.assertEquals("Player3 10", top.get(0).toString());
+        Assertions.assertEquals("Player1 50", top.get(1).toString());
+        Assertions.assertEquals("Player1 60", top.get(2).toString());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TopKLeaderboard(0));
+    }
+
+    @Test
+    public void testBulkIngestion() {
+        TopKLeaderboard leaderboard = new TopKLeaderboard(100);
+        SplittableRandom random = new SplittableRandom(5);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3_000_000; i++) {
+            long score = random.nextLong(1_000_000);
+            best = Math.min(best, score);
+            leaderboard.offer("Player", score);
+        }
+        Assertions.assertEquals(100, leaderboard.size());
+        Assertions.assertEquals(best, leaderboard.top().get(0).getScore());
+    }
+}
@@ -0,0 +1,108 @@
+package Model.Scores;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+class WriteBehindPersisterTest {
+
+    @TempDir
+    Path directory;
+
+    private List<ScoreEntry> recover() throws IOException {
+        List<ScoreEntry> result = new ArrayList<>();
+        try (ScoreLog log = new ScoreLog(directory)) {
+            log.recover(result::add);
+        }
+        return result;
+    }
+
+    @Test
+    public void testBatchesAndCloseWritesEverything() throws IOException, InterruptedException {
+        List<ScoreEntry> expected = new ArrayList<>();
+        try (ScoreLog log = new ScoreLog(directory, ScoreLog.DEFAULT_COMPACT_BYTES, true)) {
+            log.recover(entry -> {
+            });
+            WriteBehindPersister persister = new WriteBehindPersister(log, 16, 64, 50);
+            for (int i = 0; i < 500; i++) {
+                ScoreEntry entry = new ScoreEntry("player" + i, i, i);
+                persister.submit(entry);
+                expected.add(entry);
+            }
+            persister.flush();
+            Assertions.assertTrue(persister.getBatches() < 500);
+            for (int i = 500; i < 600; i++) {
+                ScoreEntry entry = new ScoreEntry("player" + i, i, i);
+                persister.submit(entry);
+                expected.add(entry);
+            }
+            persister.close();
+            Assertions.assertEquals(0, persister.getFailed());
+            Assertions.assertThrows(IllegalStateException.class, () -> persister.submit(new ScoreEntry("late", 1)));
+        }
+        Assertions.assertEquals(expected, recover());
+    }
+
+    @Test
+    public void testFailedBatchIsCounted() throws IOException, InterruptedException {
+        ScoreLog log = new ScoreLog(directory);
+        log.recover(entry -> {
+        });
+        WriteBehindPersister persister = new WriteBehindPersister(log, 4, 4, 0);
+        persister.submit(new ScoreEntry("first", 1));
+        persister.flush();
+        log.close();
+        persister.submit(new ScoreEntry("second", 2));
+        persister.flush();
+        persister.close();
+        Assertions.assertEquals(1, persister.getFailed());
+        Assertions.assertEquals(List.of(new ScoreEntry("first", 1)), recover());
+    }
+
+    @Test
+    public void testSubmitRacingClose() throws IOException, InterruptedException {
+        ConcurrentLinkedQueue<ScoreEntry> accepted = new ConcurrentLinkedQueue<>();
+        try (ScoreLog log = new ScoreLog(directory)) {
+            log.recover(entry -> {
+            });
+            WriteBehindPersister persister = new WriteBehindPersister(log, 2, 4, 0);
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                threads.add(new Thread(() -> {
+                    started.countDown();
+                    try {
+                        for (int i = 0; ; i++) {
+                            ScoreEntry entry = new ScoreEntry("player" + thread, i, i);
+                            persister.submit(entry);
+                            accepted.add(entry);
+                        }
+                    } catch (IllegalStateException | InterruptedException e) {
+                        // closed
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            started.await();
+            Thread.sleep(20);
+            persister.close();
+            for (Thread thread : threads)
+                thread.join();
+            Assertions.assertEquals(0, persister.getFailed());
+        }
+        Set<ScoreEntry> written = new HashSet<>(recover());
+        Assertions.assertFalse(accepted.isEmpty());
+        for (ScoreEntry entry : accepted)
+            Assertions.assertTrue(written.contains(entry));
+    }
+}
@@ -0,0 +1,46 @@
+package Model.Simulation;
+
+import Model.Analysis.Solver;
+import Model.GameComponents.Board;
+import Model.GameComponents.State;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PuzzleGeneratorTest {
+
+    private Board mock;
+
+    @Test
+    public void testGenerateIsSolvableAndReproducible() {
+        PuzzleGenerator generator = new PuzzleGenerator(200);
+        Puzzle[] pool = generator.generatePool(8, 11);
+        Puzzle[] again = generator.generatePool(8, 11);
+        for (int i = 0; i < pool.length; i++) {
+            Puzzle puzzle = pool[i];
+            Assertions.assertEquals(puzzle.getBlocked(), again[i].getBlocked());
+            Assertions.assertEquals(puzzle.getWinRate(), again[i].getWinRate());
+            Assertions.assertEquals(puzzle.getBlocked(), generator.generate(puzzle.getSeed()).getBlocked());
+            Assertions.assertEquals(1, (64 - Long.bitCount(puzzle.getBlocked())) % 3);
+            Assertions.assertTrue(puzzle.getDifficulty() >= 0 && puzzle.getDifficulty() <= 1);
+            mock = puzzle.toBoard();
+            Assertions.assertTrue(new Solver().solve(mock).isSolvable());
+        }
+    }
+
+    @Test
+    public void testBlockedBoard() {
+        mock = new Board();
+        mock.block(0x7L);
+        Assertions.assertEquals(State.BLOCKED, mock.getState(0, 1));
+        Assertions.assertEquals(State.BLOCKED, mock.getCells()[0][2].getState());
+        Assertions.assertFalse(mock.isEmptyCell(2));
+        Assertions.assertEquals(0, mock.getCoveredDots());
+        Assertions.assertEquals(0, mock.getCoverableDots()[1]);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mock.block(0x1L));
+        mock.setVerticalDomino(1, 1);
+        mock.clear();
+        Assertions.assertEquals(~0x7L, mock.getEmptyMask());
+        Assertions.assertEquals(State.EMPTY, mock.getState(1, 1));
+        Assertions.assertEquals(State.BLOCKED, mock.getState(0, 0));
+    }
+}
@@ -0,0 +1,45 @@
+package Model.Simulation;
+
+import Model.GameComponents.Board;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+class SimulationRunnerTest {
+
+    private Board mock;
+
+    @Test
+    public void testRunIsReproducible() {
+        SimulationReport report = new SimulationRunner(new RandomPolicy()).run(10_000, 1);
+        SimulationReport single = new SimulationRunner(new RandomPolicy(), new ForkJoinPool(1)).run(10_000, 1);
+        Assertions.assertEquals(10_000, report.getGames());
+        for (int placed = 0; placed <= SimulationReport.MAX_PIECES; placed++)
+            Assertions.assertEquals(report.getGamesWithPieces(placed), single.getGamesWithPieces(placed));
+        Assertions.assertEquals(0, report.getGamesWithPieces(0));
+        Assertions.assertTrue(report.getMeanPieces() > 10 && report.getMeanPieces() <= SimulationReport.MAX_PIECES);
+    }
+
+    @Test
+    public void testGreedyPolicy() {
+        SimulationReport random = new SimulationRunner(new RandomPolicy()).run(2_000, 2);
+        SimulationReport greedy = new SimulationRunner(new GreedyPolicy()).run(2_000, 2);
+        Assertions.assertEquals(2_000, greedy.getGames());
+        Assertions.assertTrue(greedy.getMeanPieces() > random.getMeanPieces());
+    }
+
+    @Test
+    public void testPlayGame() {
+        mock = new Board();
+        SimulationRunner runner = new SimulationRunner(new RandomPolicy());
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 100; i++) {
+            int placed = runner.playGame(mock, random);
+            Assertions.assertFalse(mock.hasLegalMove());
+            Assertions.assertEquals(64 - 3 * placed, Long.bitCount(mock.getEmptyMask()));
+            Assertions.assertEquals(placed == SimulationReport.MAX_PIECES, mock.isVictory());
+        }
+    }
+}